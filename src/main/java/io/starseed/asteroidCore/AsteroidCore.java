@@ -4,7 +4,13 @@ import io.starseed.asteroidCore.cache.CacheManager;
 import io.starseed.asteroidCore.config.ConfigurationManager;
 import io.starseed.asteroidCore.database.DatabaseManager;
 import io.starseed.asteroidCore.events.EventManager;
+import io.starseed.asteroidCore.modules.mining.MiningModule;
+import io.starseed.asteroidCore.modules.mining.PrivateMineModule;
 import io.starseed.asteroidCore.modules.planet.PlanetModule;
+import io.starseed.asteroidCore.services.MetricsService;
+import io.starseed.asteroidCore.world.BlockWriteQueue;
+import io.starseed.asteroidCore.world.LayoutComputer;
+import io.starseed.asteroidCore.world.RegenerationManager;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.util.logging.Logger;
@@ -15,6 +21,10 @@ public class AsteroidCore extends JavaPlugin {
     private CacheManager cacheManager;
     private ConfigurationManager configManager;
     private EventManager eventManager;
+    private BlockWriteQueue blockWriteQueue;
+    private LayoutComputer layoutComputer;
+    private RegenerationManager regenerationManager;
+    private MetricsService metricsService;
 
     // Module managers
     private PlanetModule planetModule;
@@ -39,12 +49,21 @@ public class AsteroidCore extends JavaPlugin {
             logger.info("§b[AsteroidCore] Initializing cache system...");
             this.cacheManager = new CacheManager(this);
 
+            logger.info("§b[AsteroidCore] Initializing block writer...");
+            this.blockWriteQueue = new BlockWriteQueue(this);
+            blockWriteQueue.start();
+            this.layoutComputer = new LayoutComputer(this);
+            this.regenerationManager = new RegenerationManager(this);
+
             logger.info("§b[AsteroidCore] Initializing event system...");
             this.eventManager = new EventManager(this);
 
             // Initialize modules
             initializeModules();
 
+            this.metricsService = new MetricsService(this);
+            metricsService.start();
+
             logger.info("§a[AsteroidCore] Plugin has been successfully enabled!");
         } catch (Exception e) {
             logger.severe("§c[AsteroidCore] Failed to enable: " + e.getMessage());
@@ -71,6 +90,8 @@ public class AsteroidCore extends JavaPlugin {
 
     @Override
     public void onDisable() {
+        if (metricsService != null) metricsService.shutdown();
+
         // Disable modules in reverse order
         if (privateMineModule != null) privateMineModule.disable();
         if (pickaxeModule != null) pickaxeModule.disable();
@@ -79,6 +100,8 @@ public class AsteroidCore extends JavaPlugin {
         if (planetModule != null) planetModule.disable();
 
         // Cleanup core systems
+        if (layoutComputer != null) layoutComputer.shutdown();
+        if (blockWriteQueue != null) blockWriteQueue.shutdown();
         if (cacheManager != null) cacheManager.shutdown();
         if (databaseManager != null) databaseManager.shutdown();
 
@@ -107,6 +130,22 @@ public class AsteroidCore extends JavaPlugin {
         return eventManager;
     }
 
+    public BlockWriteQueue getBlockWriteQueue() {
+        return blockWriteQueue;
+    }
+
+    public LayoutComputer getLayoutComputer() {
+        return layoutComputer;
+    }
+
+    public RegenerationManager getRegenerationManager() {
+        return regenerationManager;
+    }
+
+    public MetricsService getMetricsService() {
+        return metricsService;
+    }
+
     public PlanetModule getPlanetModule() {
         return planetModule;
     }
@@ -1,8 +1,11 @@
 package io.starseed.asteroidCore.cache;
 
-import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import io.starseed.asteroidCore.AsteroidCore;
+import io.starseed.asteroidCore.database.DatabaseManager;
+import io.starseed.asteroidCore.database.dao.StatisticsDao;
 import io.starseed.asteroidCore.models.*;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
@@ -18,12 +21,12 @@ public class CacheManager {
     private final boolean debug;
 
     // Core data caches
-    private final Cache<UUID, PlayerData> playerCache;
-    private final Cache<UUID, PlayerStatistics> statisticsCache;
-    private final Cache<Integer, Planet> planetCache;
-    private final Cache<Integer, PrivateMine> privateMineCache;
-    private final Cache<Integer, Pickaxe> pickaxeCache;
-    private final Cache<String, Enchantment> enchantmentCache;
+    private final AsyncLoadingCache<UUID, PlayerData> playerCache;
+    private final AsyncLoadingCache<UUID, PlayerStatistics> statisticsCache;
+    private final AsyncLoadingCache<Integer, Planet> planetCache;
+    private final AsyncLoadingCache<Integer, PrivateMine> privateMineCache;
+    private final AsyncLoadingCache<Integer, Pickaxe> pickaxeCache;
+    private final AsyncLoadingCache<String, Enchantment> enchantmentCache;
 
     public CacheManager(AsteroidCore plugin) {
         this.plugin = plugin;
@@ -36,46 +39,94 @@ public class CacheManager {
         this.config = YamlConfiguration.loadConfiguration(configFile);
         this.debug = config.getBoolean("cache.settings.debug", false);
 
-        // Initialize caches
-        this.playerCache = createCache("player");
-        this.statisticsCache = createCache("statistics");
-        this.planetCache = createCache("planet");
-        this.privateMineCache = createCache("private-mine");
-        this.pickaxeCache = createCache("pickaxe");
-        this.enchantmentCache = createCache("enchantment");
+        // Initialize caches, each loading through its DAO
+        DatabaseManager databaseManager = plugin.getDatabaseManager();
+        StatisticsDao statisticsDao = databaseManager.getStatisticsDao();
+
+        this.playerCache = createCache("player", new DaoCacheLoader<>(
+                uuid -> databaseManager.getPlayerDao().loadPlayer(uuid)
+                        .thenApply(loaded -> loaded.orElse(null)),
+                databaseManager.getPlayerDao()::loadPlayers
+        ), false);
+        this.statisticsCache = createCache("statistics", new DaoCacheLoader<>(
+                uuid -> statisticsDao.loadStatistics(uuid)
+                        .thenApply(loaded -> loaded.orElseGet(() -> new PlayerStatistics(uuid))),
+                uuids -> statisticsDao.loadStatistics(uuids).thenApply(loaded -> {
+                    uuids.forEach(uuid -> loaded.computeIfAbsent(uuid, PlayerStatistics::new));
+                    return loaded;
+                })
+        ), false);
+        this.planetCache = createCache("planet", new DaoCacheLoader<>(
+                id -> databaseManager.getPlanetDao().loadPlanet(id)
+                        .thenApply(loaded -> loaded.orElse(null)),
+                databaseManager.getPlanetDao()::loadPlanets
+        ), false);
+        this.privateMineCache = createCache("private-mine", new DaoCacheLoader<>(
+                id -> databaseManager.getPrivateMineDao().loadPrivateMine(id)
+                        .thenApply(loaded -> loaded.orElse(null)),
+                databaseManager.getPrivateMineDao()::loadPrivateMines
+        ), false);
+        this.pickaxeCache = createCache("pickaxe", new DaoCacheLoader<>(
+                id -> databaseManager.getPickaxeDao().loadPickaxe(id)
+                        .thenApply(loaded -> loaded.orElse(null)),
+                databaseManager.getPickaxeDao()::loadPickaxes
+        ), false);
+        this.enchantmentCache = createCache("enchantment", new DaoCacheLoader<>(
+                id -> databaseManager.getEnchantmentDao().loadEnchantment(id)
+                        .thenApply(loaded -> loaded.orElse(null)),
+                databaseManager.getEnchantmentDao()::loadEnchantments
+        ), true);
 
         if (debug) {
             plugin.getLogger().info("§b[Cache] Cache system initialized with debug mode enabled");
         }
     }
 
-    private <K, V> Cache<K, V> createCache(String configSection) {
+    /**
+     * Builds a cache from its section of cache.yml
+     * @param configSection The section under cache
+     * @param loader Loads missing entries
+     * @param refreshable Whether entries may be reloaded in the background. Entities that are
+     *                    changed in place and written through must not be: a reload that
+     *                    reads the row before a pending write commits would undo the change.
+     * @return The cache
+     */
+    private <K, V> AsyncLoadingCache<K, V> createCache(String configSection, AsyncCacheLoader<K, V> loader,
+                                                       boolean refreshable) {
         int maxSize = config.getInt("cache." + configSection + ".maximum-size", 1000);
         int expireAfterAccess = config.getInt("cache." + configSection + ".expire-after-access", 30);
         int expireAfterWrite = config.getInt("cache." + configSection + ".expire-after-write", 60);
+        int refreshAfterWrite = refreshable
+                ? config.getInt("cache." + configSection + ".refresh-after-write", 10)
+                : 0;
 
         Caffeine<Object, Object> builder = Caffeine.newBuilder()
                 .maximumSize(maxSize)
                 .expireAfterAccess(expireAfterAccess, TimeUnit.MINUTES)
                 .expireAfterWrite(expireAfterWrite, TimeUnit.MINUTES);
 
+        // Refreshing only pays off before the entry would expire anyway
+        if (refreshAfterWrite > 0 && refreshAfterWrite < expireAfterWrite) {
+            builder.refreshAfterWrite(refreshAfterWrite, TimeUnit.MINUTES);
+        }
+
         if (debug) {
             plugin.getLogger().info(String.format(
-                    "§b[Cache] Created cache for %s (size: %d, access: %dm, write: %dm)",
-                    configSection, maxSize, expireAfterAccess, expireAfterWrite
+                    "§b[Cache] Created cache for %s (size: %d, access: %dm, write: %dm, refresh: %dm)",
+                    configSection, maxSize, expireAfterAccess, expireAfterWrite, refreshAfterWrite
             ));
         }
 
-        return builder.build();
+        return builder.buildAsync(loader);
     }
 
     // Getter methods for caches
-    public Cache<UUID, PlayerData> getPlayerCache() { return playerCache; }
-    public Cache<UUID, PlayerStatistics> getStatisticsCache() { return statisticsCache; }
-    public Cache<Integer, Planet> getPlanetCache() { return planetCache; }
-    public Cache<Integer, PrivateMine> getPrivateMineCache() { return privateMineCache; }
-    public Cache<Integer, Pickaxe> getPickaxeCache() { return pickaxeCache; }
-    public Cache<String, Enchantment> getEnchantmentCache() { return enchantmentCache; }
+    public AsyncLoadingCache<UUID, PlayerData> getPlayerCache() { return playerCache; }
+    public AsyncLoadingCache<UUID, PlayerStatistics> getStatisticsCache() { return statisticsCache; }
+    public AsyncLoadingCache<Integer, Planet> getPlanetCache() { return planetCache; }
+    public AsyncLoadingCache<Integer, PrivateMine> getPrivateMineCache() { return privateMineCache; }
+    public AsyncLoadingCache<Integer, Pickaxe> getPickaxeCache() { return pickaxeCache; }
+    public AsyncLoadingCache<String, Enchantment> getEnchantmentCache() { return enchantmentCache; }
 
     public void logDebug(String message) {
         if (debug) {
@@ -87,12 +138,12 @@ public class CacheManager {
      * Invalidates all caches
      */
     public void invalidateAll() {
-        playerCache.invalidateAll();
-        statisticsCache.invalidateAll();
-        planetCache.invalidateAll();
-        privateMineCache.invalidateAll();
-        pickaxeCache.invalidateAll();
-        enchantmentCache.invalidateAll();
+        playerCache.synchronous().invalidateAll();
+        statisticsCache.synchronous().invalidateAll();
+        planetCache.synchronous().invalidateAll();
+        privateMineCache.synchronous().invalidateAll();
+        pickaxeCache.synchronous().invalidateAll();
+        enchantmentCache.synchronous().invalidateAll();
 
         logDebug("All caches have been invalidated");
     }
@@ -0,0 +1,64 @@
+package io.starseed.asteroidCore.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Cache loader backed by DAO futures.
+ * The DAOs already run on the database executor, so the loader only composes their
+ * futures and never blocks a cache thread. A {@code null} result leaves the key absent.
+ * @param <K> Key type
+ * @param <V> Value type
+ */
+public class DaoCacheLoader<K, V> implements AsyncCacheLoader<K, V> {
+    private final Function<K, CompletableFuture<V>> loader;
+    private final Function<Set<K>, CompletableFuture<Map<K, V>>> bulkLoader;
+
+    /**
+     * @param loader Loads a single key
+     * @param bulkLoader Loads many keys at once, or null to compose single loads
+     */
+    public DaoCacheLoader(@NotNull Function<K, CompletableFuture<V>> loader,
+                          @Nullable Function<Set<K>, CompletableFuture<Map<K, V>>> bulkLoader) {
+        this.loader = loader;
+        this.bulkLoader = bulkLoader;
+    }
+
+    @Override
+    public CompletableFuture<? extends V> asyncLoad(K key, Executor executor) {
+        return loader.apply(key);
+    }
+
+    @Override
+    public CompletableFuture<? extends Map<? extends K, ? extends V>> asyncLoadAll(Set<? extends K> keys, Executor executor) {
+        if (bulkLoader != null) {
+            return bulkLoader.apply(Collections.unmodifiableSet(keys));
+        }
+
+        Map<K, CompletableFuture<V>> futures = new HashMap<>();
+        for (K key : keys) {
+            futures.put(key, loader.apply(key));
+        }
+
+        return CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> {
+                    Map<K, V> result = new HashMap<>();
+                    futures.forEach((key, future) -> {
+                        V value = future.join();
+                        if (value != null) {
+                            result.put(key, value);
+                        }
+                    });
+                    return result;
+                });
+    }
+}
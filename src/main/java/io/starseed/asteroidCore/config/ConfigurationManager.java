@@ -49,6 +49,9 @@ public class ConfigurationManager {
     public void reloadAll() {
         loadMainConfig();
         moduleConfigs.values().forEach(ModuleConfig::reload);
+        if (plugin.getDatabaseManager() != null) {
+            plugin.getDatabaseManager().getEnchantmentRegistry().reload();
+        }
         plugin.getLogger().info("§a[Config] All configurations have been reloaded");
     }
 
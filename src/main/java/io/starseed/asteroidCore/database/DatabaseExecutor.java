@@ -0,0 +1,189 @@
+package io.starseed.asteroidCore.database;
+
+import io.starseed.asteroidCore.AsteroidCore;
+import org.bukkit.Bukkit;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * Bounded executor for blocking JDBC work.
+ * Concurrency is capped at the connection pool size, on platform or virtual threads,
+ * and at most {@code queueCapacity} tasks may wait behind it. Submitters beyond that
+ * wait up to {@code queueTimeout} milliseconds for room (never on the main thread)
+ * and are rejected afterwards. A rejection is thrown from {@link #execute} on the
+ * submitting thread; DAOs turn it into a failed future.
+ */
+public class DatabaseExecutor implements Executor {
+    private final AsteroidCore plugin;
+    private final ExecutorService delegate;
+    private final Semaphore permits;
+    private final Semaphore concurrency;
+    private final int threads;
+    private final int queueCapacity;
+    private final long queueTimeout;
+    private final boolean virtualThreads;
+
+    // Metrics
+    private final AtomicInteger active;
+    private final AtomicLong submitted;
+    private final AtomicLong completed;
+    private final AtomicLong rejected;
+    private final AtomicLong totalWaitNanos;
+    private volatile long maxWaitNanos;
+
+    public DatabaseExecutor(AsteroidCore plugin, int threads, int queueCapacity, long queueTimeout, boolean useVirtualThreads) {
+        this.plugin = plugin;
+        this.threads = Math.max(1, threads);
+        this.queueCapacity = Math.max(0, queueCapacity);
+        this.queueTimeout = Math.max(0, queueTimeout);
+        this.permits = new Semaphore(this.threads + this.queueCapacity);
+        this.concurrency = new Semaphore(this.threads);
+        this.active = new AtomicInteger();
+        this.submitted = new AtomicLong();
+        this.completed = new AtomicLong();
+        this.rejected = new AtomicLong();
+        this.totalWaitNanos = new AtomicLong();
+
+        ExecutorService virtual = useVirtualThreads ? createVirtualThreadExecutor() : null;
+        this.virtualThreads = virtual != null;
+        this.delegate = virtual != null ? virtual : createPlatformExecutor();
+    }
+
+    private ExecutorService createPlatformExecutor() {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, "AsteroidCore-DB-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        // The semaphore already bounds the backlog, so the queue itself never rejects
+        return new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), factory);
+    }
+
+    private ExecutorService createVirtualThreadExecutor() {
+        try {
+            // Resolved reflectively so the plugin still runs on Java 17
+            return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+        } catch (ReflectiveOperationException e) {
+            plugin.getLogger().warning("§e[Database] Virtual threads require Java 21, falling back to a platform thread pool");
+            return null;
+        }
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        long start = System.nanoTime();
+        if (!acquire()) {
+            rejected.incrementAndGet();
+            throw new RejectedExecutionException("Database executor is saturated (" + getQueueDepth() + " queued)");
+        }
+
+        long waited = System.nanoTime() - start;
+        totalWaitNanos.addAndGet(waited);
+        if (waited > maxWaitNanos) {
+            maxWaitNanos = waited;
+        }
+        submitted.incrementAndGet();
+
+        try {
+            delegate.execute(() -> {
+                // Virtual threads are unbounded, so cap JDBC concurrency at the pool size
+                if (virtualThreads) {
+                    concurrency.acquireUninterruptibly();
+                }
+                active.incrementAndGet();
+                try {
+                    command.run();
+                } finally {
+                    active.decrementAndGet();
+                    if (virtualThreads) {
+                        concurrency.release();
+                    }
+                    completed.incrementAndGet();
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            rejected.incrementAndGet();
+            throw e;
+        }
+    }
+
+    private boolean acquire() {
+        // Never park the server thread waiting for database capacity
+        if (queueTimeout == 0 || Bukkit.isPrimaryThread()) {
+            return permits.tryAcquire();
+        }
+
+        try {
+            return permits.tryAcquire(queueTimeout, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Stops accepting work and waits for running tasks to finish
+     * @param timeout Maximum time to wait in milliseconds
+     */
+    public void shutdown(long timeout) {
+        delegate.shutdown();
+        try {
+            if (!delegate.awaitTermination(timeout, TimeUnit.MILLISECONDS)) {
+                plugin.getLogger().warning("§c[Database] Executor did not finish within " + timeout + "ms, "
+                        + getQueueDepth() + " tasks dropped");
+                delegate.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            delegate.shutdownNow();
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.WARNING, "§c[Database] Failed to shut down executor", e);
+        }
+    }
+
+    /**
+     * Gets the number of tasks accepted but not yet running
+     * @return The current queue depth
+     */
+    public int getQueueDepth() {
+        return Math.max(0, (threads + queueCapacity) - permits.availablePermits() - active.get());
+    }
+
+    public int getActiveCount() { return active.get(); }
+    public long getSubmittedCount() { return submitted.get(); }
+    public long getCompletedCount() { return completed.get(); }
+    public long getRejectedCount() { return rejected.get(); }
+    public boolean isUsingVirtualThreads() { return virtualThreads; }
+
+    /**
+     * Gets executor statistics
+     * @return A string containing executor statistics
+     */
+    public String getStatistics() {
+        long submittedCount = submitted.get();
+        return String.format(
+                "Executor Stats - Mode: %s, Threads: %d, Active: %d, Queued: %d/%d, Submitted: %d, "
+                        + "Completed: %d, Rejected: %d, Avg wait: %.2fms, Max wait: %.2fms",
+                virtualThreads ? "virtual" : "platform",
+                threads,
+                active.get(),
+                getQueueDepth(),
+                queueCapacity,
+                submittedCount,
+                completed.get(),
+                rejected.get(),
+                submittedCount == 0 ? 0.0 : totalWaitNanos.get() / (double) submittedCount / 1_000_000.0,
+                maxWaitNanos / 1_000_000.0
+        );
+    }
+}
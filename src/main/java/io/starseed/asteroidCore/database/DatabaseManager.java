@@ -12,22 +12,34 @@ import org.bukkit.configuration.file.YamlConfiguration;
 import java.io.File;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Level;
 
 public class DatabaseManager {
     private final AsteroidCore plugin;
     private HikariDataSource dataSource;
+    private DatabaseExecutor executor;
     private DatabaseType databaseType;
     private final SchemaManager schemaManager;
 
+    // Write-behind
+    private final List<WriteBehindQueue<?, ?>> writeBehindQueues = new CopyOnWriteArrayList<>();
+    private long writeBehindFlushInterval;
+    private int writeBehindBatchSize;
+
     // DAOs
     private final PlayerDao playerDao;
     private final StatisticsDao statisticsDao;
     private final PlanetDao planetDao;
+    private final PlanetStructureDao planetStructureDao;
     private final PrivateMineDao privateMineDao;
     private final PickaxeDao pickaxeDao;
     private final EnchantmentDao enchantmentDao;
+    private final EnchantmentRegistry enchantmentRegistry;
 
     public enum DatabaseType {
         H2,
@@ -47,12 +59,22 @@ public class DatabaseManager {
         this.playerDao = new PlayerDao(plugin, this);
         this.statisticsDao = new StatisticsDao(plugin, this);
         this.planetDao = new PlanetDao(plugin, this);
+        this.planetStructureDao = new PlanetStructureDao(plugin, this);
         this.privateMineDao = new PrivateMineDao(plugin, this);
         this.pickaxeDao = new PickaxeDao(plugin, this);
         this.enchantmentDao = new EnchantmentDao(plugin, this);
 
         // Create tables
         createTables();
+
+        // Enchantments are resolved in memory, so they must be available before anything loads pickaxes.
+        // Starting without them would load pickaxes that lose their enchantments on the next save.
+        this.enchantmentRegistry = new EnchantmentRegistry(plugin, enchantmentDao);
+        try {
+            enchantmentRegistry.reload().join();
+        } catch (CompletionException e) {
+            throw new RuntimeException("Failed to load enchantments", e.getCause());
+        }
     }
 
     private void initialize() {
@@ -105,6 +127,19 @@ public class DatabaseManager {
             hikariConfig.setMaxLifetime(settings.getLong("max-lifetime", 30) * 60000);
             hikariConfig.setConnectionTestQuery("SELECT 1");
 
+            // Database executor, sized to the connection pool by default
+            int executorThreads = config.getInt("database.executor.threads", hikariConfig.getMaximumPoolSize());
+            int queueCapacity = config.getInt("database.executor.queue-capacity", 1000);
+            long queueTimeout = config.getLong("database.executor.queue-timeout", 50);
+            boolean virtualThreads = config.getBoolean("database.executor.virtual-threads", false);
+            this.executor = new DatabaseExecutor(plugin, executorThreads, queueCapacity, queueTimeout, virtualThreads);
+            plugin.getLogger().info("§b[Database] Using " + (executor.isUsingVirtualThreads() ? "virtual" : "platform")
+                    + " database executor with " + executorThreads + " threads");
+
+            // Write-behind settings
+            this.writeBehindFlushInterval = config.getLong("database.write-behind.flush-interval", 2000);
+            this.writeBehindBatchSize = config.getInt("database.write-behind.max-batch-size", 500);
+
             // Performance optimizations
             hikariConfig.addDataSourceProperty("cachePrepStmts", "true");
             hikariConfig.addDataSourceProperty("prepStmtCacheSize", "250");
@@ -157,6 +192,14 @@ public class DatabaseManager {
         return dataSource.getConnection();
     }
 
+    /**
+     * Gets the executor all blocking database work runs on
+     * @return The database executor
+     */
+    public DatabaseExecutor getExecutor() {
+        return executor;
+    }
+
     /**
      * Checks if the database connection is using H2
      * @return true if using H2, false if using MySQL
@@ -187,28 +230,68 @@ public class DatabaseManager {
         );
     }
 
+    /**
+     * Gets database executor statistics
+     * @return A string containing executor statistics
+     */
+    public String getExecutorStatistics() {
+        return executor.getStatistics();
+    }
+
+    /**
+     * Registers a write-behind queue so it is flushed on shutdown
+     * @param queue The queue to register
+     */
+    public void registerWriteBehindQueue(WriteBehindQueue<?, ?> queue) {
+        writeBehindQueues.add(queue);
+    }
+
+    /**
+     * Flushes all write-behind queues synchronously
+     */
+    public void flushWriteBehindQueues() {
+        writeBehindQueues.forEach(WriteBehindQueue::flush);
+    }
+
+    /**
+     * Gets write-behind statistics for every registered queue
+     * @return A list of statistics strings, one per queue
+     */
+    public List<String> getWriteBehindStatistics() {
+        return writeBehindQueues.stream().map(WriteBehindQueue::getStatistics).toList();
+    }
+
+    public long getWriteBehindFlushInterval() { return writeBehindFlushInterval; }
+    public int getWriteBehindBatchSize() { return writeBehindBatchSize; }
+
     // DAO Getters
     public PlayerDao getPlayerDao() { return playerDao; }
     public StatisticsDao getStatisticsDao() { return statisticsDao; }
     public PlanetDao getPlanetDao() { return planetDao; }
+    public PlanetStructureDao getPlanetStructureDao() { return planetStructureDao; }
     public PrivateMineDao getPrivateMineDao() { return privateMineDao; }
     public PickaxeDao getPickaxeDao() { return pickaxeDao; }
     public EnchantmentDao getEnchantmentDao() { return enchantmentDao; }
+    public EnchantmentRegistry getEnchantmentRegistry() { return enchantmentRegistry; }
 
     /**
      * Executes database maintenance tasks
      */
     public void performMaintenance() {
         if (isUsingH2()) {
-            CompletableFuture.runAsync(() -> {
-                try (Connection conn = getConnection()) {
-                    conn.createStatement().execute("ANALYZE");
-                    conn.createStatement().execute("CHECKPOINT");
-                    plugin.getLogger().info("§a[Database] Maintenance tasks completed successfully");
-                } catch (SQLException e) {
-                    plugin.getLogger().log(Level.WARNING, "§c[Database] Failed to perform maintenance tasks", e);
-                }
-            });
+            try {
+                CompletableFuture.runAsync(() -> {
+                    try (Connection conn = getConnection()) {
+                        conn.createStatement().execute("ANALYZE");
+                        conn.createStatement().execute("CHECKPOINT");
+                        plugin.getLogger().info("§a[Database] Maintenance tasks completed successfully");
+                    } catch (SQLException e) {
+                        plugin.getLogger().log(Level.WARNING, "§c[Database] Failed to perform maintenance tasks", e);
+                    }
+                }, executor);
+            } catch (RejectedExecutionException e) {
+                plugin.getLogger().warning("§e[Database] Skipped maintenance: " + e.getMessage());
+            }
         }
     }
 
@@ -217,8 +300,12 @@ public class DatabaseManager {
      */
     public void shutdown() {
         if (dataSource != null && !dataSource.isClosed()) {
+            plugin.getLogger().info("§b[Database] Flushing pending writes...");
+            writeBehindQueues.forEach(WriteBehindQueue::shutdown);
+
             plugin.getLogger().info("§b[Database] Shutting down database connections...");
             performMaintenance();
+            executor.shutdown(10000);
             dataSource.close();
             plugin.getLogger().info("§a[Database] Database connections closed successfully");
         }
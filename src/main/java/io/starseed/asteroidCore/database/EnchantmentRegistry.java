@@ -0,0 +1,95 @@
+package io.starseed.asteroidCore.database;
+
+import io.starseed.asteroidCore.AsteroidCore;
+import io.starseed.asteroidCore.database.dao.EnchantmentDao;
+import io.starseed.asteroidCore.models.Enchantment;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+
+/**
+ * In-memory view of the enchantments table.
+ * The set of enchantments is small and changes rarely, so it is loaded once and
+ * published as an immutable map; lookups never touch the database.
+ */
+public class EnchantmentRegistry {
+    private final AsteroidCore plugin;
+    private final EnchantmentDao enchantmentDao;
+    private volatile Map<String, Enchantment> enchantments;
+
+    public EnchantmentRegistry(AsteroidCore plugin, EnchantmentDao enchantmentDao) {
+        this.plugin = plugin;
+        this.enchantmentDao = enchantmentDao;
+        this.enchantments = Collections.emptyMap();
+    }
+
+    /**
+     * Reloads every enchantment from the database and swaps them in at once.
+     * On failure the current enchantments stay in place and the future completes exceptionally.
+     * @return CompletableFuture for completion
+     */
+    public CompletableFuture<Void> reload() {
+        return enchantmentDao.loadAllEnchantments()
+                .thenAccept(loaded -> {
+                    Map<String, Enchantment> byId = new HashMap<>();
+                    loaded.forEach(enchantment -> byId.put(enchantment.getId(), enchantment));
+                    synchronized (this) {
+                        enchantments = Collections.unmodifiableMap(byId);
+                    }
+                    plugin.getLogger().info("§b[Database] Loaded " + byId.size() + " enchantments");
+                })
+                .whenComplete((result, throwable) -> {
+                    if (throwable != null) {
+                        plugin.getLogger().log(Level.SEVERE, "§c[Database] Failed to load enchantments", throwable);
+                    }
+                });
+    }
+
+    /**
+     * Gets an enchantment by ID
+     * @param id The enchantment ID
+     * @return The enchantment, or null if it does not exist
+     */
+    @Nullable
+    public Enchantment get(@NotNull String id) {
+        return enchantments.get(id);
+    }
+
+    /**
+     * Gets all known enchantments
+     * @return An unmodifiable view of all enchantments
+     */
+    public Collection<Enchantment> getAll() {
+        return enchantments.values();
+    }
+
+    public int size() {
+        return enchantments.size();
+    }
+
+    /**
+     * Adds or replaces an enchantment after it was saved
+     * @param enchantment The saved enchantment
+     */
+    public synchronized void register(@NotNull Enchantment enchantment) {
+        Map<String, Enchantment> updated = new HashMap<>(enchantments);
+        updated.put(enchantment.getId(), enchantment);
+        enchantments = Collections.unmodifiableMap(updated);
+    }
+
+    /**
+     * Removes an enchantment after it was deleted
+     * @param id The ID of the deleted enchantment
+     */
+    public synchronized void unregister(@NotNull String id) {
+        if (!enchantments.containsKey(id)) {
+            return;
+        }
+        Map<String, Enchantment> updated = new HashMap<>(enchantments);
+        updated.remove(id);
+        enchantments = Collections.unmodifiableMap(updated);
+    }
+}
@@ -0,0 +1,67 @@
+package io.starseed.asteroidCore.database.codec;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonObject;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Base for compact binary column codecs.
+ * Values start with a format byte that JSON text can never start with, so rows written
+ * before the binary format still decode, as JSON, until they are next saved.
+ * @param <T> The value type
+ */
+public abstract class BinaryColumnCodec<T> implements ColumnCodec<T> {
+    private static final int FORMAT_V1 = 0x01;
+    // Instant's fields are closed to reflection since Java 16, so old rows holding its
+    // {"seconds", "nanos"} form are read by hand
+    private static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapter(Instant.class, (JsonDeserializer<Instant>) (json, type, context) -> {
+                JsonObject instant = json.getAsJsonObject();
+                long nanos = instant.has("nanos") ? instant.get("nanos").getAsLong() : 0L;
+                return Instant.ofEpochSecond(instant.get("seconds").getAsLong(), nanos);
+            })
+            .create();
+
+    private final Type jsonType;
+
+    /**
+     * @param jsonType The value type as it was stored in JSON, for reading old rows
+     */
+    protected BinaryColumnCodec(Type jsonType) {
+        this.jsonType = jsonType;
+    }
+
+    @Override
+    public final byte[] encode(T value) {
+        ColumnOutput out = new ColumnOutput(64);
+        out.writeByte(FORMAT_V1);
+        write(out, value != null ? value : empty());
+        return out.toByteArray();
+    }
+
+    @Override
+    public final T decode(byte[] data) {
+        if (data == null || data.length == 0) {
+            return empty();
+        }
+        if (data[0] != FORMAT_V1) {
+            T legacy = GSON.fromJson(new String(data, StandardCharsets.UTF_8), jsonType);
+            return legacy != null ? legacy : empty();
+        }
+        return read(new ColumnInput(data, 1));
+    }
+
+    protected abstract void write(ColumnOutput out, T value);
+
+    protected abstract T read(ColumnInput in);
+
+    /**
+     * @return A new, mutable empty value
+     */
+    protected abstract T empty();
+}
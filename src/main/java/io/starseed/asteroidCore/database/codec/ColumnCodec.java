@@ -0,0 +1,24 @@
+package io.starseed.asteroidCore.database.codec;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Converts a structured column value to and from the bytes stored in a BLOB column
+ * @param <T> The value type
+ */
+public interface ColumnCodec<T> {
+
+    /**
+     * Encodes a value for storage
+     * @param value The value
+     * @return The column bytes
+     */
+    byte[] encode(T value);
+
+    /**
+     * Decodes a stored value
+     * @param data The column bytes, null for SQL NULL
+     * @return The value; an empty value for NULL
+     */
+    T decode(@Nullable byte[] data);
+}
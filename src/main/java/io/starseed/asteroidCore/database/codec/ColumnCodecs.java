@@ -0,0 +1,154 @@
+package io.starseed.asteroidCore.database.codec;
+
+import com.google.gson.reflect.TypeToken;
+import io.starseed.asteroidCore.models.Crystal;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * The codecs of the structured columns.
+ * Materials are stored by name rather than by ordinal: ordinals shift whenever a server
+ * update adds materials, which would silently change every stored rate.
+ */
+public final class ColumnCodecs {
+    /** Material name -> rate, as in resource_rates */
+    public static final ColumnCodec<Map<String, Double>> RESOURCE_RATES = new StringDoubleMapCodec();
+
+    /** Set of player UUIDs, 16 bytes each, as in whitelist */
+    public static final ColumnCodec<Set<UUID>> UUID_SET = new BinaryColumnCodec<>(new TypeToken<Set<UUID>>(){}.getType()) {
+        @Override
+        protected void write(ColumnOutput out, Set<UUID> value) {
+            out.writeVarInt(value.size());
+            value.forEach(out::writeUuid);
+        }
+
+        @Override
+        protected Set<UUID> read(ColumnInput in) {
+            int size = in.readCount(16);
+            Set<UUID> value = new HashSet<>(Math.max(16, size * 2));
+            for (int i = 0; i < size; i++) {
+                value.add(in.readUuid());
+            }
+            return value;
+        }
+
+        @Override
+        protected Set<UUID> empty() {
+            return new HashSet<>();
+        }
+    };
+
+    /** Enchantment ID -> level, as in enchantments */
+    public static final ColumnCodec<Map<String, Integer>> ENCHANTMENT_LEVELS = new BinaryColumnCodec<>(
+            new TypeToken<Map<String, Integer>>(){}.getType()) {
+        @Override
+        protected void write(ColumnOutput out, Map<String, Integer> value) {
+            out.writeVarInt(value.size());
+            value.forEach((id, level) -> {
+                out.writeString(id);
+                out.writeSignedVarLong(level);
+            });
+        }
+
+        @Override
+        protected Map<String, Integer> read(ColumnInput in) {
+            int size = in.readCount(2);
+            Map<String, Integer> value = new HashMap<>(Math.max(16, size * 2));
+            for (int i = 0; i < size; i++) {
+                value.put(in.readString(), (int) in.readSignedVarLong());
+            }
+            return value;
+        }
+
+        @Override
+        protected Map<String, Integer> empty() {
+            return new HashMap<>();
+        }
+    };
+
+    /** Active crystals, as in crystals */
+    public static final ColumnCodec<List<Crystal>> CRYSTALS = new BinaryColumnCodec<>(
+            new TypeToken<List<Crystal>>(){}.getType()) {
+        @Override
+        protected void write(ColumnOutput out, List<Crystal> value) {
+            out.writeVarInt(value.size());
+            for (Crystal crystal : value) {
+                out.writeString(crystal.getId());
+                out.writeString(crystal.getName());
+                StringDoubleMapCodec.writeMap(out, crystal.getBonuses());
+                out.writeSignedVarLong(crystal.getDuration());
+                out.writeSignedVarLong(crystal.getExpiresAt().toEpochMilli());
+            }
+        }
+
+        @Override
+        protected List<Crystal> read(ColumnInput in) {
+            int size = in.readCount(5);
+            List<Crystal> value = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                value.add(new Crystal(
+                        in.readString(),
+                        in.readString(),
+                        StringDoubleMapCodec.readMap(in),
+                        in.readSignedVarLong(),
+                        Instant.ofEpochMilli(in.readSignedVarLong())
+                ));
+            }
+            return value;
+        }
+
+        @Override
+        protected List<Crystal> empty() {
+            return new ArrayList<>();
+        }
+    };
+
+    private ColumnCodecs() {
+    }
+
+    private static final class StringDoubleMapCodec extends BinaryColumnCodec<Map<String, Double>> {
+        private StringDoubleMapCodec() {
+            super(new TypeToken<Map<String, Double>>(){}.getType());
+        }
+
+        @Override
+        protected void write(ColumnOutput out, Map<String, Double> value) {
+            writeMap(out, value);
+        }
+
+        @Override
+        protected Map<String, Double> read(ColumnInput in) {
+            return readMap(in);
+        }
+
+        @Override
+        protected Map<String, Double> empty() {
+            return new HashMap<>();
+        }
+
+        private static void writeMap(ColumnOutput out, Map<String, Double> value) {
+            out.writeVarInt(value.size());
+            value.forEach((key, rate) -> {
+                out.writeString(key);
+                // Full precision: a float would turn a configured 0.1 into 0.10000000149 on the first save
+                out.writeDouble(rate);
+            });
+        }
+
+        private static Map<String, Double> readMap(ColumnInput in) {
+            int size = in.readCount(9);
+            Map<String, Double> value = new HashMap<>(Math.max(16, size * 2));
+            for (int i = 0; i < size; i++) {
+                value.put(in.readString(), in.readDouble());
+            }
+            return value;
+        }
+    }
+}
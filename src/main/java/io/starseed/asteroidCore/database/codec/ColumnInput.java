@@ -0,0 +1,93 @@
+package io.starseed.asteroidCore.database.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Reads binary column values written by a {@link ColumnOutput}
+ */
+public final class ColumnInput {
+    private final byte[] data;
+    private int position;
+
+    public ColumnInput(byte[] data, int offset) {
+        this.data = data;
+        this.position = offset;
+    }
+
+    public int readByte() {
+        require(1);
+        return data[position++] & 0xFF;
+    }
+
+    public int readVarInt() {
+        long value = readVarLong();
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Varint out of range: " + value);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Reads an element count, checking it against the bytes left so a corrupt count
+     * cannot size a collection beyond what the value could hold
+     * @param minElementBytes The fewest bytes a single element is written as
+     * @return The element count
+     */
+    public int readCount(int minElementBytes) {
+        int count = readVarInt();
+        if (count > (data.length - position) / minElementBytes) {
+            throw new IllegalStateException("Element count " + count + " exceeds the "
+                    + (data.length - position) + " bytes left at byte " + position);
+        }
+        return count;
+    }
+
+    public long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed varint");
+    }
+
+    public long readSignedVarLong() {
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public long readLong() {
+        require(8);
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (data[position++] & 0xFF);
+        }
+        return value;
+    }
+
+    public double readDouble() {
+        return Double.longBitsToDouble(readLong());
+    }
+
+    public String readString() {
+        int length = readVarInt();
+        require(length);
+        String value = new String(data, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    public UUID readUuid() {
+        return new UUID(readLong(), readLong());
+    }
+
+    private void require(int bytes) {
+        if (bytes > data.length - position) {
+            throw new IllegalStateException("Column value truncated at byte " + position);
+        }
+    }
+}
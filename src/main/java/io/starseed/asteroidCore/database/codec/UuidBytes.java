@@ -0,0 +1,47 @@
+package io.starseed.asteroidCore.database.codec;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * Converts UUIDs to and from the 16 bytes stored in BINARY(16) key columns
+ */
+public final class UuidBytes {
+    public static final int LENGTH = 16;
+
+    private UuidBytes() {
+    }
+
+    /**
+     * @param uuid The UUID, or null
+     * @return Its 16 bytes, most significant first, or null
+     */
+    @Nullable
+    public static byte[] toBytes(@Nullable UUID uuid) {
+        if (uuid == null) {
+            return null;
+        }
+        return ByteBuffer.allocate(LENGTH)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    /**
+     * @param bytes The column bytes, or null for SQL NULL
+     * @return The UUID, or null
+     */
+    @Nullable
+    public static UUID fromBytes(@Nullable byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        if (bytes.length != LENGTH) {
+            throw new IllegalArgumentException("UUID column holds " + bytes.length + " bytes");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
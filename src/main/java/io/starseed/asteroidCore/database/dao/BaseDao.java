@@ -2,16 +2,25 @@ package io.starseed.asteroidCore.database.dao;
 
 import io.starseed.asteroidCore.AsteroidCore;
 import io.starseed.asteroidCore.database.DatabaseManager;
+import io.starseed.asteroidCore.database.codec.UuidBytes;
+import org.jetbrains.annotations.Nullable;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 
 public abstract class BaseDao {
+    /** Maximum number of keys bound into a single IN list */
+    protected static final int IN_CHUNK_SIZE = 500;
+
     protected final AsteroidCore plugin;
     protected final DatabaseManager databaseManager;
 
@@ -31,7 +40,7 @@ public abstract class BaseDao {
     protected <T> CompletableFuture<T> executeQuery(String query,
                                                     ThrowingConsumer<PreparedStatement> paramSetter,
                                                     ThrowingFunction<ResultSet, T> resultMapper) {
-        return CompletableFuture.supplyAsync(() -> {
+        return supplyAsync(() -> {
             try (Connection conn = databaseManager.getConnection();
                  PreparedStatement stmt = conn.prepareStatement(query)) {
 
@@ -47,6 +56,55 @@ public abstract class BaseDao {
         });
     }
 
+    /**
+     * Executes a multi-key query asynchronously on a single connection.
+     * Keys are de-duplicated and split into IN lists of at most {@link #IN_CHUNK_SIZE}.
+     * @param queryTemplate The SQL query, with {@code %s} where the IN placeholders go
+     * @param keys The keys to look up
+     * @param keyBinder Binds one key at the given parameter index
+     * @param rowMapper Function to map the current row of the ResultSet
+     * @param <K> The key type
+     * @param <T> The row type
+     * @return CompletableFuture containing the rows of all chunks
+     */
+    protected <K, T> CompletableFuture<List<T>> executeBulkQuery(String queryTemplate,
+                                                                 Collection<K> keys,
+                                                                 KeyBinder<K> keyBinder,
+                                                                 ThrowingFunction<ResultSet, T> rowMapper) {
+        if (keys.isEmpty()) {
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+
+        List<K> distinct = new ArrayList<>(new LinkedHashSet<>(keys));
+        return supplyAsync(() -> {
+            List<T> rows = new ArrayList<>(distinct.size());
+
+            try (Connection conn = databaseManager.getConnection()) {
+                for (int start = 0; start < distinct.size(); start += IN_CHUNK_SIZE) {
+                    List<K> chunk = distinct.subList(start, Math.min(start + IN_CHUNK_SIZE, distinct.size()));
+                    String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+
+                    try (PreparedStatement stmt = conn.prepareStatement(String.format(queryTemplate, placeholders))) {
+                        int index = 1;
+                        for (K key : chunk) {
+                            keyBinder.bind(stmt, index++, key);
+                        }
+
+                        try (ResultSet rs = stmt.executeQuery()) {
+                            while (rs.next()) {
+                                rows.add(rowMapper.apply(rs));
+                            }
+                        }
+                    }
+                }
+                return rows;
+            } catch (Exception e) {
+                plugin.getLogger().log(Level.SEVERE, "Database bulk query failed: " + queryTemplate, e);
+                throw new RuntimeException("Database bulk query failed", e);
+            }
+        });
+    }
+
     /**
      * Executes a database update asynchronously
      * @param query The SQL query
@@ -55,7 +113,7 @@ public abstract class BaseDao {
      */
     protected CompletableFuture<Integer> executeUpdate(String query,
                                                        ThrowingConsumer<PreparedStatement> paramSetter) {
-        return CompletableFuture.supplyAsync(() -> {
+        return supplyAsync(() -> {
             try (Connection conn = databaseManager.getConnection();
                  PreparedStatement stmt = conn.prepareStatement(query)) {
 
@@ -69,11 +127,108 @@ public abstract class BaseDao {
         });
     }
 
+    /**
+     * Executes an insert asynchronously
+     * @param query The SQL insert
+     * @param paramSetter Function to set parameters on the PreparedStatement
+     * @return CompletableFuture containing the generated key of the inserted row
+     */
+    protected CompletableFuture<Integer> executeInsert(String query,
+                                                       ThrowingConsumer<PreparedStatement> paramSetter) {
+        return supplyAsync(() -> {
+            try (Connection conn = databaseManager.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
+
+                paramSetter.accept(stmt);
+                stmt.executeUpdate();
+
+                try (ResultSet keys = stmt.getGeneratedKeys()) {
+                    if (!keys.next()) {
+                        throw new SQLException("No key generated");
+                    }
+                    return keys.getInt(1);
+                }
+
+            } catch (SQLException e) {
+                plugin.getLogger().log(Level.SEVERE, "Database insert failed: " + query, e);
+                throw new RuntimeException("Database insert failed", e);
+            }
+        });
+    }
+
+    /**
+     * Creates and starts a write-behind queue for an upsert statement, using the
+     * flush settings from database.yml
+     * @param name Name used in logs and statistics
+     * @param query The SQL upsert executed for every queued entity
+     * @param binder Binds one entity to the statement
+     * @param <K> The key type
+     * @param <V> The entity type
+     * @return The started queue
+     */
+    protected <K, V> WriteBehindQueue<K, V> createWriteBehindQueue(String name, String query,
+                                                                  WriteBehindQueue.BatchBinder<V> binder) {
+        WriteBehindQueue<K, V> queue = new WriteBehindQueue<>(
+                plugin,
+                databaseManager,
+                name,
+                query,
+                binder,
+                databaseManager.getWriteBehindBatchSize(),
+                databaseManager.getWriteBehindFlushInterval()
+        );
+        databaseManager.registerWriteBehindQueue(queue);
+        queue.start();
+        return queue;
+    }
+
+    /**
+     * Runs database work on the database executor. A saturated executor rejects the task
+     * on the calling thread; that rejection is returned as a failed future, so callers
+     * handle it like any other database failure instead of it escaping from the call.
+     * @param work The blocking work
+     * @param <T> The result type
+     * @return CompletableFuture containing the result
+     */
+    private <T> CompletableFuture<T> supplyAsync(Supplier<T> work) {
+        try {
+            return CompletableFuture.supplyAsync(work, databaseManager.getExecutor());
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Binds a UUID to a BINARY(16) parameter
+     * @param stmt The statement
+     * @param index The parameter index
+     * @param uuid The UUID, or null for SQL NULL
+     */
+    protected static void setUuid(PreparedStatement stmt, int index, @Nullable UUID uuid) throws SQLException {
+        stmt.setBytes(index, UuidBytes.toBytes(uuid));
+    }
+
+    /**
+     * Reads a UUID from a BINARY(16) column
+     * @param rs The result set, on the row to read
+     * @param column The column name
+     * @return The UUID, or null for SQL NULL
+     */
+    @Nullable
+    protected static UUID getUuid(ResultSet rs, String column) throws SQLException {
+        return UuidBytes.fromBytes(rs.getBytes(column));
+    }
+
     @FunctionalInterface
     protected interface ThrowingConsumer<T> {
         void accept(T t) throws SQLException;
     }
 
+    @FunctionalInterface
+    protected interface KeyBinder<K> {
+        void bind(PreparedStatement stmt, int index, K key) throws SQLException;
+    }
+
     @FunctionalInterface
     protected interface ThrowingFunction<T, R> {
         R apply(T t) throws Exception;
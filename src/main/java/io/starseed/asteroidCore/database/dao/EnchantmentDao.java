@@ -6,9 +6,7 @@ import io.starseed.asteroidCore.models.Enchantment;
 import org.jetbrains.annotations.NotNull;
 
 import java.sql.ResultSet;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 import java.util.concurrent.CompletableFuture;
 
 public class EnchantmentDao extends BaseDao {
@@ -16,6 +14,10 @@ public class EnchantmentDao extends BaseDao {
         SELECT * FROM enchantments WHERE id = ?
     """;
 
+    private static final String SELECT_ENCHANTMENTS = """
+        SELECT * FROM enchantments WHERE id IN (%s)
+    """;
+
     private static final String SELECT_ALL_ENCHANTMENTS = """
         SELECT * FROM enchantments
     """;
@@ -59,6 +61,24 @@ public class EnchantmentDao extends BaseDao {
         );
     }
 
+    /**
+     * Loads several enchantments in as few queries as possible
+     * @param ids The enchantment IDs
+     * @return CompletableFuture containing the enchantments by ID; missing enchantments are absent
+     */
+    public CompletableFuture<Map<String, Enchantment>> loadEnchantments(@NotNull Collection<String> ids) {
+        return executeBulkQuery(
+                SELECT_ENCHANTMENTS,
+                ids,
+                (stmt, index, id) -> stmt.setString(index, id),
+                this::mapResultSetToEnchantment
+        ).thenApply(enchantments -> {
+            Map<String, Enchantment> result = new HashMap<>();
+            enchantments.forEach(enchantment -> result.put(enchantment.getId(), enchantment));
+            return result;
+        });
+    }
+
     /**
      * Loads all enchantments from the database
      * @return CompletableFuture containing list of all enchantments
@@ -107,7 +127,7 @@ public class EnchantmentDao extends BaseDao {
                         stmt.setString(index, enchantment.getId());
                     }
                 }
-        ).thenApply(result -> null);
+        ).thenAccept(result -> databaseManager.getEnchantmentRegistry().register(enchantment));
     }
 
     /**
@@ -119,7 +139,7 @@ public class EnchantmentDao extends BaseDao {
         return executeUpdate(
                 DELETE_ENCHANTMENT,
                 stmt -> stmt.setString(1, id)
-        ).thenApply(result -> null);
+        ).thenAccept(result -> databaseManager.getEnchantmentRegistry().unregister(id));
     }
 
     private Enchantment mapResultSetToEnchantment(ResultSet rs) throws Exception {
@@ -1,15 +1,14 @@
 package io.starseed.asteroidCore.database.dao;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
 import io.starseed.asteroidCore.AsteroidCore;
 import io.starseed.asteroidCore.database.DatabaseManager;
+import io.starseed.asteroidCore.database.EnchantmentRegistry;
+import io.starseed.asteroidCore.database.codec.ColumnCodecs;
 import io.starseed.asteroidCore.models.Crystal;
 import io.starseed.asteroidCore.models.Enchantment;
 import io.starseed.asteroidCore.models.Pickaxe;
 import org.jetbrains.annotations.NotNull;
 
-import java.lang.reflect.Type;
 import java.sql.ResultSet;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
@@ -23,6 +22,14 @@ public class PickaxeDao extends BaseDao {
         SELECT * FROM pickaxes WHERE owner_uuid = ?
     """;
 
+    private static final String SELECT_PICKAXES = """
+        SELECT * FROM pickaxes WHERE id IN (%s)
+    """;
+
+    private static final String SELECT_PICKAXES_BY_OWNERS = """
+        SELECT * FROM pickaxes WHERE owner_uuid IN (%s)
+    """;
+
     private static final String INSERT_PICKAXE = """
         INSERT INTO pickaxes (owner_uuid, name, level, experience, enchantments, skin, crystals)
         VALUES (?, ?, ?, ?, ?, ?, ?)
@@ -40,15 +47,8 @@ public class PickaxeDao extends BaseDao {
         DELETE FROM pickaxes WHERE id = ?
     """;
 
-    private final Gson gson;
-    private final Type enchantmentsType;
-    private final Type crystalsType;
-
     public PickaxeDao(AsteroidCore plugin, DatabaseManager databaseManager) {
         super(plugin, databaseManager);
-        this.gson = new Gson();
-        this.enchantmentsType = new TypeToken<Map<String, Integer>>(){}.getType();
-        this.crystalsType = new TypeToken<List<Crystal>>(){}.getType();
     }
 
     /**
@@ -77,7 +77,7 @@ public class PickaxeDao extends BaseDao {
     public CompletableFuture<List<Pickaxe>> loadPickaxesByOwner(@NotNull UUID ownerUuid) {
         return executeQuery(
                 SELECT_PICKAXES_BY_OWNER,
-                stmt -> stmt.setString(1, ownerUuid.toString()),
+                stmt -> setUuid(stmt, 1, ownerUuid),
                 rs -> {
                     List<Pickaxe> pickaxes = new ArrayList<>();
                     while (rs.next()) {
@@ -88,18 +88,55 @@ public class PickaxeDao extends BaseDao {
         );
     }
 
+    /**
+     * Loads several pickaxes in as few queries as possible
+     * @param ids The pickaxe IDs
+     * @return CompletableFuture containing the pickaxes by ID; missing pickaxes are absent
+     */
+    public CompletableFuture<Map<Integer, Pickaxe>> loadPickaxes(@NotNull Collection<Integer> ids) {
+        return executeBulkQuery(
+                SELECT_PICKAXES,
+                ids,
+                (stmt, index, id) -> stmt.setInt(index, id),
+                this::mapResultSetToPickaxe
+        ).thenApply(pickaxes -> {
+            Map<Integer, Pickaxe> result = new HashMap<>();
+            pickaxes.forEach(pickaxe -> result.put(pickaxe.getId(), pickaxe));
+            return result;
+        });
+    }
+
+    /**
+     * Loads all pickaxes owned by any of the given players
+     * @param ownerUuids The UUIDs of the owners
+     * @return CompletableFuture containing the pickaxes grouped by owner; owners without pickaxes are absent
+     */
+    public CompletableFuture<Map<UUID, List<Pickaxe>>> loadPickaxesByOwners(@NotNull Collection<UUID> ownerUuids) {
+        return executeBulkQuery(
+                SELECT_PICKAXES_BY_OWNERS,
+                ownerUuids,
+                (stmt, index, uuid) -> setUuid(stmt, index, uuid),
+                this::mapResultSetToPickaxe
+        ).thenApply(pickaxes -> {
+            Map<UUID, List<Pickaxe>> result = new HashMap<>();
+            pickaxes.forEach(pickaxe -> result.computeIfAbsent(pickaxe.getOwnerUuid(), owner -> new ArrayList<>()).add(pickaxe));
+            return result;
+        });
+    }
+
     /**
      * Saves a pickaxe to the database
      * @param pickaxe The pickaxe to save
      * @return CompletableFuture for completion
      */
     public CompletableFuture<Void> savePickaxe(@NotNull Pickaxe pickaxe) {
-        Map<String, Integer> enchantmentLevels = new HashMap<>();
+        // Unknown IDs are kept as loaded, so a missing definition never strips a pickaxe
+        Map<String, Integer> enchantmentLevels = new HashMap<>(pickaxe.getUnresolvedEnchantments());
         pickaxe.getEnchantments().forEach((enchant, level) ->
                 enchantmentLevels.put(enchant.getId(), level));
 
-        String enchantmentsJson = gson.toJson(enchantmentLevels, enchantmentsType);
-        String crystalsJson = gson.toJson(pickaxe.getCrystals(), crystalsType);
+        byte[] enchantmentData = ColumnCodecs.ENCHANTMENT_LEVELS.encode(enchantmentLevels);
+        byte[] crystalData = ColumnCodecs.CRYSTALS.encode(pickaxe.getCrystals());
 
         return executeUpdate(
                 databaseManager.isUsingH2() ? UPDATE_PICKAXE : INSERT_PICKAXE,
@@ -108,22 +145,22 @@ public class PickaxeDao extends BaseDao {
 
                     if (!databaseManager.isUsingH2()) {
                         // Insert parameters for MySQL
-                        stmt.setString(index++, pickaxe.getOwnerUuid().toString());
+                        setUuid(stmt, index++, pickaxe.getOwnerUuid());
                         stmt.setString(index++, pickaxe.getName());
                         stmt.setInt(index++, pickaxe.getLevel());
                         stmt.setLong(index++, pickaxe.getExperience());
-                        stmt.setString(index++, enchantmentsJson);
+                        stmt.setBytes(index++, enchantmentData);
                         stmt.setString(index++, pickaxe.getSkin());
-                        stmt.setString(index++, crystalsJson);
+                        stmt.setBytes(index++, crystalData);
                     }
 
                     // Update parameters
                     stmt.setString(index++, pickaxe.getName());
                     stmt.setInt(index++, pickaxe.getLevel());
                     stmt.setLong(index++, pickaxe.getExperience());
-                    stmt.setString(index++, enchantmentsJson);
+                    stmt.setBytes(index++, enchantmentData);
                     stmt.setString(index++, pickaxe.getSkin());
-                    stmt.setString(index++, crystalsJson);
+                    stmt.setBytes(index++, crystalData);
 
                     if (databaseManager.isUsingH2()) {
                         stmt.setInt(index, pickaxe.getId());
@@ -145,29 +182,27 @@ public class PickaxeDao extends BaseDao {
     }
 
     private Pickaxe mapResultSetToPickaxe(ResultSet rs) throws Exception {
-        String enchantmentsJson = rs.getString("enchantments");
-        Map<String, Integer> enchantmentLevels = enchantmentsJson != null ?
-                gson.fromJson(enchantmentsJson, enchantmentsType) :
-                new HashMap<>();
+        Map<String, Integer> enchantmentLevels = ColumnCodecs.ENCHANTMENT_LEVELS.decode(rs.getBytes("enchantments"));
 
+        // Resolved in memory; blocking on another query here would hold two connections per row
         Map<Enchantment, Integer> enchantments = new HashMap<>();
-        EnchantmentDao enchantmentDao = plugin.getDatabaseManager().getEnchantmentDao();
+        Map<String, Integer> unresolved = new HashMap<>();
+        EnchantmentRegistry registry = databaseManager.getEnchantmentRegistry();
 
         for (Map.Entry<String, Integer> entry : enchantmentLevels.entrySet()) {
-            enchantmentDao.loadEnchantment(entry.getKey())
-                    .join()
-                    .ifPresent(enchantment ->
-                            enchantments.put(enchantment, entry.getValue()));
+            Enchantment enchantment = registry.get(entry.getKey());
+            if (enchantment != null) {
+                enchantments.put(enchantment, entry.getValue());
+            } else {
+                unresolved.put(entry.getKey(), entry.getValue());
+            }
         }
 
-        String crystalsJson = rs.getString("crystals");
-        List<Crystal> crystals = crystalsJson != null ?
-                gson.fromJson(crystalsJson, crystalsType) :
-                new ArrayList<>();
+        List<Crystal> crystals = ColumnCodecs.CRYSTALS.decode(rs.getBytes("crystals"));
 
-        return new Pickaxe(
+        Pickaxe pickaxe = new Pickaxe(
                 rs.getInt("id"),
-                UUID.fromString(rs.getString("owner_uuid")),
+                getUuid(rs, "owner_uuid"),
                 rs.getString("name"),
                 rs.getInt("level"),
                 rs.getLong("experience"),
@@ -175,5 +210,12 @@ public class PickaxeDao extends BaseDao {
                 rs.getString("skin"),
                 crystals
         );
+
+        if (!unresolved.isEmpty()) {
+            plugin.getLogger().warning("§e[Database] Pickaxe " + pickaxe.getId()
+                    + " has unknown enchantments " + unresolved.keySet() + "; keeping them as stored");
+            pickaxe.setUnresolvedEnchantments(unresolved);
+        }
+        return pickaxe;
     }
 }
\ No newline at end of file
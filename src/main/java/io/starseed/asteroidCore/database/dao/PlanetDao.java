@@ -1,13 +1,11 @@
 package io.starseed.asteroidCore.database.dao;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
 import io.starseed.asteroidCore.AsteroidCore;
 import io.starseed.asteroidCore.database.DatabaseManager;
+import io.starseed.asteroidCore.database.codec.ColumnCodecs;
 import io.starseed.asteroidCore.models.Planet;
 import org.jetbrains.annotations.NotNull;
 
-import java.lang.reflect.Type;
 import java.sql.ResultSet;
 import java.sql.Timestamp;
 import java.util.*;
@@ -18,6 +16,10 @@ public class PlanetDao extends BaseDao {
         SELECT * FROM planets WHERE id = ?
     """;
 
+    private static final String SELECT_PLANETS = """
+        SELECT * FROM planets WHERE id IN (%s)
+    """;
+
     private static final String SELECT_ALL_PLANETS = """
         SELECT * FROM planets
     """;
@@ -39,13 +41,8 @@ public class PlanetDao extends BaseDao {
         DELETE FROM planets WHERE id = ?
     """;
 
-    private final Gson gson;
-    private final Type resourceRatesType;
-
     public PlanetDao(AsteroidCore plugin, DatabaseManager databaseManager) {
         super(plugin, databaseManager);
-        this.gson = new Gson();
-        this.resourceRatesType = new TypeToken<Map<String, Double>>(){}.getType();
     }
 
     /**
@@ -66,6 +63,24 @@ public class PlanetDao extends BaseDao {
         );
     }
 
+    /**
+     * Loads several planets in as few queries as possible
+     * @param ids The planet IDs
+     * @return CompletableFuture containing the planets by ID; missing planets are absent
+     */
+    public CompletableFuture<Map<Integer, Planet>> loadPlanets(@NotNull Collection<Integer> ids) {
+        return executeBulkQuery(
+                SELECT_PLANETS,
+                ids,
+                (stmt, index, id) -> stmt.setInt(index, id),
+                this::mapResultSetToPlanet
+        ).thenApply(planets -> {
+            Map<Integer, Planet> result = new HashMap<>();
+            planets.forEach(planet -> result.put(planet.getId(), planet));
+            return result;
+        });
+    }
+
     /**
      * Loads all planets from the database
      * @return CompletableFuture containing list of all planets
@@ -90,7 +105,7 @@ public class PlanetDao extends BaseDao {
      * @return CompletableFuture for completion
      */
     public CompletableFuture<Void> savePlanet(@NotNull Planet planet) {
-        String resourceRatesJson = gson.toJson(planet.getResourceRates(), resourceRatesType);
+        byte[] resourceRates = ColumnCodecs.RESOURCE_RATES.encode(planet.getResourceRates());
 
         return executeUpdate(
                 databaseManager.isUsingH2() ? UPDATE_PLANET : INSERT_PLANET,
@@ -102,7 +117,7 @@ public class PlanetDao extends BaseDao {
                         stmt.setString(index++, planet.getName());
                         stmt.setInt(index++, planet.getLevel());
                         stmt.setInt(index++, planet.getSize());
-                        stmt.setString(index++, resourceRatesJson);
+                        stmt.setBytes(index++, resourceRates);
                         stmt.setTimestamp(index++, Timestamp.from(planet.getLastRegeneration()));
                     }
 
@@ -110,7 +125,7 @@ public class PlanetDao extends BaseDao {
                     stmt.setString(index++, planet.getName());
                     stmt.setInt(index++, planet.getLevel());
                     stmt.setInt(index++, planet.getSize());
-                    stmt.setString(index++, resourceRatesJson);
+                    stmt.setBytes(index++, resourceRates);
                     stmt.setTimestamp(index++, Timestamp.from(planet.getLastRegeneration()));
 
                     if (databaseManager.isUsingH2()) {
@@ -133,12 +148,8 @@ public class PlanetDao extends BaseDao {
         ).thenApply(result -> null);
     }
 
-    @SuppressWarnings("unchecked")
     private Planet mapResultSetToPlanet(ResultSet rs) throws Exception {
-        String resourceRatesJson = rs.getString("resource_rates");
-        Map<String, Double> resourceRates = resourceRatesJson != null ?
-                gson.fromJson(resourceRatesJson, resourceRatesType) :
-                new HashMap<>();
+        Map<String, Double> resourceRates = ColumnCodecs.RESOURCE_RATES.decode(rs.getBytes("resource_rates"));
 
         return new Planet(
                 rs.getInt("id"),
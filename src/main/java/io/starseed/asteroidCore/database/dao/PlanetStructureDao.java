@@ -0,0 +1,221 @@
+package io.starseed.asteroidCore.database.dao;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import io.starseed.asteroidCore.AsteroidCore;
+import io.starseed.asteroidCore.database.DatabaseManager;
+import io.starseed.asteroidCore.modules.planet.models.PlanetAutominer;
+import io.starseed.asteroidCore.modules.planet.models.PlanetStructure;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.util.BoundingBox;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Type;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+public class PlanetStructureDao extends BaseDao {
+    private static final String SELECT_STRUCTURES = """
+        SELECT * FROM planet_structures WHERE planet_id = ?
+    """;
+
+    private static final String SELECT_AUTOMINERS = """
+        SELECT * FROM planet_autominers WHERE planet_id = ?
+    """;
+
+    private static final String INSERT_STRUCTURE = """
+        INSERT INTO planet_structures (planet_id, owner_uuid, structure_type, model_id, x, y, z,
+        min_x, min_y, min_z, max_x, max_y, max_z, effects, active)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+    """;
+
+    private static final String INSERT_AUTOMINER = """
+        INSERT INTO planet_autominers (planet_id, owner_uuid, model_id, x, y, z,
+        min_x, min_y, min_z, max_x, max_y, max_z, income_per_minute, total_generated)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+    """;
+
+    private static final String DELETE_STRUCTURE = """
+        DELETE FROM planet_structures WHERE id = ?
+    """;
+
+    private static final String DELETE_AUTOMINER = """
+        DELETE FROM planet_autominers WHERE id = ?
+    """;
+
+    private final Gson gson;
+    private final Type effectsType;
+
+    public PlanetStructureDao(AsteroidCore plugin, DatabaseManager databaseManager) {
+        super(plugin, databaseManager);
+        this.gson = new Gson();
+        this.effectsType = new TypeToken<Map<String, Double>>(){}.getType();
+    }
+
+    /**
+     * Loads the structures placed on a planet
+     * @param planetId The planet ID
+     * @param world The planet's world, or null if it is not loaded
+     * @return CompletableFuture containing the planet's structures
+     */
+    public CompletableFuture<List<PlanetStructure>> loadStructures(int planetId, @Nullable World world) {
+        return executeQuery(
+                SELECT_STRUCTURES,
+                stmt -> stmt.setInt(1, planetId),
+                rs -> {
+                    List<PlanetStructure> structures = new ArrayList<>();
+                    while (rs.next()) {
+                        structures.add(mapResultSetToStructure(rs, world));
+                    }
+                    return structures;
+                }
+        );
+    }
+
+    /**
+     * Loads the autominers placed on a planet
+     * @param planetId The planet ID
+     * @param world The planet's world, or null if it is not loaded
+     * @return CompletableFuture containing the planet's autominers
+     */
+    public CompletableFuture<List<PlanetAutominer>> loadAutominers(int planetId, @Nullable World world) {
+        return executeQuery(
+                SELECT_AUTOMINERS,
+                stmt -> stmt.setInt(1, planetId),
+                rs -> {
+                    List<PlanetAutominer> autominers = new ArrayList<>();
+                    while (rs.next()) {
+                        autominers.add(mapResultSetToAutominer(rs, world));
+                    }
+                    return autominers;
+                }
+        );
+    }
+
+    /**
+     * Inserts a newly placed structure
+     * @param planetId The planet it was placed on
+     * @param structure The structure; its ID is ignored
+     * @return CompletableFuture containing the structure with its generated ID
+     */
+    public CompletableFuture<PlanetStructure> createStructure(int planetId, @NotNull PlanetStructure structure) {
+        String effectsJson = gson.toJson(structure.getEffects(), effectsType);
+
+        return executeInsert(
+                INSERT_STRUCTURE,
+                stmt -> {
+                    stmt.setInt(1, planetId);
+                    setUuid(stmt, 2, structure.getPlanetOwner());
+                    stmt.setString(3, structure.getStructureType());
+                    stmt.setString(4, structure.getModelId());
+                    int index = setPosition(stmt, 5, structure.getLocation(), structure.getBounds());
+                    stmt.setString(index++, effectsJson);
+                    stmt.setBoolean(index, structure.isActive());
+                }
+        ).thenApply(id -> {
+            PlanetStructure created = new PlanetStructure(id, structure.getPlanetOwner(),
+                    structure.getStructureType(), structure.getModelId(), structure.getLocation(),
+                    structure.getBounds());
+            structure.getEffects().forEach(created::addEffect);
+            created.setActive(structure.isActive());
+            return created;
+        });
+    }
+
+    /**
+     * Inserts a newly placed autominer
+     * @param planetId The planet it was placed on
+     * @param autominer The autominer; its ID is ignored
+     * @return CompletableFuture containing the autominer with its generated ID
+     */
+    public CompletableFuture<PlanetAutominer> createAutominer(int planetId, @NotNull PlanetAutominer autominer) {
+        return executeInsert(
+                INSERT_AUTOMINER,
+                stmt -> {
+                    stmt.setInt(1, planetId);
+                    setUuid(stmt, 2, autominer.getPlanetOwner());
+                    stmt.setString(3, autominer.getModelId());
+                    int index = setPosition(stmt, 4, autominer.getLocation(), autominer.getBounds());
+                    stmt.setDouble(index++, autominer.getIncomePerMinute());
+                    stmt.setDouble(index, autominer.getTotalGenerated());
+                }
+        ).thenApply(id -> {
+            PlanetAutominer created = new PlanetAutominer(id, autominer.getPlanetOwner(), autominer.getModelId(),
+                    autominer.getLocation(), autominer.getBounds(), autominer.getIncomePerMinute());
+            created.setTotalGenerated(autominer.getTotalGenerated());
+            return created;
+        });
+    }
+
+    public CompletableFuture<Void> deleteStructure(int id) {
+        return executeUpdate(DELETE_STRUCTURE, stmt -> stmt.setInt(1, id)).thenApply(result -> null);
+    }
+
+    public CompletableFuture<Void> deleteAutominer(int id) {
+        return executeUpdate(DELETE_AUTOMINER, stmt -> stmt.setInt(1, id)).thenApply(result -> null);
+    }
+
+    private static int setPosition(PreparedStatement stmt, int index, Location location, BoundingBox bounds)
+            throws SQLException {
+        stmt.setDouble(index++, location.getX());
+        stmt.setDouble(index++, location.getY());
+        stmt.setDouble(index++, location.getZ());
+        stmt.setDouble(index++, bounds.getMinX());
+        stmt.setDouble(index++, bounds.getMinY());
+        stmt.setDouble(index++, bounds.getMinZ());
+        stmt.setDouble(index++, bounds.getMaxX());
+        stmt.setDouble(index++, bounds.getMaxY());
+        stmt.setDouble(index++, bounds.getMaxZ());
+        return index;
+    }
+
+    private PlanetStructure mapResultSetToStructure(ResultSet rs, World world) throws Exception {
+        PlanetStructure structure = new PlanetStructure(
+                rs.getInt("id"),
+                getUuid(rs, "owner_uuid"),
+                rs.getString("structure_type"),
+                rs.getString("model_id"),
+                mapLocation(rs, world),
+                mapBounds(rs)
+        );
+
+        String effectsJson = rs.getString("effects");
+        Map<String, Double> effects = effectsJson != null ?
+                gson.fromJson(effectsJson, effectsType) :
+                new HashMap<>();
+        effects.forEach(structure::addEffect);
+        structure.setActive(rs.getBoolean("active"));
+        return structure;
+    }
+
+    private PlanetAutominer mapResultSetToAutominer(ResultSet rs, World world) throws Exception {
+        PlanetAutominer autominer = new PlanetAutominer(
+                rs.getInt("id"),
+                getUuid(rs, "owner_uuid"),
+                rs.getString("model_id"),
+                mapLocation(rs, world),
+                mapBounds(rs),
+                rs.getDouble("income_per_minute")
+        );
+        autominer.setTotalGenerated(rs.getDouble("total_generated"));
+        return autominer;
+    }
+
+    private static Location mapLocation(ResultSet rs, World world) throws SQLException {
+        return new Location(world, rs.getDouble("x"), rs.getDouble("y"), rs.getDouble("z"));
+    }
+
+    private static BoundingBox mapBounds(ResultSet rs) throws SQLException {
+        return new BoundingBox(
+                rs.getDouble("min_x"), rs.getDouble("min_y"), rs.getDouble("min_z"),
+                rs.getDouble("max_x"), rs.getDouble("max_y"), rs.getDouble("max_z"));
+    }
+}
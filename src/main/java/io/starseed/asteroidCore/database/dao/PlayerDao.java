@@ -7,8 +7,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.sql.ResultSet;
 import java.sql.Timestamp;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.*;
 import java.util.concurrent.CompletableFuture;
 
 public class PlayerDao extends BaseDao {
@@ -16,6 +15,10 @@ public class PlayerDao extends BaseDao {
         SELECT * FROM players WHERE uuid = ?
     """;
 
+    private static final String SELECT_PLAYERS = """
+        SELECT * FROM players WHERE uuid IN (%s)
+    """;
+
     private static final String INSERT_PLAYER = """
         INSERT INTO players (uuid, username, first_join, last_join, balance, tokens, prestige_level, rank)
         VALUES (?, ?, ?, ?, ?, ?, ?, ?)
@@ -45,7 +48,7 @@ public class PlayerDao extends BaseDao {
     public CompletableFuture<Optional<PlayerData>> loadPlayer(@NotNull UUID uuid) {
         return executeQuery(
                 SELECT_PLAYER,
-                stmt -> stmt.setString(1, uuid.toString()),
+                stmt -> setUuid(stmt, 1, uuid),
                 rs -> {
                     if (rs.next()) {
                         return Optional.of(mapResultSetToPlayer(rs));
@@ -55,6 +58,24 @@ public class PlayerDao extends BaseDao {
         );
     }
 
+    /**
+     * Loads the data of several players in as few queries as possible
+     * @param uuids The players' UUIDs
+     * @return CompletableFuture containing the player data by UUID; missing players are absent
+     */
+    public CompletableFuture<Map<UUID, PlayerData>> loadPlayers(@NotNull Collection<UUID> uuids) {
+        return executeBulkQuery(
+                SELECT_PLAYERS,
+                uuids,
+                (stmt, index, uuid) -> setUuid(stmt, index, uuid),
+                this::mapResultSetToPlayer
+        ).thenApply(players -> {
+            Map<UUID, PlayerData> result = new HashMap<>();
+            players.forEach(player -> result.put(player.getUuid(), player));
+            return result;
+        });
+    }
+
     /**
      * Saves a player's data to the database
      * @param player The player data to save
@@ -68,7 +89,7 @@ public class PlayerDao extends BaseDao {
 
                     if (!databaseManager.isUsingH2()) {
                         // Insert parameters for MySQL
-                        stmt.setString(index++, player.getUuid().toString());
+                        setUuid(stmt, index++, player.getUuid());
                         stmt.setString(index++, player.getUsername());
                         stmt.setTimestamp(index++, Timestamp.from(player.getFirstJoin()));
                         stmt.setTimestamp(index++, Timestamp.from(player.getLastJoin()));
@@ -88,7 +109,7 @@ public class PlayerDao extends BaseDao {
 
                     if (databaseManager.isUsingH2()) {
                         // H2 needs the UUID for the WHERE clause
-                        stmt.setString(index, player.getUuid().toString());
+                        setUuid(stmt, index, player.getUuid());
                     }
                 }
         ).thenApply(result -> null);
@@ -102,13 +123,13 @@ public class PlayerDao extends BaseDao {
     public CompletableFuture<Void> deletePlayer(@NotNull UUID uuid) {
         return executeUpdate(
                 DELETE_PLAYER,
-                stmt -> stmt.setString(1, uuid.toString())
+                stmt -> setUuid(stmt, 1, uuid)
         ).thenApply(result -> null);
     }
 
     private PlayerData mapResultSetToPlayer(ResultSet rs) throws Exception {
         return new PlayerData(
-                UUID.fromString(rs.getString("uuid")),
+                getUuid(rs, "uuid"),
                 rs.getString("username"),
                 rs.getDouble("balance"),
                 rs.getLong("tokens"),
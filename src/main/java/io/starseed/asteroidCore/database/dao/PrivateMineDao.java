@@ -1,13 +1,11 @@
 package io.starseed.asteroidCore.database.dao;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
 import io.starseed.asteroidCore.AsteroidCore;
 import io.starseed.asteroidCore.database.DatabaseManager;
+import io.starseed.asteroidCore.database.codec.ColumnCodecs;
 import io.starseed.asteroidCore.models.PrivateMine;
 import org.jetbrains.annotations.NotNull;
 
-import java.lang.reflect.Type;
 import java.sql.ResultSet;
 import java.sql.Timestamp;
 import java.util.*;
@@ -22,6 +20,14 @@ public class PrivateMineDao extends BaseDao {
         SELECT * FROM private_mines WHERE owner_uuid = ?
     """;
 
+    private static final String SELECT_MINES = """
+        SELECT * FROM private_mines WHERE id IN (%s)
+    """;
+
+    private static final String SELECT_MINES_BY_OWNERS = """
+        SELECT * FROM private_mines WHERE owner_uuid IN (%s)
+    """;
+
     private static final String INSERT_MINE = """
         INSERT INTO private_mines (owner_uuid, name, size, level, is_public, resource_rates, whitelist, last_regeneration)
         VALUES (?, ?, ?, ?, ?, ?, ?, ?)
@@ -29,6 +35,11 @@ public class PrivateMineDao extends BaseDao {
         name = ?, size = ?, level = ?, is_public = ?, resource_rates = ?, whitelist = ?, last_regeneration = ?
     """;
 
+    private static final String CREATE_MINE = """
+        INSERT INTO private_mines (owner_uuid, name, size, level, is_public, resource_rates, whitelist, last_regeneration)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+    """;
+
     private static final String UPDATE_MINE = """
         UPDATE private_mines SET 
         name = ?, size = ?, level = ?, is_public = ?, resource_rates = ?, whitelist = ?, last_regeneration = ?
@@ -39,15 +50,8 @@ public class PrivateMineDao extends BaseDao {
         DELETE FROM private_mines WHERE id = ?
     """;
 
-    private final Gson gson;
-    private final Type resourceRatesType;
-    private final Type whitelistType;
-
     public PrivateMineDao(AsteroidCore plugin, DatabaseManager databaseManager) {
         super(plugin, databaseManager);
-        this.gson = new Gson();
-        this.resourceRatesType = new TypeToken<Map<String, Double>>(){}.getType();
-        this.whitelistType = new TypeToken<Set<UUID>>(){}.getType();
     }
 
     /**
@@ -76,7 +80,7 @@ public class PrivateMineDao extends BaseDao {
     public CompletableFuture<List<PrivateMine>> loadMinesByOwner(@NotNull UUID ownerUuid) {
         return executeQuery(
                 SELECT_MINES_BY_OWNER,
-                stmt -> stmt.setString(1, ownerUuid.toString()),
+                stmt -> setUuid(stmt, 1, ownerUuid),
                 rs -> {
                     List<PrivateMine> mines = new ArrayList<>();
                     while (rs.next()) {
@@ -87,14 +91,84 @@ public class PrivateMineDao extends BaseDao {
         );
     }
 
+    /**
+     * Loads several private mines in as few queries as possible
+     * @param ids The mine IDs
+     * @return CompletableFuture containing the mines by ID; missing mines are absent
+     */
+    public CompletableFuture<Map<Integer, PrivateMine>> loadPrivateMines(@NotNull Collection<Integer> ids) {
+        return executeBulkQuery(
+                SELECT_MINES,
+                ids,
+                (stmt, index, id) -> stmt.setInt(index, id),
+                this::mapResultSetToPrivateMine
+        ).thenApply(mines -> {
+            Map<Integer, PrivateMine> result = new HashMap<>();
+            mines.forEach(mine -> result.put(mine.getId(), mine));
+            return result;
+        });
+    }
+
+    /**
+     * Loads all private mines owned by any of the given players
+     * @param ownerUuids The UUIDs of the owners
+     * @return CompletableFuture containing the mines grouped by owner; owners without mines are absent
+     */
+    public CompletableFuture<Map<UUID, List<PrivateMine>>> loadMinesByOwners(@NotNull Collection<UUID> ownerUuids) {
+        return executeBulkQuery(
+                SELECT_MINES_BY_OWNERS,
+                ownerUuids,
+                (stmt, index, uuid) -> setUuid(stmt, index, uuid),
+                this::mapResultSetToPrivateMine
+        ).thenApply(mines -> {
+            Map<UUID, List<PrivateMine>> result = new HashMap<>();
+            mines.forEach(mine -> result.computeIfAbsent(mine.getOwnerUuid(), owner -> new ArrayList<>()).add(mine));
+            return result;
+        });
+    }
+
+    /**
+     * Inserts a new private mine
+     * @param mine The mine to insert; its ID is ignored
+     * @return CompletableFuture containing the mine with its generated ID
+     */
+    public CompletableFuture<PrivateMine> createPrivateMine(@NotNull PrivateMine mine) {
+        byte[] resourceRates = ColumnCodecs.RESOURCE_RATES.encode(mine.getResourceRates());
+        byte[] whitelist = ColumnCodecs.UUID_SET.encode(mine.getWhitelist());
+
+        return executeInsert(
+                CREATE_MINE,
+                stmt -> {
+                    setUuid(stmt, 1, mine.getOwnerUuid());
+                    stmt.setString(2, mine.getName());
+                    stmt.setInt(3, mine.getSize());
+                    stmt.setInt(4, mine.getLevel());
+                    stmt.setBoolean(5, mine.isPublic());
+                    stmt.setBytes(6, resourceRates);
+                    stmt.setBytes(7, whitelist);
+                    stmt.setTimestamp(8, Timestamp.from(mine.getLastRegeneration()));
+                }
+        ).thenApply(id -> new PrivateMine(
+                id,
+                mine.getOwnerUuid(),
+                mine.getName(),
+                mine.getSize(),
+                mine.getLevel(),
+                mine.isPublic(),
+                mine.getResourceRates(),
+                mine.getWhitelist(),
+                mine.getLastRegeneration()
+        ));
+    }
+
     /**
      * Saves a private mine to the database
      * @param mine The mine to save
      * @return CompletableFuture for completion
      */
     public CompletableFuture<Void> savePrivateMine(@NotNull PrivateMine mine) {
-        String resourceRatesJson = gson.toJson(mine.getResourceRates(), resourceRatesType);
-        String whitelistJson = gson.toJson(mine.getWhitelist(), whitelistType);
+        byte[] resourceRates = ColumnCodecs.RESOURCE_RATES.encode(mine.getResourceRates());
+        byte[] whitelist = ColumnCodecs.UUID_SET.encode(mine.getWhitelist());
 
         return executeUpdate(
                 databaseManager.isUsingH2() ? UPDATE_MINE : INSERT_MINE,
@@ -103,13 +177,13 @@ public class PrivateMineDao extends BaseDao {
 
                     if (!databaseManager.isUsingH2()) {
                         // Insert parameters for MySQL
-                        stmt.setString(index++, mine.getOwnerUuid().toString());
+                        setUuid(stmt, index++, mine.getOwnerUuid());
                         stmt.setString(index++, mine.getName());
                         stmt.setInt(index++, mine.getSize());
                         stmt.setInt(index++, mine.getLevel());
                         stmt.setBoolean(index++, mine.isPublic());
-                        stmt.setString(index++, resourceRatesJson);
-                        stmt.setString(index++, whitelistJson);
+                        stmt.setBytes(index++, resourceRates);
+                        stmt.setBytes(index++, whitelist);
                         stmt.setTimestamp(index++, Timestamp.from(mine.getLastRegeneration()));
                     }
 
@@ -118,8 +192,8 @@ public class PrivateMineDao extends BaseDao {
                     stmt.setInt(index++, mine.getSize());
                     stmt.setInt(index++, mine.getLevel());
                     stmt.setBoolean(index++, mine.isPublic());
-                    stmt.setString(index++, resourceRatesJson);
-                    stmt.setString(index++, whitelistJson);
+                    stmt.setBytes(index++, resourceRates);
+                    stmt.setBytes(index++, whitelist);
                     stmt.setTimestamp(index++, Timestamp.from(mine.getLastRegeneration()));
 
                     if (databaseManager.isUsingH2()) {
@@ -141,21 +215,13 @@ public class PrivateMineDao extends BaseDao {
         ).thenApply(result -> null);
     }
 
-    @SuppressWarnings("unchecked")
     private PrivateMine mapResultSetToPrivateMine(ResultSet rs) throws Exception {
-        String resourceRatesJson = rs.getString("resource_rates");
-        Map<String, Double> resourceRates = resourceRatesJson != null ?
-                gson.fromJson(resourceRatesJson, resourceRatesType) :
-                new HashMap<>();
-
-        String whitelistJson = rs.getString("whitelist");
-        Set<UUID> whitelist = whitelistJson != null ?
-                gson.fromJson(whitelistJson, whitelistType) :
-                new HashSet<>();
+        Map<String, Double> resourceRates = ColumnCodecs.RESOURCE_RATES.decode(rs.getBytes("resource_rates"));
+        Set<UUID> whitelist = ColumnCodecs.UUID_SET.decode(rs.getBytes("whitelist"));
 
         return new PrivateMine(
                 rs.getInt("id"),
-                UUID.fromString(rs.getString("owner_uuid")),
+                getUuid(rs, "owner_uuid"),
                 rs.getString("name"),
                 rs.getInt("size"),
                 rs.getInt("level"),
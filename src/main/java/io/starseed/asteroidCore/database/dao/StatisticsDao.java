@@ -5,9 +5,10 @@ import io.starseed.asteroidCore.database.DatabaseManager;
 import io.starseed.asteroidCore.models.PlayerStatistics;
 import org.jetbrains.annotations.NotNull;
 
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.util.Optional;
-import java.util.UUID;
+import java.sql.SQLException;
+import java.util.*;
 import java.util.concurrent.CompletableFuture;
 
 public class StatisticsDao extends BaseDao {
@@ -15,6 +16,10 @@ public class StatisticsDao extends BaseDao {
         SELECT * FROM player_statistics WHERE uuid = ?
     """;
 
+    private static final String SELECT_STATISTICS_BULK = """
+        SELECT * FROM player_statistics WHERE uuid IN (%s)
+    """;
+
     private static final String INSERT_STATISTICS = """
         INSERT INTO player_statistics (uuid, blocks_mined, time_played, tokens_earned, money_earned)
         VALUES (?, ?, ?, ?, ?)
@@ -32,8 +37,15 @@ public class StatisticsDao extends BaseDao {
         DELETE FROM player_statistics WHERE uuid = ?
     """;
 
+    private final WriteBehindQueue<UUID, PlayerStatistics> writeBehind;
+
     public StatisticsDao(AsteroidCore plugin, DatabaseManager databaseManager) {
         super(plugin, databaseManager);
+        this.writeBehind = createWriteBehindQueue(
+                "player_statistics",
+                databaseManager.isUsingH2() ? UPDATE_STATISTICS : INSERT_STATISTICS,
+                this::bindStatistics
+        );
     }
 
     /**
@@ -44,7 +56,7 @@ public class StatisticsDao extends BaseDao {
     public CompletableFuture<Optional<PlayerStatistics>> loadStatistics(@NotNull UUID uuid) {
         return executeQuery(
                 SELECT_STATISTICS,
-                stmt -> stmt.setString(1, uuid.toString()),
+                stmt -> setUuid(stmt, 1, uuid),
                 rs -> {
                     if (rs.next()) {
                         return Optional.of(mapResultSetToStatistics(rs));
@@ -54,6 +66,24 @@ public class StatisticsDao extends BaseDao {
         );
     }
 
+    /**
+     * Loads statistics for several players in as few queries as possible
+     * @param uuids The players' UUIDs
+     * @return CompletableFuture containing the statistics by UUID; players without a row are absent
+     */
+    public CompletableFuture<Map<UUID, PlayerStatistics>> loadStatistics(@NotNull Collection<UUID> uuids) {
+        return executeBulkQuery(
+                SELECT_STATISTICS_BULK,
+                uuids,
+                (stmt, index, uuid) -> setUuid(stmt, index, uuid),
+                this::mapResultSetToStatistics
+        ).thenApply(rows -> {
+            Map<UUID, PlayerStatistics> result = new HashMap<>();
+            rows.forEach(statistics -> result.put(statistics.getPlayerUuid(), statistics));
+            return result;
+        });
+    }
+
     /**
      * Saves player statistics to the database
      * @param statistics The statistics to save
@@ -62,35 +92,46 @@ public class StatisticsDao extends BaseDao {
     public CompletableFuture<Void> saveStatistics(@NotNull PlayerStatistics statistics) {
         return executeUpdate(
                 databaseManager.isUsingH2() ? UPDATE_STATISTICS : INSERT_STATISTICS,
-                stmt -> {
-                    int index = 1;
-
-                    if (!databaseManager.isUsingH2()) {
-                        // Insert parameters for MySQL
-                        stmt.setString(index++, statistics.getPlayerUuid().toString());
-                        stmt.setLong(index++, statistics.getBlocksMined());
-                        stmt.setLong(index++, statistics.getTimePlayed());
-                        stmt.setLong(index++, statistics.getTokensEarned());
-                        stmt.setDouble(index++, statistics.getMoneyEarned());
-                    }
+                stmt -> bindStatistics(stmt, statistics)
+        ).thenApply(result -> null);
+    }
 
-                    // Update parameters (used for both MySQL and H2)
-                    stmt.setLong(index++, statistics.getBlocksMined());
-                    stmt.setLong(index++, statistics.getTimePlayed());
-                    stmt.setLong(index++, statistics.getTokensEarned());
-                    stmt.setDouble(index++, statistics.getMoneyEarned());
+    /**
+     * Queues player statistics for a batched write. Repeated calls for the same
+     * player before the next flush only write the latest statistics.
+     * @param statistics The statistics to save
+     */
+    public void queueStatistics(@NotNull PlayerStatistics statistics) {
+        writeBehind.enqueue(statistics.getPlayerUuid(), statistics);
+    }
 
-                    if (databaseManager.isUsingH2()) {
-                        // H2 needs the UUID for the WHERE clause
-                        stmt.setString(index, statistics.getPlayerUuid().toString());
-                    }
-                }
-        ).thenApply(result -> null);
+    private void bindStatistics(PreparedStatement stmt, PlayerStatistics statistics) throws SQLException {
+        int index = 1;
+
+        if (!databaseManager.isUsingH2()) {
+            // Insert parameters for MySQL
+            setUuid(stmt, index++, statistics.getPlayerUuid());
+            stmt.setLong(index++, statistics.getBlocksMined());
+            stmt.setLong(index++, statistics.getTimePlayed());
+            stmt.setLong(index++, statistics.getTokensEarned());
+            stmt.setDouble(index++, statistics.getMoneyEarned());
+        }
+
+        // Update parameters (used for both MySQL and H2)
+        stmt.setLong(index++, statistics.getBlocksMined());
+        stmt.setLong(index++, statistics.getTimePlayed());
+        stmt.setLong(index++, statistics.getTokensEarned());
+        stmt.setDouble(index++, statistics.getMoneyEarned());
+
+        if (databaseManager.isUsingH2()) {
+            // H2 needs the UUID for the WHERE clause
+            setUuid(stmt, index, statistics.getPlayerUuid());
+        }
     }
 
     private PlayerStatistics mapResultSetToStatistics(ResultSet rs) throws Exception {
         return new PlayerStatistics(
-                UUID.fromString(rs.getString("uuid")),
+                getUuid(rs, "uuid"),
                 rs.getLong("blocks_mined"),
                 rs.getLong("time_played"),
                 rs.getLong("tokens_earned"),
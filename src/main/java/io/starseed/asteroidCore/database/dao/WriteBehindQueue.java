@@ -0,0 +1,275 @@
+package io.starseed.asteroidCore.database.dao;
+
+import io.starseed.asteroidCore.AsteroidCore;
+import io.starseed.asteroidCore.database.DatabaseManager;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * Coalescing write-behind buffer for a single upsert statement.
+ * Entities are keyed so that repeated writes of the same row between flushes
+ * collapse into one, and every flush runs as a single JDBC batch in one transaction.
+ * @param <K> The key identifying a row
+ * @param <V> The entity written to that row
+ */
+public class WriteBehindQueue<K, V> {
+    private static final int SHUTDOWN_FLUSH_ATTEMPTS = 3;
+    private static final long SHUTDOWN_RETRY_DELAY_MILLIS = 500L;
+    private static final long SHUTDOWN_WAIT_MILLIS = 10000L;
+
+    private final AsteroidCore plugin;
+    private final DatabaseManager databaseManager;
+    private final String name;
+    private final String query;
+    private final BatchBinder<V> binder;
+    private final int maxBatchSize;
+    private final long flushIntervalTicks;
+
+    private final Map<K, V> pending;
+    private final AtomicBoolean flushing;
+    private BukkitTask flushTask;
+
+    // Metrics
+    private final AtomicLong flushCount;
+    private final AtomicLong failedFlushCount;
+    private final AtomicLong rowsWritten;
+    private final AtomicLong rowsCoalesced;
+    private volatile long lastFlushNanos;
+    private volatile long maxFlushNanos;
+    private volatile int lastBatchSize;
+
+    public WriteBehindQueue(AsteroidCore plugin, DatabaseManager databaseManager, String name,
+                            String query, BatchBinder<V> binder, int maxBatchSize, long flushIntervalMillis) {
+        this.plugin = plugin;
+        this.databaseManager = databaseManager;
+        this.name = name;
+        this.query = query;
+        this.binder = binder;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.flushIntervalTicks = Math.max(1L, flushIntervalMillis / 50L);
+        this.pending = new ConcurrentHashMap<>();
+        this.flushing = new AtomicBoolean(false);
+        this.flushCount = new AtomicLong();
+        this.failedFlushCount = new AtomicLong();
+        this.rowsWritten = new AtomicLong();
+        this.rowsCoalesced = new AtomicLong();
+    }
+
+    /**
+     * Starts the periodic flush task
+     */
+    public void start() {
+        if (flushTask == null) {
+            flushTask = plugin.getServer().getScheduler().runTaskTimerAsynchronously(
+                    plugin, this::submitFlush, flushIntervalTicks, flushIntervalTicks);
+        }
+    }
+
+    /**
+     * Stops the periodic flush task and writes everything still pending.
+     * Waits for a flush already running, then retries failed batches a few times;
+     * whatever still cannot be written is reported as lost.
+     */
+    public void shutdown() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+
+        for (int attempt = 1; attempt <= SHUTDOWN_FLUSH_ATTEMPTS && !pending.isEmpty(); attempt++) {
+            if (!awaitRunningFlush()) {
+                break;
+            }
+            flush();
+            if (!pending.isEmpty() && attempt < SHUTDOWN_FLUSH_ATTEMPTS) {
+                plugin.getLogger().warning("§e[Database] Write-behind flush for " + name
+                        + " incomplete at shutdown, retrying (" + attempt + "/" + SHUTDOWN_FLUSH_ATTEMPTS + ")");
+                if (!sleep(SHUTDOWN_RETRY_DELAY_MILLIS)) {
+                    break;
+                }
+            }
+        }
+
+        if (!pending.isEmpty()) {
+            plugin.getLogger().severe("§c[Database] Write-behind " + name + " lost " + pending.size()
+                    + " rows that could not be written before shutdown");
+        }
+    }
+
+    private boolean awaitRunningFlush() {
+        long deadline = System.currentTimeMillis() + SHUTDOWN_WAIT_MILLIS;
+        while (flushing.get()) {
+            if (System.currentTimeMillis() >= deadline) {
+                plugin.getLogger().warning("§e[Database] Timed out waiting for the running flush of " + name);
+                return false;
+            }
+            if (!sleep(10L)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Marks an entity as dirty. A newer value for the same key replaces an older
+     * one that has not been flushed yet.
+     * @param key The row key
+     * @param value The entity to write
+     */
+    public void enqueue(K key, V value) {
+        if (pending.put(key, value) != null) {
+            rowsCoalesced.incrementAndGet();
+        }
+
+        if (pending.size() >= maxBatchSize && !flushing.get()) {
+            submitFlush();
+        }
+    }
+
+    private void submitFlush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        try {
+            databaseManager.getExecutor().execute(this::flush);
+        } catch (RejectedExecutionException e) {
+            // Executor is saturated; the next periodic flush will pick these up
+        }
+    }
+
+    /**
+     * Writes all pending entities in batches of at most {@code maxBatchSize}.
+     * Only one flush runs at a time; concurrent callers return immediately.
+     */
+    public void flush() {
+        if (!flushing.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            while (!pending.isEmpty()) {
+                Map<K, V> batch = drain();
+                if (batch.isEmpty() || !writeBatch(batch)) {
+                    break;
+                }
+            }
+        } finally {
+            flushing.set(false);
+        }
+    }
+
+    private Map<K, V> drain() {
+        Map<K, V> batch = new HashMap<>();
+        Iterator<K> keys = pending.keySet().iterator();
+        while (keys.hasNext() && batch.size() < maxBatchSize) {
+            K key = keys.next();
+            V value = pending.remove(key);
+            if (value != null) {
+                batch.put(key, value);
+            }
+        }
+        return batch;
+    }
+
+    private boolean writeBatch(Map<K, V> batch) {
+        long start = System.nanoTime();
+
+        try (Connection conn = databaseManager.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement stmt = conn.prepareStatement(query)) {
+                for (V value : batch.values()) {
+                    binder.bind(stmt, value);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+
+            long elapsed = System.nanoTime() - start;
+            lastFlushNanos = elapsed;
+            maxFlushNanos = Math.max(maxFlushNanos, elapsed);
+            lastBatchSize = batch.size();
+            flushCount.incrementAndGet();
+            rowsWritten.addAndGet(batch.size());
+            return true;
+        } catch (SQLException e) {
+            failedFlushCount.incrementAndGet();
+            plugin.getLogger().log(Level.SEVERE, "§c[Database] Write-behind flush failed for " + name
+                    + " (" + batch.size() + " rows), re-queueing", e);
+
+            // Re-queue without overwriting anything newer that arrived meanwhile
+            batch.forEach(pending::putIfAbsent);
+            return false;
+        }
+    }
+
+    /**
+     * Gets the number of entities waiting to be written
+     * @return The current queue depth
+     */
+    public int getQueueDepth() {
+        return pending.size();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets write-behind statistics
+     * @return A string containing queue and flush statistics
+     */
+    public String getStatistics() {
+        return String.format(
+                "Write-behind %s - Queued: %d, Flushes: %d, Failed: %d, Rows: %d, Coalesced: %d, "
+                        + "Last batch: %d, Last flush: %.2fms, Max flush: %.2fms",
+                name,
+                pending.size(),
+                flushCount.get(),
+                failedFlushCount.get(),
+                rowsWritten.get(),
+                rowsCoalesced.get(),
+                lastBatchSize,
+                lastFlushNanos / 1_000_000.0,
+                maxFlushNanos / 1_000_000.0
+        );
+    }
+
+    /**
+     * Binds one entity to the batch statement
+     * @param <V> The entity type
+     */
+    @FunctionalInterface
+    public interface BatchBinder<V> {
+        void bind(PreparedStatement stmt, V value) throws SQLException;
+    }
+}
@@ -0,0 +1,20 @@
+package io.starseed.asteroidCore.database.schema;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * One step of the schema history.
+ * A database at {@code version - 1} is brought to {@code version} by applying the step,
+ * and the version is then recorded in schema_version so the step never runs twice.
+ * @param version The schema version the step produces
+ * @param description What the step changes, as recorded in schema_version
+ * @param step The change itself
+ */
+public record Migration(int version, String description, Step step) {
+
+    @FunctionalInterface
+    public interface Step {
+        void apply(Connection conn) throws SQLException;
+    }
+}
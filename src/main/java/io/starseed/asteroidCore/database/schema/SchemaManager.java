@@ -2,31 +2,53 @@ package io.starseed.asteroidCore.database.schema;
 
 import io.starseed.asteroidCore.AsteroidCore;
 import io.starseed.asteroidCore.database.DatabaseManager;
+import io.starseed.asteroidCore.database.codec.UuidBytes;
 
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 import java.util.logging.Level;
 
+/**
+ * Creates the tables and keeps their layout up to date.
+ * The applied schema version is kept in schema_version. A new database gets the current
+ * layout straight away, an existing one is brought forward by running every migration
+ * above its version, in order.
+ */
 public class SchemaManager {
-    private final AsteroidCore plugin;
-    private final DatabaseManager databaseManager;
-
-    public SchemaManager(AsteroidCore plugin, DatabaseManager databaseManager) {
-        this.plugin = plugin;
-        this.databaseManager = databaseManager;
-    }
+    private static final String CREATE_VERSION_TABLE = """
+        CREATE TABLE IF NOT EXISTS schema_version (
+            version INT PRIMARY KEY,
+            description VARCHAR(128) NOT NULL,
+            applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+            execution_ms BIGINT DEFAULT 0
+        )
+    """;
 
-    public void initializeTables() {
-        plugin.getLogger().info("§b[Database] Initializing database tables...");
+    private static final String SELECT_VERSION = """
+        SELECT MAX(version) FROM schema_version
+    """;
 
-        try (Connection conn = databaseManager.getConnection();
-             Statement stmt = conn.createStatement()) {
+    private static final String INSERT_VERSION = """
+        INSERT INTO schema_version (version, description, execution_ms) VALUES (?, ?, ?)
+    """;
 
-            // Players Table
-            stmt.executeUpdate("""
+    // The current layout, parents before the tables referencing them
+    private static final List<Table> TABLES = List.of(
+            new Table("players", "uuid", """
                 CREATE TABLE IF NOT EXISTS players (
-                    uuid VARCHAR(36) PRIMARY KEY,
+                    uuid BINARY(16) PRIMARY KEY,
                     username VARCHAR(16) NOT NULL,
                     first_join TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
                     last_join TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
@@ -35,62 +57,167 @@ public class SchemaManager {
                     prestige_level INT DEFAULT 0,
                     rank VARCHAR(32) DEFAULT 'DEFAULT'
                 )
-            """);
-
-            // Player Statistics Table
-            stmt.executeUpdate("""
+            """),
+            new Table("player_statistics", "uuid", """
                 CREATE TABLE IF NOT EXISTS player_statistics (
-                    uuid VARCHAR(36) PRIMARY KEY,
+                    uuid BINARY(16) PRIMARY KEY,
                     blocks_mined BIGINT DEFAULT 0,
                     time_played BIGINT DEFAULT 0,
                     tokens_earned BIGINT DEFAULT 0,
                     money_earned DECIMAL(15,2) DEFAULT 0,
-                    FOREIGN KEY (uuid) REFERENCES players(uuid) ON DELETE CASCADE
+                    CONSTRAINT fk_player_statistics_player FOREIGN KEY (uuid) REFERENCES players(uuid) ON DELETE CASCADE
                 )
-            """);
-
-            // Planets Table
-            stmt.executeUpdate("""
+            """),
+            new Table("planets", null, """
                 CREATE TABLE IF NOT EXISTS planets (
                     id INT AUTO_INCREMENT PRIMARY KEY,
                     name VARCHAR(64) UNIQUE NOT NULL,
                     level INT DEFAULT 1,
                     size INT DEFAULT 100,
-                    resource_rates TEXT,
+                    resource_rates BLOB,
                     last_regeneration TIMESTAMP DEFAULT CURRENT_TIMESTAMP
                 )
-            """);
-
-            // Private Mines Table
-            stmt.executeUpdate("""
+            """),
+            // Looked up by planet through the foreign key index
+            new Table("planet_structures", "owner_uuid", """
+                CREATE TABLE IF NOT EXISTS planet_structures (
+                    id INT AUTO_INCREMENT PRIMARY KEY,
+                    planet_id INT NOT NULL,
+                    owner_uuid BINARY(16),
+                    structure_type VARCHAR(64) NOT NULL,
+                    model_id VARCHAR(64),
+                    x DOUBLE NOT NULL,
+                    y DOUBLE NOT NULL,
+                    z DOUBLE NOT NULL,
+                    min_x DOUBLE NOT NULL,
+                    min_y DOUBLE NOT NULL,
+                    min_z DOUBLE NOT NULL,
+                    max_x DOUBLE NOT NULL,
+                    max_y DOUBLE NOT NULL,
+                    max_z DOUBLE NOT NULL,
+                    effects TEXT,
+                    active BOOLEAN DEFAULT TRUE,
+                    CONSTRAINT fk_planet_structures_planet FOREIGN KEY (planet_id) REFERENCES planets(id) ON DELETE CASCADE
+                )
+            """),
+            new Table("planet_autominers", "owner_uuid", """
+                CREATE TABLE IF NOT EXISTS planet_autominers (
+                    id INT AUTO_INCREMENT PRIMARY KEY,
+                    planet_id INT NOT NULL,
+                    owner_uuid BINARY(16),
+                    model_id VARCHAR(64),
+                    x DOUBLE NOT NULL,
+                    y DOUBLE NOT NULL,
+                    z DOUBLE NOT NULL,
+                    min_x DOUBLE NOT NULL,
+                    min_y DOUBLE NOT NULL,
+                    min_z DOUBLE NOT NULL,
+                    max_x DOUBLE NOT NULL,
+                    max_y DOUBLE NOT NULL,
+                    max_z DOUBLE NOT NULL,
+                    income_per_minute DOUBLE DEFAULT 0,
+                    total_generated DOUBLE DEFAULT 0,
+                    CONSTRAINT fk_planet_autominers_planet FOREIGN KEY (planet_id) REFERENCES planets(id) ON DELETE CASCADE
+                )
+            """),
+            new Table("private_mines", "owner_uuid", """
                 CREATE TABLE IF NOT EXISTS private_mines (
                     id INT AUTO_INCREMENT PRIMARY KEY,
-                    owner_uuid VARCHAR(36) NOT NULL,
+                    owner_uuid BINARY(16) NOT NULL,
                     name VARCHAR(64) NOT NULL,
                     size INT DEFAULT 25,
                     level INT DEFAULT 1,
                     is_public BOOLEAN DEFAULT FALSE,
-                    resource_rates TEXT,
-                    whitelist TEXT,
+                    resource_rates BLOB,
+                    whitelist BLOB,
                     last_regeneration TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-                    FOREIGN KEY (owner_uuid) REFERENCES players(uuid) ON DELETE CASCADE
+                    CONSTRAINT fk_private_mines_owner FOREIGN KEY (owner_uuid) REFERENCES players(uuid) ON DELETE CASCADE
                 )
-            """);
-
-            // Pickaxes Table
-            stmt.executeUpdate("""
+            """),
+            new Table("pickaxes", "owner_uuid", """
                 CREATE TABLE IF NOT EXISTS pickaxes (
                     id INT AUTO_INCREMENT PRIMARY KEY,
-                    owner_uuid VARCHAR(36) NOT NULL,
+                    owner_uuid BINARY(16) NOT NULL,
                     name VARCHAR(64),
                     level INT DEFAULT 1,
                     experience BIGINT DEFAULT 0,
-                    enchantments TEXT,
+                    enchantments BLOB,
                     skin VARCHAR(64) DEFAULT 'DEFAULT',
-                    crystals TEXT,
-                    FOREIGN KEY (owner_uuid) REFERENCES players(uuid) ON DELETE CASCADE
+                    crystals BLOB,
+                    CONSTRAINT fk_pickaxes_owner FOREIGN KEY (owner_uuid) REFERENCES players(uuid) ON DELETE CASCADE
                 )
-            """);
+            """)
+    );
+
+    // Mines and pickaxes are loaded by owner on every join
+    private static final String[] OWNER_LOOKUP_TABLES = {"private_mines", "pickaxes"};
+
+    private static final String[] INDEXES = {
+            "CREATE INDEX idx_private_mines_owner ON private_mines (owner_uuid)",
+            "CREATE INDEX idx_pickaxes_owner ON pickaxes (owner_uuid)"
+    };
+
+    // Table -> columns stored through a ColumnCodec, which were TEXT holding JSON before
+    private static final String[][] BINARY_COLUMNS = {
+            {"planets", "resource_rates"},
+            {"private_mines", "resource_rates"},
+            {"private_mines", "whitelist"},
+            {"pickaxes", "enchantments"},
+            {"pickaxes", "crystals"}
+    };
+
+    private static final String REBUILD_SUFFIX = "_old";
+    private static final int COPY_BATCH_SIZE = 500;
+    private static final int LOOKUP_SAMPLES = 50;
+
+    private final AsteroidCore plugin;
+    private final DatabaseManager databaseManager;
+    private final List<Migration> migrations;
+
+    public SchemaManager(AsteroidCore plugin, DatabaseManager databaseManager) {
+        this.plugin = plugin;
+        this.databaseManager = databaseManager;
+        this.migrations = List.of(
+                new Migration(2, "Store codec columns as BLOB", this::migrateBinaryColumns),
+                new Migration(3, "Store UUIDs as BINARY(16) and index owners", this::migrateBinaryUuids)
+        );
+    }
+
+    /**
+     * Gets the schema version this build creates and expects
+     * @return The latest migration's version
+     */
+    public int getLatestVersion() {
+        return migrations.get(migrations.size() - 1).version();
+    }
+
+    public void initializeTables() {
+        plugin.getLogger().info("§b[Database] Initializing database tables...");
+
+        try (Connection conn = databaseManager.getConnection();
+             Statement stmt = conn.createStatement()) {
+
+            stmt.executeUpdate(CREATE_VERSION_TABLE);
+            int version = getVersion(stmt);
+
+            if (version == 0 && !tableExists(conn, "players")) {
+                long start = System.nanoTime();
+                for (Table table : TABLES) {
+                    stmt.executeUpdate(table.definition());
+                }
+                for (String index : INDEXES) {
+                    stmt.executeUpdate(index);
+                }
+                recordVersion(conn, getLatestVersion(), "Initial schema", elapsedMillis(start));
+                plugin.getLogger().info("§b[Database] Created schema version " + getLatestVersion());
+            } else {
+                if (version == 0) {
+                    // Tables from before schema versioning
+                    version = 1;
+                    recordVersion(conn, version, "Schema before versioning", 0L);
+                }
+                migrate(conn, version);
+            }
 
             plugin.getLogger().info("§a[Database] Successfully initialized all database tables!");
 
@@ -99,4 +226,234 @@ public class SchemaManager {
             throw new RuntimeException("Failed to initialize database tables", e);
         }
     }
-}
\ No newline at end of file
+
+    private void migrate(Connection conn, int version) throws SQLException {
+        if (version > getLatestVersion()) {
+            plugin.getLogger().warning("§e[Database] Schema version " + version
+                    + " is newer than this build supports (" + getLatestVersion() + ")");
+            return;
+        }
+
+        for (Migration migration : migrations) {
+            if (migration.version() <= version) {
+                continue;
+            }
+
+            plugin.getLogger().info("§b[Database] Migrating schema to version " + migration.version()
+                    + ": " + migration.description());
+            long start = System.nanoTime();
+            migration.step().apply(conn);
+            long millis = elapsedMillis(start);
+
+            // Recorded per step, so a failure resumes after the last step that completed
+            recordVersion(conn, migration.version(), migration.description(), millis);
+            plugin.getLogger().info("§a[Database] Schema version " + migration.version() + " applied in " + millis + "ms");
+        }
+    }
+
+    /**
+     * Converts codec columns created as TEXT to BLOB.
+     * The conversion keeps the stored JSON bytes, which the codecs still read, so rows
+     * move to the binary format one by one as they are next saved.
+     */
+    private void migrateBinaryColumns(Connection conn) throws SQLException {
+        DatabaseMetaData metaData = conn.getMetaData();
+
+        try (Statement stmt = conn.createStatement()) {
+            for (String[] column : BINARY_COLUMNS) {
+                String type = getColumnType(metaData, conn.getCatalog(), column[0], column[1]);
+                if (type == null || type.contains("BLOB") || type.contains("BINARY")) {
+                    continue;
+                }
+
+                stmt.executeUpdate("ALTER TABLE " + column[0] + " MODIFY COLUMN " + column[1] + " BLOB");
+                plugin.getLogger().info("§b[Database] Converted " + column[0] + "." + column[1] + " from " + type + " to BLOB");
+            }
+        }
+    }
+
+    /**
+     * Rebuilds every table with a UUID column so UUIDs are stored as 16 bytes rather than
+     * 36 characters, and indexes the owner columns that are looked up on join.
+     * Changing a key column in place would mean dropping and recreating foreign keys under
+     * names that differ between H2 and MySQL, so each table is renamed, recreated in its
+     * current layout and copied over instead.
+     */
+    private void migrateBinaryUuids(Connection conn) throws SQLException {
+        for (Table table : TABLES) {
+            if (table.uuidColumn() != null && tableExists(conn, table.name() + REBUILD_SUFFIX)) {
+                throw new SQLException("Found " + table.name() + REBUILD_SUFFIX
+                        + " from an interrupted migration; restore the database from a backup");
+            }
+        }
+
+        Map<String, Double> before = timeOwnerLookups(conn);
+
+        List<Table> rebuilt = new ArrayList<>();
+        try (Statement stmt = conn.createStatement()) {
+            for (Table table : TABLES) {
+                if (table.uuidColumn() != null && tableExists(conn, table.name())) {
+                    // Foreign keys follow the rename, so children still point at the old parent
+                    stmt.executeUpdate("ALTER TABLE " + table.name() + " RENAME TO " + table.name() + REBUILD_SUFFIX);
+                    rebuilt.add(table);
+                }
+            }
+
+            for (Table table : TABLES) {
+                stmt.executeUpdate(table.definition());
+            }
+            for (Table table : rebuilt) {
+                int rows = copyRows(conn, table);
+                plugin.getLogger().info("§b[Database] Copied " + rows + " rows of " + table.name());
+            }
+            for (String index : INDEXES) {
+                stmt.executeUpdate(index);
+            }
+
+            List<Table> children = new ArrayList<>(rebuilt);
+            Collections.reverse(children);
+            for (Table table : children) {
+                stmt.executeUpdate("DROP TABLE " + table.name() + REBUILD_SUFFIX);
+            }
+        }
+
+        Map<String, Double> after = timeOwnerLookups(conn);
+        before.forEach((table, millis) -> plugin.getLogger().info(String.format(
+                "§b[Database] %s owner lookup: %.3fms before, %.3fms after",
+                table, millis, after.getOrDefault(table, Double.NaN))));
+    }
+
+    private int copyRows(Connection conn, Table table) throws SQLException {
+        try (Statement select = conn.createStatement();
+             ResultSet rs = select.executeQuery("SELECT * FROM " + table.name() + REBUILD_SUFFIX)) {
+
+            ResultSetMetaData metaData = rs.getMetaData();
+            int columnCount = metaData.getColumnCount();
+            List<String> columns = new ArrayList<>(columnCount);
+            for (int i = 1; i <= columnCount; i++) {
+                columns.add(metaData.getColumnLabel(i).toLowerCase());
+            }
+
+            String insert = "INSERT INTO " + table.name() + " (" + String.join(", ", columns) + ") VALUES ("
+                    + String.join(", ", Collections.nCopies(columnCount, "?")) + ")";
+            int rows = 0;
+
+            try (PreparedStatement stmt = conn.prepareStatement(insert)) {
+                while (rs.next()) {
+                    for (int i = 1; i <= columnCount; i++) {
+                        if (columns.get(i - 1).equals(table.uuidColumn())) {
+                            String uuid = rs.getString(i);
+                            stmt.setBytes(i, uuid != null ? UuidBytes.toBytes(UUID.fromString(uuid)) : null);
+                        } else if (isBinary(metaData.getColumnType(i))) {
+                            stmt.setBytes(i, rs.getBytes(i));
+                        } else {
+                            stmt.setObject(i, rs.getObject(i));
+                        }
+                    }
+                    stmt.addBatch();
+
+                    if (++rows % COPY_BATCH_SIZE == 0) {
+                        stmt.executeBatch();
+                    }
+                }
+                stmt.executeBatch();
+            }
+            return rows;
+        }
+    }
+
+    /**
+     * Times loading one owner's rows from each owner-keyed table
+     * @return Table -> average milliseconds per lookup, for tables with any rows
+     */
+    private Map<String, Double> timeOwnerLookups(Connection conn) throws SQLException {
+        Map<String, Double> timings = new LinkedHashMap<>();
+
+        for (String table : OWNER_LOOKUP_TABLES) {
+            if (!tableExists(conn, table)) continue;
+
+            Object owner;
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT owner_uuid FROM " + table + " LIMIT 1")) {
+                if (!rs.next()) continue;
+                owner = rs.getObject(1);
+            }
+
+            try (PreparedStatement stmt = conn.prepareStatement("SELECT * FROM " + table + " WHERE owner_uuid = ?")) {
+                stmt.setObject(1, owner);
+                long start = 0L;
+                // The first run warms the statement and cache up and is not counted
+                for (int i = 0; i <= LOOKUP_SAMPLES; i++) {
+                    if (i == 1) {
+                        start = System.nanoTime();
+                    }
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            rs.getObject(1);
+                        }
+                    }
+                }
+                timings.put(table, (System.nanoTime() - start) / 1_000_000.0 / LOOKUP_SAMPLES);
+            }
+        }
+        return timings;
+    }
+
+    private static int getVersion(Statement stmt) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery(SELECT_VERSION)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private static void recordVersion(Connection conn, int version, String description, long millis)
+            throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_VERSION)) {
+            stmt.setInt(1, version);
+            stmt.setString(2, description);
+            stmt.setLong(3, millis);
+            stmt.executeUpdate();
+        }
+    }
+
+    private static boolean tableExists(Connection conn, String table) throws SQLException {
+        DatabaseMetaData metaData = conn.getMetaData();
+        // H2 reports unquoted names in upper case, MySQL as written
+        for (String name : new String[] {table, table.toUpperCase()}) {
+            try (ResultSet rs = metaData.getTables(conn.getCatalog(), null, name, new String[] {"TABLE"})) {
+                if (rs.next()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String getColumnType(DatabaseMetaData metaData, String catalog, String table, String column)
+            throws SQLException {
+        for (String[] names : new String[][] {{table, column}, {table.toUpperCase(), column.toUpperCase()}}) {
+            try (ResultSet rs = metaData.getColumns(catalog, null, names[0], names[1])) {
+                if (rs.next()) {
+                    return rs.getString("TYPE_NAME").toUpperCase();
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean isBinary(int sqlType) {
+        return sqlType == Types.BINARY || sqlType == Types.VARBINARY
+                || sqlType == Types.LONGVARBINARY || sqlType == Types.BLOB;
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000L;
+    }
+
+    /**
+     * A table in its current layout
+     * @param name The table name
+     * @param uuidColumn The column holding a player UUID, or null
+     * @param definition The CREATE TABLE statement
+     */
+    private record Table(String name, String uuidColumn, String definition) {}
+}
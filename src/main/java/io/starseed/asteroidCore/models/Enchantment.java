@@ -21,4 +21,17 @@ public class Enchantment {
     public int getMaxLevel() { return maxLevel; }
     public double getPriceMultiplier() { return priceMultiplier; }
     public String getDescription() { return description; }
+
+    // Identity is the ID, so pickaxe enchantment maps stay valid across registry reloads
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Enchantment other)) return false;
+        return id.equals(other.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return id.hashCode();
+    }
 }
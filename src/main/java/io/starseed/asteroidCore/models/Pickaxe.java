@@ -11,6 +11,8 @@ public class Pickaxe {
     private Map<Enchantment, Integer> enchantments;
     private String skin;
     private List<Crystal> crystals;
+    // Enchantment ID -> level for enchantments that no longer resolve, written back unchanged
+    private Map<String, Integer> unresolvedEnchantments;
 
     public Pickaxe(int id, UUID ownerUuid, String name) {
         this.id = id;
@@ -21,6 +23,7 @@ public class Pickaxe {
         this.enchantments = new HashMap<>();
         this.skin = "DEFAULT";
         this.crystals = new ArrayList<>();
+        this.unresolvedEnchantments = new HashMap<>();
     }
 
     // Full constructor
@@ -34,6 +37,7 @@ public class Pickaxe {
         this.enchantments = enchantments;
         this.skin = skin;
         this.crystals = crystals;
+        this.unresolvedEnchantments = new HashMap<>();
     }
 
     // Getters and setters
@@ -51,4 +55,6 @@ public class Pickaxe {
     public void setSkin(String skin) { this.skin = skin; }
     public List<Crystal> getCrystals() { return crystals; }
     public void setCrystals(List<Crystal> crystals) { this.crystals = crystals; }
+    public Map<String, Integer> getUnresolvedEnchantments() { return unresolvedEnchantments; }
+    public void setUnresolvedEnchantments(Map<String, Integer> unresolved) { this.unresolvedEnchantments = unresolved; }
 }
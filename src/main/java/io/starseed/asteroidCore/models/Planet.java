@@ -1,6 +1,8 @@
 package io.starseed.asteroidCore.models;
 
 import io.starseed.asteroidCore.modules.planet.models.PlanetStructure;
+import io.starseed.asteroidCore.modules.planet.models.StructureIndex;
+import io.starseed.asteroidCore.world.WeightedDistribution;
 
 import java.time.Instant;
 import java.util.HashMap;
@@ -14,6 +16,13 @@ public class Planet {
     private Map<String, Double> resourceRates;
     private Instant lastRegeneration;
 
+    // Compiled from resourceRates on demand
+    private transient WeightedDistribution distribution;
+    private transient Map<String, Double> distributionRates;
+
+    // Loaded from the database the first time the planet's structures are needed
+    private transient volatile StructureIndex structureIndex;
+
     public Planet(int id, String name) {
         this.id = id;
         this.name = name;
@@ -46,6 +55,40 @@ public class Planet {
     public void setResourceRates(Map<String, Double> resourceRates) { this.resourceRates = resourceRates; }
     public Instant getLastRegeneration() { return lastRegeneration; }
     public void setLastRegeneration(Instant lastRegeneration) { this.lastRegeneration = lastRegeneration; }
+    /**
+     * Gets the resource rates compiled for sampling. The compiled table is cached and
+     * rebuilt only when the rates differ from the ones it was built from.
+     * @return The resource distribution
+     */
+    public synchronized WeightedDistribution getResourceDistribution() {
+        if (distribution == null || !resourceRates.equals(distributionRates)) {
+            distributionRates = new HashMap<>(resourceRates);
+            distribution = WeightedDistribution.compile(distributionRates);
+        }
+        return distribution;
+    }
+
+    /**
+     * Gets the seed for the next block layout. It changes with every regeneration and
+     * can be reproduced from the stored row.
+     * @return The layout seed
+     */
+    public long getLayoutSeed() {
+        return WeightedDistribution.mix64(((long) id << 32) ^ lastRegeneration.getEpochSecond());
+    }
+
+    public StructureIndex getStructureIndex() { return structureIndex; }
+    public void setStructureIndex(StructureIndex structureIndex) { this.structureIndex = structureIndex; }
+
+    /**
+     * Indexes a newly placed structure. Before the index is loaded this does nothing, as
+     * the structure is read back from the database along with the others.
+     * @param structure The structure, with its database ID
+     */
     public void addStructure(PlanetStructure structure) {
+        StructureIndex index = structureIndex;
+        if (index != null) {
+            index.add(structure);
+        }
     }
 }
@@ -1,6 +1,9 @@
 package io.starseed.asteroidCore.models;
 
+import io.starseed.asteroidCore.world.Shape;
+import io.starseed.asteroidCore.world.WeightedDistribution;
 import org.bukkit.Material;
+
 import java.time.Instant;
 import java.util.*;
 
@@ -15,6 +18,19 @@ public class PrivateMine {
     private Set<UUID> whitelist;
     private Instant lastRegeneration;
 
+    // Compiled from resourceRates on demand
+    private transient WeightedDistribution distribution;
+    private transient Map<String, Double> distributionRates;
+
+    // Where the mine is currently placed; the world is null while not loaded
+    private transient volatile String worldName;
+    private transient volatile int originX;
+    private transient volatile int originZ;
+    private transient volatile Shape shape;
+
+    // Set by every setter and mutator, cleared once the mine is saved
+    private transient volatile boolean dirty;
+
     public PrivateMine(int id, UUID ownerUuid, String name) {
         this.id = id;
         this.ownerUuid = ownerUuid;
@@ -46,19 +62,137 @@ public class PrivateMine {
     public int getId() { return id; }
     public UUID getOwnerUuid() { return ownerUuid; }
     public String getName() { return name; }
-    public void setName(String name) { this.name = name; }
+    public void setName(String name) {
+        this.name = name;
+        this.dirty = true;
+    }
     public int getSize() { return size; }
-    public void setSize(int size) { this.size = size; }
+    public void setSize(int size) {
+        this.size = size;
+        this.shape = null;
+        this.dirty = true;
+    }
     public int getLevel() { return level; }
-    public void setLevel(int level) { this.level = level; }
+    public void setLevel(int level) {
+        this.level = level;
+        this.dirty = true;
+    }
     public boolean isPublic() { return isPublic; }
-    public void setPublic(boolean isPublic) { this.isPublic = isPublic; }
-    public Map<String, Double> getResourceRates() { return resourceRates; }
-    public void setResourceRates(Map<String, Double> resourceRates) { this.resourceRates = resourceRates; }
-    public Set<UUID> getWhitelist() { return whitelist; }
-    public void setWhitelist(Set<UUID> whitelist) { this.whitelist = whitelist; }
+    public void setPublic(boolean isPublic) {
+        this.isPublic = isPublic;
+        this.dirty = true;
+    }
+    /**
+     * @return A read-only view of the resource rates; change them through the mutators
+     */
+    public Map<String, Double> getResourceRates() { return Collections.unmodifiableMap(resourceRates); }
+    public void setResourceRates(Map<String, Double> resourceRates) {
+        this.resourceRates = resourceRates;
+        this.dirty = true;
+    }
+    public void setResourceRate(String material, double rate) {
+        resourceRates.put(material, rate);
+        this.dirty = true;
+    }
+    public void removeResourceRate(String material) {
+        if (resourceRates.remove(material) != null) {
+            this.dirty = true;
+        }
+    }
+
+    /**
+     * @return A read-only view of the whitelist; change it through the mutators
+     */
+    public Set<UUID> getWhitelist() { return Collections.unmodifiableSet(whitelist); }
+    public void setWhitelist(Set<UUID> whitelist) {
+        this.whitelist = whitelist;
+        this.dirty = true;
+    }
+    public void addToWhitelist(UUID playerUuid) {
+        if (whitelist.add(playerUuid)) {
+            this.dirty = true;
+        }
+    }
+    public void removeFromWhitelist(UUID playerUuid) {
+        if (whitelist.remove(playerUuid)) {
+            this.dirty = true;
+        }
+    }
     public Instant getLastRegeneration() { return lastRegeneration; }
-    public void setLastRegeneration(Instant lastRegeneration) { this.lastRegeneration = lastRegeneration; }
+    public void setLastRegeneration(Instant lastRegeneration) {
+        this.lastRegeneration = lastRegeneration;
+        this.dirty = true;
+    }
+
+    /**
+     * @return true if a setter or mutator was called since the mine was loaded or last saved
+     */
+    public boolean isDirty() { return dirty; }
+    public void markDirty() { this.dirty = true; }
+    public void markClean() { this.dirty = false; }
+
+    /**
+     * Gets the resource rates compiled for sampling. The compiled table is cached and
+     * rebuilt only when the rates differ from the ones it was built from.
+     * @return The resource distribution
+     */
+    public synchronized WeightedDistribution getResourceDistribution() {
+        if (distribution == null || !resourceRates.equals(distributionRates)) {
+            distributionRates = new HashMap<>(resourceRates);
+            distribution = WeightedDistribution.compile(distributionRates);
+        }
+        return distribution;
+    }
+
+    /**
+     * Gets the seed for the next block layout. It changes with every regeneration and
+     * can be reproduced from the stored row.
+     * @return The layout seed
+     */
+    public long getLayoutSeed() {
+        return WeightedDistribution.mix64(((long) id << 32) ^ lastRegeneration.getEpochSecond());
+    }
+
+    /**
+     * Gets the name of the world the mine is placed in
+     * @return The world name, or null if the mine has no world yet
+     */
+    public String getWorldName() { return worldName; }
+    public void setWorldName(String worldName) { this.worldName = worldName; }
+
+    public int getOriginX() { return originX; }
+    public int getOriginZ() { return originZ; }
+
+    /**
+     * Sets the center of the mine's region in its world
+     */
+    public void setOrigin(int originX, int originZ) {
+        this.originX = originX;
+        this.originZ = originZ;
+        this.shape = null;
+    }
+
+    /**
+     * Gets the region the mine's blocks fill, around its origin. This is also the mine's
+     * bounding box for break checks, so it is kept until the size or origin changes.
+     * @return The mine's region
+     */
+    public Shape getShape() {
+        Shape current = shape;
+        if (current == null) {
+            current = Shape.cuboid(originX - size, -size, originZ - size, originX + size, size, originZ + size);
+            shape = current;
+        }
+        return current;
+    }
+
+    /**
+     * Gets the key the mine's mined blocks are tracked under
+     * @return The region key
+     */
+    public String getRegionKey() {
+        return "pmine:" + id;
+    }
 
     public boolean canAccess(UUID playerUuid) {
         return ownerUuid.equals(playerUuid) || isPublic || whitelist.contains(playerUuid);
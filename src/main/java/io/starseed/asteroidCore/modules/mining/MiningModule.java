@@ -8,13 +8,21 @@ import io.starseed.asteroidCore.modules.mining.listeners.MiningListener;
 import io.starseed.asteroidCore.modules.mining.models.MiningStats;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
 
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
 
 public class MiningModule extends BaseModule {
     private final Map<UUID, MiningStats> playerStats;
+    private final Set<UUID> dirtyStats;
+    private final Set<UUID> loadingStats;
+    private BukkitTask statsFlushTask;
+    private BukkitTask multiplierExpiryTask;
     private BlockBreakHandler blockBreakHandler;
     private RewardHandler rewardHandler;
     private FileConfiguration config;
@@ -22,6 +30,8 @@ public class MiningModule extends BaseModule {
     public MiningModule(AsteroidCore plugin) {
         super(plugin);
         this.playerStats = new ConcurrentHashMap<>();
+        this.dirtyStats = ConcurrentHashMap.newKeySet();
+        this.loadingStats = ConcurrentHashMap.newKeySet();
     }
 
     @Override
@@ -40,13 +50,31 @@ public class MiningModule extends BaseModule {
         // Load all online players' stats
         plugin.getServer().getOnlinePlayers().forEach(this::loadPlayerStats);
 
+        // Hand stats changed by mining to the write-behind queue in batches instead of per block
+        long flushInterval = Math.max(1L, config.getLong("stats_flush_interval", 100L));
+        this.statsFlushTask = plugin.getServer().getScheduler().runTaskTimerAsynchronously(
+            plugin, this::flushDirtyStats, flushInterval, flushInterval);
+
+        // Expire timed multipliers here so the break path never checks the clock
+        this.multiplierExpiryTask = plugin.getServer().getScheduler().runTaskTimerAsynchronously(
+            plugin, this::expireMultipliers, 20L, 20L);
+
         this.enabled = true;
         plugin.getLogger().info("§a[Mining] Module enabled successfully!");
     }
 
     @Override
     public void disable() {
-        // Save all player stats
+        if (statsFlushTask != null) {
+            statsFlushTask.cancel();
+            statsFlushTask = null;
+        }
+        if (multiplierExpiryTask != null) {
+            multiplierExpiryTask.cancel();
+            multiplierExpiryTask = null;
+        }
+
+        // Queued writes are flushed when the database shuts down, after all modules
         saveAllPlayerStats();
         
         this.enabled = false;
@@ -57,29 +85,111 @@ public class MiningModule extends BaseModule {
     public void reloadConfig() {
         plugin.getConfigManager().getModuleConfig("mining").reload();
         this.config = plugin.getConfigManager().getModuleConfig("mining").getConfig();
+
+        if (blockBreakHandler != null) {
+            blockBreakHandler.reloadBlockValues();
+        }
+        if (rewardHandler != null) {
+            rewardHandler.reload();
+        }
     }
 
+    /**
+     * Loads a player's stored stats. Until they arrive the player's entry only counts what is
+     * mined meanwhile, and it is neither saved nor rewarded, so it cannot overwrite the stored row.
+     * @param player The player
+     */
     public void loadPlayerStats(Player player) {
-        plugin.getDatabaseManager().getStatisticsDao().loadStatistics(player.getUniqueId())
-            .thenAccept(stats -> {
-                MiningStats miningStats = new MiningStats(player.getUniqueId());
-                // Convert PlayerStatistics to MiningStats
-                if (stats != null) {
-                    miningStats = MiningStats.fromPlayerStatistics(stats);
+        loadPlayerStats(player.getUniqueId());
+    }
+
+    private void loadPlayerStats(UUID playerUuid) {
+        getPlayerStats(playerUuid);
+        if (!loadingStats.add(playerUuid)) {
+            return;
+        }
+
+        plugin.getDatabaseManager().getStatisticsDao().loadStatistics(playerUuid)
+            .whenComplete((stats, error) -> {
+                loadingStats.remove(playerUuid);
+                if (error != null) {
+                    plugin.getLogger().log(Level.WARNING,
+                        "§e[Mining] Failed to load stats of " + playerUuid + ", retrying on the next flush", error);
+                    return;
                 }
-                playerStats.put(player.getUniqueId(), miningStats);
+
+                // Convert PlayerStatistics to MiningStats
+                MiningStats loaded = stats.map(MiningStats::fromPlayerStatistics)
+                    .orElseGet(() -> new MiningStats(playerUuid));
+
+                // Thresholds passed in earlier sessions were already rewarded
+                loaded.setLastRewardThreshold(rewardHandler.getReachedThreshold(loaded.getTotalValue()));
+
+                // Keep anything mined while the load was in flight; a player who left meanwhile is dropped
+                playerStats.computeIfPresent(playerUuid, (uuid, current) -> {
+                    current.addAll(loaded);
+                    current.markLoaded();
+                    return current;
+                });
             });
     }
 
+    /**
+     * Saves a leaving player's stats and forgets them
+     * @param playerUuid The player's UUID
+     */
+    public void unloadPlayerStats(UUID playerUuid) {
+        dirtyStats.remove(playerUuid);
+        savePlayerStats(playerUuid);
+        playerStats.remove(playerUuid);
+    }
+
+    /**
+     * Queues a player's stats for the next write-behind flush.
+     * Going through the queue rather than writing directly means an older snapshot that is
+     * still queued is replaced, instead of landing after this one and overwriting it.
+     * @param playerUuid The player's UUID
+     */
     public void savePlayerStats(UUID playerUuid) {
         MiningStats stats = playerStats.get(playerUuid);
-        if (stats != null) {
-            plugin.getDatabaseManager().getStatisticsDao()
-                .saveStatistics(stats.toPlayerStatistics());
+        if (stats != null && stats.isLoaded()) {
+            plugin.getDatabaseManager().getStatisticsDao().queueStatistics(stats.toPlayerStatistics());
+        }
+    }
+
+    /**
+     * Marks a player's stats as changed so the next flush persists them
+     * @param playerUuid The player's UUID
+     */
+    public void markStatsDirty(UUID playerUuid) {
+        dirtyStats.add(playerUuid);
+    }
+
+    private void flushDirtyStats() {
+        Iterator<UUID> iterator = dirtyStats.iterator();
+        while (iterator.hasNext()) {
+            UUID playerUuid = iterator.next();
+            MiningStats stats = playerStats.get(playerUuid);
+            if (stats != null && !stats.isLoaded()) {
+                // Stays dirty until the stored totals are in; does nothing while a load is running
+                loadPlayerStats(playerUuid);
+                continue;
+            }
+
+            iterator.remove();
+            if (stats != null) {
+                plugin.getDatabaseManager().getStatisticsDao().queueStatistics(stats.toPlayerStatistics());
+            }
         }
     }
 
+    private void expireMultipliers() {
+        long now = System.currentTimeMillis();
+        playerStats.values().forEach(stats -> stats.expireMultipliers(now));
+    }
+
     private void saveAllPlayerStats() {
+        dirtyStats.clear();
         playerStats.keySet().forEach(this::savePlayerStats);
     }
 
@@ -2,12 +2,25 @@ package io.starseed.asteroidCore.modules.mining;
 
 import io.starseed.asteroidCore.AsteroidCore;
 import io.starseed.asteroidCore.modules.BaseModule;
+import io.starseed.asteroidCore.modules.mining.handlers.MineRegenerationScheduler;
+import io.starseed.asteroidCore.modules.mining.handlers.MineGrid;
+import io.starseed.asteroidCore.modules.mining.handlers.MineLifecycleManager;
+import io.starseed.asteroidCore.modules.mining.handlers.MinePlacement;
+import io.starseed.asteroidCore.modules.mining.handlers.MineWorldPool;
 import io.starseed.asteroidCore.modules.mining.handlers.PrivateMineHandler;
 import io.starseed.asteroidCore.modules.mining.listeners.PrivateMineListener;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 
+import java.util.HashMap;
+import java.util.Map;
+
 public class PrivateMineModule extends BaseModule {
     private PrivateMineHandler privateMineHandler;
+    private MineRegenerationScheduler regenerationScheduler;
+    private MinePlacement placement;
+    private MineLifecycleManager lifecycleManager;
+    private final Map<String, Double> defaultResourceRates = new HashMap<>();
     private FileConfiguration config;
 
     public PrivateMineModule(AsteroidCore plugin) {
@@ -18,20 +31,41 @@ public class PrivateMineModule extends BaseModule {
     public void enable() {
         // Load configuration
         this.config = plugin.getConfigManager().getModuleConfig("private_mine").getConfig();
+        loadDefaultResourceRates();
 
         // Initialize handlers
         this.privateMineHandler = new PrivateMineHandler(plugin, this);
+        this.regenerationScheduler = new MineRegenerationScheduler(plugin, privateMineHandler, config);
+        regenerationScheduler.start();
+        this.placement = createPlacement();
+        placement.start();
+        this.lifecycleManager = new MineLifecycleManager(plugin, privateMineHandler, config);
+        lifecycleManager.start();
 
         // Register listeners
         plugin.getServer().getPluginManager().registerEvents(
             new PrivateMineListener(plugin, this), plugin);
 
+        // Players already online, e.g. after a reload, never fire a join event
+        plugin.getServer().getOnlinePlayers().forEach(player -> lifecycleManager.onJoin(player.getUniqueId()));
+
         this.enabled = true;
         plugin.getLogger().info("§a[Private Mine] Module enabled successfully!");
     }
 
     @Override
     public void disable() {
+        // Saves changed mines before anything they depend on goes away
+        if (lifecycleManager != null) {
+            lifecycleManager.shutdown();
+        }
+        if (regenerationScheduler != null) {
+            regenerationScheduler.shutdown();
+        }
+        if (placement != null) {
+            placement.shutdown();
+        }
+
         this.enabled = false;
         plugin.getLogger().info("§c[Private Mine] Module disabled!");
     }
@@ -40,9 +74,54 @@ public class PrivateMineModule extends BaseModule {
     public void reloadConfig() {
         plugin.getConfigManager().getModuleConfig("private_mine").reload();
         this.config = plugin.getConfigManager().getModuleConfig("private_mine").getConfig();
+        loadDefaultResourceRates();
+    }
+
+    private MinePlacement createPlacement() {
+        String mode = config.getString("placement", "pool");
+        if ("grid".equalsIgnoreCase(mode)) {
+            plugin.getLogger().info("§b[Private Mine] Placing mines on a shared grid world");
+            return new MineGrid(plugin, config);
+        }
+        if (!"pool".equalsIgnoreCase(mode)) {
+            plugin.getLogger().warning("§e[Private Mine] Unknown placement '" + mode + "', using pool");
+        }
+        return new MineWorldPool(plugin, config);
+    }
+
+    private void loadDefaultResourceRates() {
+        defaultResourceRates.clear();
+        ConfigurationSection ratesSection = config.getConfigurationSection("default_resource_rates");
+        if (ratesSection != null) {
+            for (String material : ratesSection.getKeys(false)) {
+                defaultResourceRates.put(material, ratesSection.getDouble(material));
+            }
+        }
+        if (defaultResourceRates.isEmpty()) {
+            defaultResourceRates.put("STONE", 1.0);
+        }
     }
 
     public PrivateMineHandler getPrivateMineHandler() {
         return privateMineHandler;
     }
+
+    public MineRegenerationScheduler getRegenerationScheduler() {
+        return regenerationScheduler;
+    }
+
+    public MineLifecycleManager getLifecycleManager() {
+        return lifecycleManager;
+    }
+
+    public MinePlacement getPlacement() {
+        return placement;
+    }
+
+    /**
+     * @return The resource rates new mines start with
+     */
+    public Map<String, Double> getDefaultResourceRates() {
+        return defaultResourceRates;
+    }
 }
@@ -2,20 +2,25 @@ package io.starseed.asteroidCore.modules.mining.handlers;
 
 import io.starseed.asteroidCore.AsteroidCore;
 import io.starseed.asteroidCore.modules.mining.MiningModule;
+import io.starseed.asteroidCore.modules.mining.PrivateMineModule;
 import io.starseed.asteroidCore.modules.mining.models.MiningStats;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Map;
-import java.util.concurrent.CompletableFuture;
 
 public class BlockBreakHandler {
     private final AsteroidCore plugin;
     private final MiningModule miningModule;
-    private final Map<Material, Double> blockValues;
+    private static final double DEFAULT_BLOCK_VALUE = 1.0;
+
+    // Indexed by Material ordinal; replaced as a whole on reload and never written after publishing
+    private volatile double[] blockValues;
 
     public BlockBreakHandler(AsteroidCore plugin, MiningModule miningModule) {
         this.plugin = plugin;
@@ -23,19 +28,36 @@ public class BlockBreakHandler {
         this.blockValues = loadBlockValues();
     }
 
-    private Map<Material, Double> loadBlockValues() {
-        Map<Material, Double> values = new HashMap<>();
-        plugin.getConfigManager().getModuleConfig("mining").getConfig()
-            .getConfigurationSection("block_values").getKeys(false)
-            .forEach(key -> {
-                Material material = Material.valueOf(key.toUpperCase());
-                double value = plugin.getConfigManager().getModuleConfig("mining")
-                    .getConfig().getDouble("block_values." + key);
-                values.put(material, value);
-            });
+    private double[] loadBlockValues() {
+        double[] values = new double[Material.values().length];
+        Arrays.fill(values, DEFAULT_BLOCK_VALUE);
+
+        ConfigurationSection section = plugin.getConfigManager().getModuleConfig("mining").getConfig()
+            .getConfigurationSection("block_values");
+        if (section == null) {
+            return values;
+        }
+
+        section.getKeys(false).forEach(key -> {
+            Material material = Material.matchMaterial(key);
+            if (material == null) {
+                plugin.getLogger().warning("§e[Mining] Unknown material in block_values: " + key);
+                return;
+            }
+            values[material.ordinal()] = section.getDouble(key);
+        });
         return values;
     }
 
+    /**
+     * Gets the configured base value of a block type
+     * @param material The block type
+     * @return The base value, or the default if none is configured
+     */
+    public double getBlockValue(Material material) {
+        return blockValues[material.ordinal()];
+    }
+
     public boolean canBreakBlock(Player player, Block block) {
         // Check if player has permission
         if (!player.hasPermission("asteroidcore.mining.break")) {
@@ -47,43 +69,58 @@ public class BlockBreakHandler {
     }
 
     private boolean isValidMiningArea(Block block) {
-        // Check if block is in a private mine or planet
-        String worldName = block.getWorld().getName();
-        return worldName.startsWith("pmine_") || worldName.startsWith("planet_");
+        // Check if block is in a planet or inside a loaded private mine
+        if (block.getWorld().getName().startsWith("planet_")) {
+            return true;
+        }
+
+        PrivateMineModule privateMines = plugin.getPrivateMineModule();
+        return privateMines != null
+                && privateMines.getPrivateMineHandler().getMineAtLocation(block.getLocation()) != null;
     }
 
-    public CompletableFuture<Double> handleBlockBreak(Player player, Block block) {
-        return CompletableFuture.supplyAsync(() -> {
-            MiningStats stats = miningModule.getPlayerStats(player.getUniqueId());
-            
-            // Update statistics
-            stats.incrementBlocksBroken();
-            stats.incrementBlockType(block.getType().name());
-            
-            // Calculate value
-            double baseValue = blockValues.getOrDefault(block.getType(), 1.0);
-            double multiplier = stats.calculateTotalMultiplier();
-            double finalValue = baseValue * multiplier;
-            
-            // Add to total value
-            stats.incrementTotalValue(finalValue);
-            
-            // Handle drops
-            handleBlockDrops(player, block);
-            
-            return finalValue;
-        });
+    /**
+     * Handles a mined block on the main thread: updates the player's stats, computes the
+     * block's value and moves its drops into the player's inventory.
+     * Persisting the stats is left to the module's batched flush.
+     * @param player The player who broke the block
+     * @param block The broken block, still in its pre-break state
+     * @return The value of the block after multipliers
+     */
+    public double handleBlockBreak(Player player, Block block) {
+        Material type = block.getType();
+        MiningStats stats = miningModule.getPlayerStats(player.getUniqueId());
+
+        // Calculate value
+        double finalValue = getBlockValue(type) * stats.calculateTotalMultiplier();
+
+        // Update statistics
+        stats.incrementBlocksBroken();
+        stats.incrementBlockType(type);
+        stats.incrementTotalValue(finalValue);
+        miningModule.markStatsDirty(player.getUniqueId());
+
+        // Handle drops
+        handleBlockDrops(player, block);
+
+        return finalValue;
     }
 
     private void handleBlockDrops(Player player, Block block) {
         // Custom drop handling logic here
-        // For now, just give normal drops
-        block.getDrops(player.getInventory().getItemInMainHand())
-            .forEach(drop -> player.getInventory().addItem(drop));
+        // For now, give the normal drops straight to the player in a single inventory update
+        Collection<ItemStack> drops = block.getDrops(player.getInventory().getItemInMainHand(), player);
+        if (drops.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, ItemStack> leftover = player.getInventory().addItem(drops.toArray(new ItemStack[0]));
+        leftover.values().forEach(item ->
+            block.getWorld().dropItemNaturally(block.getLocation(), item));
     }
 
     public void reloadBlockValues() {
-        blockValues.clear();
-        blockValues.putAll(loadBlockValues());
+        // Build the new table fully before publishing it, so readers never see a partial one
+        blockValues = loadBlockValues();
     }
 }
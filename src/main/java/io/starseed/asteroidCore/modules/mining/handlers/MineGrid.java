@@ -0,0 +1,224 @@
+package io.starseed.asteroidCore.modules.mining.handlers;
+
+import io.starseed.asteroidCore.AsteroidCore;
+import io.starseed.asteroidCore.models.PrivateMine;
+import io.starseed.asteroidCore.world.ChunkTicketJob;
+import io.starseed.asteroidCore.world.Shape;
+import io.starseed.asteroidCore.world.VoidChunkGenerator;
+import org.bukkit.GameRule;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.WorldCreator;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.Player;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.stream.Stream;
+
+/**
+ * Places every private mine in one shared void world, each in its own cell of a grid.
+ * A mine's cell follows from its ID, so placement needs no allocation state and survives
+ * restarts, and a location maps to its cell with two divisions. Cells are spaced so that
+ * no two mines share a chunk.
+ * Mine blocks are rebuilt from their resource rates whenever a mine is placed, so moving
+ * from one world per mine to the grid only needs the old worlds retired.
+ */
+public class MineGrid implements MinePlacement {
+    private static final String MINE_WORLD_PREFIX = "pmine_";
+    // Empty blocks kept between neighbouring mines
+    private static final int MIN_GAP = 32;
+
+    private final AsteroidCore plugin;
+    private final String worldName;
+    private final int spacing;
+    private final int columns;
+    private final boolean deleteLegacyWorlds;
+    private final Map<Long, PrivateMine> minesByCell;
+    private volatile World world;
+
+    public MineGrid(AsteroidCore plugin, FileConfiguration config) {
+        this.plugin = plugin;
+        this.worldName = config.getString("grid.world", MINE_WORLD_PREFIX + "grid");
+        // Whole chunks per cell, so tickets and clears never touch a neighbour
+        this.spacing = Math.max(64, (config.getInt("grid.spacing", 256) + 15) & ~15);
+        this.columns = Math.max(1, config.getInt("grid.columns", 1024));
+        this.deleteLegacyWorlds = config.getBoolean("grid.delete_legacy_worlds", false);
+        this.minesByCell = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Loads the grid world and retires worlds left over from one world per mine.
+     * Must be called on the main thread.
+     */
+    @Override
+    public void start() {
+        if (world == null) {
+            world = loadWorld();
+            migrateLegacyWorlds();
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        minesByCell.clear();
+    }
+
+    @Override
+    public CompletableFuture<World> place(PrivateMine mine) {
+        if (2 * mine.getSize() + 1 + MIN_GAP > spacing) {
+            return CompletableFuture.failedFuture(new IllegalStateException(
+                    "Mine size " + mine.getSize() + " does not fit a grid spacing of " + spacing));
+        }
+
+        int cellX = mine.getId() % columns;
+        int cellZ = mine.getId() / columns;
+        mine.setOrigin(cellX * spacing, cellZ * spacing);
+
+        return plugin.getBlockWriteQueue()
+                .submit(new ChunkTicketJob(world, plugin, mine.getShape()))
+                .thenApply(v -> world);
+    }
+
+    @Override
+    public void register(PrivateMine mine) {
+        minesByCell.put(cellKey(cellOf(mine.getOriginX()), cellOf(mine.getOriginZ())), mine);
+    }
+
+    @Override
+    public void unregister(PrivateMine mine) {
+        minesByCell.remove(cellKey(cellOf(mine.getOriginX()), cellOf(mine.getOriginZ())), mine);
+    }
+
+    /**
+     * Frees a mine's chunks. Its blocks stay, since the cell belongs to the mine for good
+     * and is rewritten in full the next time the mine is placed.
+     */
+    @Override
+    public CompletableFuture<Void> release(PrivateMine mine, World world) {
+        Location fallback = plugin.getServer().getWorlds().get(0).getSpawnLocation();
+        int cellX = cellOf(mine.getOriginX());
+        int cellZ = cellOf(mine.getOriginZ());
+        for (Player player : world.getPlayers()) {
+            Location location = player.getLocation();
+            if (cellOf(location.getBlockX()) == cellX && cellOf(location.getBlockZ()) == cellZ) {
+                player.teleport(fallback);
+            }
+        }
+
+        Shape shape = mine.getShape();
+        for (int chunkX = shape.getMinX() >> 4; chunkX <= shape.getMaxX() >> 4; chunkX++) {
+            for (int chunkZ = shape.getMinZ() >> 4; chunkZ <= shape.getMaxZ() >> 4; chunkZ++) {
+                world.removePluginChunkTicket(chunkX, chunkZ, plugin);
+            }
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public boolean isMineWorld(World world) {
+        return world.getName().equals(worldName);
+    }
+
+    @Override
+    public PrivateMine getMineAt(Location location) {
+        if (!isMineWorld(location.getWorld())) {
+            return null;
+        }
+
+        int x = location.getBlockX();
+        int y = location.getBlockY();
+        int z = location.getBlockZ();
+        PrivateMine mine = minesByCell.get(cellKey(cellOf(x), cellOf(z)));
+        return mine != null && mine.getShape().contains(x, y, z) ? mine : null;
+    }
+
+    // Cell whose center is nearest to the coordinate
+    private int cellOf(int coordinate) {
+        return Math.floorDiv(coordinate + spacing / 2, spacing);
+    }
+
+    private static long cellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    private World loadWorld() {
+        WorldCreator creator = new WorldCreator(worldName)
+                .generator(new VoidChunkGenerator())
+                .environment(World.Environment.NORMAL)
+                .generateStructures(false);
+        World created = plugin.getServer().createWorld(creator);
+        if (created == null) {
+            throw new IllegalStateException("Failed to create mine grid world " + worldName);
+        }
+
+        // Mine blocks are rebuilt from their layouts, so nothing here needs saving
+        created.setKeepSpawnInMemory(false);
+        created.setAutoSave(false);
+        created.setGameRule(GameRule.DO_DAYLIGHT_CYCLE, false);
+        created.setGameRule(GameRule.DO_WEATHER_CYCLE, false);
+        created.setGameRule(GameRule.DO_MOB_SPAWNING, false);
+        created.setGameRule(GameRule.RANDOM_TICK_SPEED, 0);
+        created.setTime(6000);
+        return created;
+    }
+
+    /**
+     * Unloads mine worlds other than the grid and, if configured, deletes their folders
+     */
+    private void migrateLegacyWorlds() {
+        int unloaded = 0;
+        for (World legacy : new ArrayList<>(plugin.getServer().getWorlds())) {
+            if (legacy.getName().startsWith(MINE_WORLD_PREFIX) && !isMineWorld(legacy)) {
+                legacy.getPlayers().forEach(player -> player.teleport(world.getSpawnLocation()));
+                if (plugin.getServer().unloadWorld(legacy, false)) {
+                    unloaded++;
+                }
+            }
+        }
+
+        List<File> folders = new ArrayList<>();
+        File[] candidates = plugin.getServer().getWorldContainer().listFiles(File::isDirectory);
+        if (candidates != null) {
+            for (File folder : candidates) {
+                if (folder.getName().startsWith(MINE_WORLD_PREFIX) && !folder.getName().equals(worldName)) {
+                    folders.add(folder);
+                }
+            }
+        }
+
+        if (unloaded > 0 || !folders.isEmpty()) {
+            plugin.getLogger().info("§b[Private Mine] Grid mode: unloaded " + unloaded
+                    + " legacy mine worlds, " + folders.size() + " legacy world folders on disk"
+                    + (deleteLegacyWorlds ? " (deleting)" : ""));
+        }
+        if (deleteLegacyWorlds && !folders.isEmpty()) {
+            CompletableFuture.runAsync(() -> folders.forEach(this::deleteFolder));
+        }
+    }
+
+    private void deleteFolder(File folder) {
+        try (Stream<Path> paths = Files.walk(folder.toPath())) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "§e[Private Mine] Failed to delete " + folder, e);
+        }
+    }
+
+    @Override
+    public String getStatistics() {
+        return String.format("Mine Grid - World: %s, Spacing: %d, Mines: %d",
+                worldName, spacing, minesByCell.size());
+    }
+}
@@ -0,0 +1,211 @@
+package io.starseed.asteroidCore.modules.mining.handlers;
+
+import io.starseed.asteroidCore.AsteroidCore;
+import io.starseed.asteroidCore.models.PrivateMine;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * Keeps a mine loaded while its owner is online and for a grace period after they leave.
+ * An owner who reconnects within the grace period finds the mine as they left it, with no
+ * database read or placement. Expired mines are unloaded a few per run, and only mines
+ * that changed are written back.
+ */
+public class MineLifecycleManager {
+    public enum MineState {
+        /** Owner online */
+        ACTIVE,
+        /** Owner offline, mine still loaded until the grace period ends */
+        IDLE,
+        /** Not in memory */
+        UNLOADED
+    }
+
+    private final AsteroidCore plugin;
+    private final PrivateMineHandler handler;
+    private final Map<UUID, Lifecycle> lifecycles;
+    private final Queue<UUID> pendingUnloads;
+    private final Queue<Integer> pendingSaves;
+    private final long graceMillis;
+    private final long autosaveMillis;
+    private final int maxUnloadsPerRun;
+    private final int maxSavesPerRun;
+    private final long checkIntervalTicks;
+    private long lastAutosave;
+    private BukkitTask task;
+
+    // Metrics
+    private final AtomicLong savesWritten = new AtomicLong();
+    private final AtomicLong savesSkipped = new AtomicLong();
+    private final AtomicLong unloads = new AtomicLong();
+    private final AtomicLong reconnects = new AtomicLong();
+
+    public MineLifecycleManager(AsteroidCore plugin, PrivateMineHandler handler, FileConfiguration config) {
+        this.plugin = plugin;
+        this.handler = handler;
+        this.lifecycles = new ConcurrentHashMap<>();
+        this.pendingUnloads = new ConcurrentLinkedQueue<>();
+        this.pendingSaves = new ConcurrentLinkedQueue<>();
+        this.graceMillis = Math.max(0L, config.getLong("lifecycle.idle_grace_seconds", 300L)) * 1000L;
+        this.autosaveMillis = Math.max(1L, config.getLong("lifecycle.autosave_interval_seconds", 300L)) * 1000L;
+        this.maxUnloadsPerRun = Math.max(1, config.getInt("lifecycle.max_unloads_per_run", 1));
+        this.maxSavesPerRun = Math.max(1, config.getInt("lifecycle.max_saves_per_run", 5));
+        this.checkIntervalTicks = Math.max(1L, config.getLong("lifecycle.check_interval_ticks", 20L));
+        this.lastAutosave = System.currentTimeMillis();
+    }
+
+    /**
+     * Starts expiring idle mines and saving changed ones in the background
+     */
+    public void start() {
+        if (task == null) {
+            task = plugin.getServer().getScheduler().runTaskTimer(
+                    plugin, this::process, checkIntervalTicks, checkIntervalTicks);
+        }
+    }
+
+    /**
+     * Stops the background work and saves every changed mine that is still loaded
+     */
+    public void shutdown() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+
+        // A failed save is logged on its own, so it can neither stop the others nor the plugin's shutdown
+        List<CompletableFuture<Void>> saves = new ArrayList<>();
+        for (PrivateMine mine : handler.getLoadedMines().values()) {
+            saves.add(save(mine).exceptionally(error -> {
+                plugin.getLogger().log(Level.SEVERE,
+                        "§c[Private Mine] Failed to save mine " + mine.getId() + " on shutdown", error);
+                return null;
+            }));
+        }
+        CompletableFuture.allOf(saves.toArray(new CompletableFuture<?>[0])).join();
+    }
+
+    /**
+     * Activates an owner's mine, reusing it if it is still loaded
+     * @param owner The joining player
+     */
+    public void onJoin(UUID owner) {
+        Lifecycle previous = lifecycles.put(owner, new Lifecycle(MineState.ACTIVE, 0L));
+        if (previous != null && previous.state() == MineState.IDLE) {
+            reconnects.incrementAndGet();
+            return;
+        }
+
+        plugin.getDatabaseManager().getPrivateMineDao().loadMinesByOwner(owner)
+                .thenAccept(mines -> mines.forEach(handler::loadMine))
+                .exceptionally(error -> {
+                    plugin.getLogger().log(Level.WARNING,
+                            "§e[Private Mine] Failed to load the mines of " + owner, error);
+                    return null;
+                });
+    }
+
+    /**
+     * Starts an owner's grace period
+     * @param owner The leaving player
+     */
+    public void onQuit(UUID owner) {
+        lifecycles.put(owner, new Lifecycle(MineState.IDLE, System.currentTimeMillis()));
+    }
+
+    public MineState getState(UUID owner) {
+        Lifecycle lifecycle = lifecycles.get(owner);
+        return lifecycle != null ? lifecycle.state() : MineState.UNLOADED;
+    }
+
+    private void process() {
+        long now = System.currentTimeMillis();
+
+        for (Map.Entry<UUID, Lifecycle> entry : lifecycles.entrySet()) {
+            Lifecycle lifecycle = entry.getValue();
+            if (lifecycle.state() == MineState.IDLE && !lifecycle.queued()
+                    && now - lifecycle.idleSince() >= graceMillis) {
+                if (lifecycles.replace(entry.getKey(), lifecycle, lifecycle.markQueued())) {
+                    pendingUnloads.add(entry.getKey());
+                }
+            }
+        }
+
+        // Unloading moves players and releases chunks, so only a few per run
+        for (int i = 0; i < maxUnloadsPerRun; i++) {
+            UUID owner = pendingUnloads.poll();
+            if (owner == null) {
+                break;
+            }
+
+            Lifecycle lifecycle = lifecycles.get(owner);
+            if (lifecycle == null || lifecycle.state() != MineState.IDLE) {
+                // Reconnected while queued
+                continue;
+            }
+            lifecycles.remove(owner, lifecycle);
+            unloads.incrementAndGet();
+            handler.unloadMines(owner);
+        }
+
+        if (now - lastAutosave >= autosaveMillis) {
+            lastAutosave = now;
+            pendingSaves.addAll(handler.getLoadedMines().keySet());
+        }
+        for (int i = 0; i < maxSavesPerRun; i++) {
+            Integer mineId = pendingSaves.poll();
+            if (mineId == null) {
+                break;
+            }
+            PrivateMine mine = handler.getLoadedMines().get(mineId);
+            if (mine != null) {
+                save(mine);
+            }
+        }
+    }
+
+    private CompletableFuture<Void> save(PrivateMine mine) {
+        if (!mine.isDirty()) {
+            savesSkipped.incrementAndGet();
+            return CompletableFuture.completedFuture(null);
+        }
+        savesWritten.incrementAndGet();
+        return handler.saveMine(mine);
+    }
+
+    public String getStatistics() {
+        long active = lifecycles.values().stream().filter(l -> l.state() == MineState.ACTIVE).count();
+        return String.format(
+                "Mine Lifecycle - Active: %d, Idle: %d, Pending unloads: %d, Unloads: %d, Reconnects: %d, " +
+                        "Saves written: %d, Saves skipped: %d",
+                active,
+                lifecycles.size() - active,
+                pendingUnloads.size(),
+                unloads.get(),
+                reconnects.get(),
+                savesWritten.get(),
+                savesSkipped.get()
+        );
+    }
+
+    private record Lifecycle(MineState state, long idleSince, boolean queued) {
+        Lifecycle(MineState state, long idleSince) {
+            this(state, idleSince, false);
+        }
+
+        Lifecycle markQueued() {
+            return new Lifecycle(state, idleSince, true);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package io.starseed.asteroidCore.modules.mining.handlers;
+
+import io.starseed.asteroidCore.models.PrivateMine;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Decides where loaded private mines live and finds the mine at a location.
+ * Lookups run for every block broken in a mine world, so they must be constant-time.
+ */
+public interface MinePlacement {
+
+    void start();
+
+    void shutdown();
+
+    /**
+     * Gives a mine a world and origin, and loads the chunks under its region
+     * @param mine The mine to place; its origin is set before the future completes
+     * @return CompletableFuture completed on the main thread with the mine's world
+     */
+    CompletableFuture<World> place(PrivateMine mine);
+
+    /**
+     * Makes a placed mine findable by location
+     * @param mine The mine, with its world name and origin set
+     */
+    void register(PrivateMine mine);
+
+    /**
+     * Stops finding a mine by location
+     * @param mine The mine
+     */
+    void unregister(PrivateMine mine);
+
+    /**
+     * Frees a mine's place, first moving out any players still inside it
+     * @param mine The mine, no longer registered
+     * @param world The world it was placed in
+     * @return CompletableFuture completed on the main thread once the place can be reused
+     */
+    CompletableFuture<Void> release(PrivateMine mine, World world);
+
+    /**
+     * Checks if a world holds private mines, without looking up the mine itself
+     * @param world The world
+     * @return true for private mine worlds
+     */
+    boolean isMineWorld(World world);
+
+    /**
+     * Finds the mine whose region contains a location
+     * @param location The location
+     * @return The mine, or null if no loaded mine contains it
+     */
+    @Nullable
+    PrivateMine getMineAt(Location location);
+
+    String getStatistics();
+}
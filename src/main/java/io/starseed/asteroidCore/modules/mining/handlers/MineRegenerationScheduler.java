@@ -0,0 +1,226 @@
+package io.starseed.asteroidCore.modules.mining.handlers;
+
+import io.starseed.asteroidCore.AsteroidCore;
+import io.starseed.asteroidCore.models.PrivateMine;
+import io.starseed.asteroidCore.world.MinedBlockTracker;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * Decides when loaded private mines regenerate.
+ * Mines wait in a queue ordered by when they are next due, which is either when their
+ * regeneration interval elapses or as soon as enough of them has been mined. Only a
+ * limited number regenerate at once, and their block writes share the global per-tick
+ * budget of the block write queue.
+ */
+public class MineRegenerationScheduler {
+    private final AsteroidCore plugin;
+    private final PrivateMineHandler handler;
+
+    // Guarded by this; a queue entry is stale unless it matches the mine's due time
+    private final PriorityQueue<ScheduledRegeneration> queue;
+    private final Map<Integer, Long> dueTimes;
+
+    // Keyed by mine id
+    private final Set<Integer> running;
+    private final Map<Integer, Long> lastFinished;
+    private final long intervalMillis;
+    private final long minIntervalMillis;
+    private final double minedThreshold;
+    private final int maxConcurrent;
+    private final long checkIntervalTicks;
+    private BukkitTask task;
+
+    // Metrics
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile long lastDurationMillis;
+
+    public MineRegenerationScheduler(AsteroidCore plugin, PrivateMineHandler handler, FileConfiguration config) {
+        this.plugin = plugin;
+        this.handler = handler;
+        this.queue = new PriorityQueue<>(Comparator.comparingLong(ScheduledRegeneration::dueAt));
+        this.dueTimes = new HashMap<>();
+        this.running = ConcurrentHashMap.newKeySet();
+        this.lastFinished = new ConcurrentHashMap<>();
+
+        this.intervalMillis = Math.max(1L, config.getLong("regeneration.interval_seconds", 300L)) * 1000L;
+        this.minIntervalMillis = Math.max(0L, config.getLong("regeneration.min_interval_seconds", 60L)) * 1000L;
+        this.minedThreshold = config.getDouble("regeneration.mined_threshold", 0.3);
+        this.maxConcurrent = Math.max(1, config.getInt("regeneration.max_concurrent", 2));
+        this.checkIntervalTicks = Math.max(1L, config.getLong("regeneration.check_interval_ticks", 20L));
+    }
+
+    /**
+     * Starts checking for due mines
+     */
+    public void start() {
+        if (task == null) {
+            task = plugin.getServer().getScheduler().runTaskTimer(
+                    plugin, this::startDueRegenerations, checkIntervalTicks, checkIntervalTicks);
+        }
+    }
+
+    /**
+     * Stops checking and forgets every scheduled mine. Regenerations already running finish.
+     */
+    public synchronized void shutdown() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        queue.clear();
+        dueTimes.clear();
+    }
+
+    /**
+     * Schedules a mine's next timed regeneration
+     * @param mine The loaded mine
+     */
+    public void schedule(PrivateMine mine) {
+        scheduleAt(mine.getId(), System.currentTimeMillis() + intervalMillis, false);
+    }
+
+    /**
+     * Removes a mine from the schedule, e.g. when it is unloaded
+     * @param mineId The mine id
+     */
+    public synchronized void unschedule(int mineId) {
+        dueTimes.remove(mineId);
+        lastFinished.remove(mineId);
+    }
+
+    /**
+     * Moves a mine's regeneration forward once enough of it has been mined.
+     * Called for every newly mined block, so it only reads the tracker's counters.
+     * @param mine The mine the block was mined in
+     */
+    public void onBlockMined(PrivateMine mine) {
+        MinedBlockTracker tracker = plugin.getRegenerationManager().getTracker(mine.getRegionKey());
+        if (tracker == null || tracker.getMinedRatio() < minedThreshold) {
+            return;
+        }
+
+        long notBefore = lastFinished.getOrDefault(mine.getId(), 0L) + minIntervalMillis;
+        scheduleAt(mine.getId(), Math.max(System.currentTimeMillis(), notBefore), true);
+    }
+
+    /**
+     * Regenerates a mine as soon as a slot is free
+     * @param mineId The mine id
+     */
+    public void requestNow(int mineId) {
+        scheduleAt(mineId, System.currentTimeMillis(), true);
+    }
+
+    private synchronized void scheduleAt(int mineId, long dueAt, boolean onlyEarlier) {
+        if (running.contains(mineId)) {
+            // Rescheduled when the running regeneration completes
+            return;
+        }
+
+        Long current = dueTimes.get(mineId);
+        if (onlyEarlier && current != null && current <= dueAt) {
+            return;
+        }
+        dueTimes.put(mineId, dueAt);
+        queue.add(new ScheduledRegeneration(mineId, dueAt));
+    }
+
+    private synchronized void startDueRegenerations() {
+        long now = System.currentTimeMillis();
+        while (running.size() < maxConcurrent) {
+            ScheduledRegeneration next = queue.peek();
+            if (next == null || next.dueAt() > now) {
+                break;
+            }
+            queue.poll();
+
+            Long dueAt = dueTimes.get(next.mineId());
+            if (dueAt == null || dueAt != next.dueAt()) {
+                continue;
+            }
+            dueTimes.remove(next.mineId());
+
+            PrivateMine mine = handler.getLoadedMines().get(next.mineId());
+            if (mine != null) {
+                regenerate(mine);
+            }
+        }
+    }
+
+    private void regenerate(PrivateMine mine) {
+        int mineId = mine.getId();
+        running.add(mineId);
+        long start = System.currentTimeMillis();
+
+        handler.regenerateMine(mine).whenComplete((result, error) -> {
+            long finished = System.currentTimeMillis();
+            lastDurationMillis = finished - start;
+            running.remove(mineId);
+
+            if (error != null) {
+                failed.incrementAndGet();
+                plugin.getLogger().log(Level.WARNING,
+                        "§e[Private Mine] Failed to regenerate mine " + mineId + " of " + mine.getOwnerUuid(), error);
+            } else {
+                completed.incrementAndGet();
+            }
+
+            if (handler.getLoadedMines().containsKey(mineId)) {
+                lastFinished.put(mineId, finished);
+                scheduleAt(mineId, finished + intervalMillis, false);
+            }
+        });
+    }
+
+    /**
+     * Gets the number of mines whose regeneration is due but waiting for a free slot
+     * @return The regeneration backlog
+     */
+    public synchronized int getBacklog() {
+        long now = System.currentTimeMillis();
+        int backlog = 0;
+        for (long dueAt : dueTimes.values()) {
+            if (dueAt <= now) {
+                backlog++;
+            }
+        }
+        return backlog;
+    }
+
+    /**
+     * Gets regeneration statistics
+     * @return A string containing scheduler and per-tick write statistics
+     */
+    public String getStatistics() {
+        int scheduled;
+        synchronized (this) {
+            scheduled = dueTimes.size();
+        }
+        return String.format(
+                "Mine Regeneration - Scheduled: %d, Backlog: %d, Running: %d/%d, Completed: %d, Failed: %d, " +
+                        "Last: %dms, Write tick: %.2fms/%d blocks",
+                scheduled,
+                getBacklog(),
+                running.size(),
+                maxConcurrent,
+                completed.get(),
+                failed.get(),
+                lastDurationMillis,
+                plugin.getBlockWriteQueue().getLastTickNanos() / 1_000_000.0,
+                plugin.getBlockWriteQueue().getLastTickBlocks()
+        );
+    }
+
+    private record ScheduledRegeneration(int mineId, long dueAt) {}
+}
@@ -0,0 +1,260 @@
+package io.starseed.asteroidCore.modules.mining.handlers;
+
+import io.starseed.asteroidCore.AsteroidCore;
+import io.starseed.asteroidCore.models.PrivateMine;
+import io.starseed.asteroidCore.world.ChunkTicketJob;
+import io.starseed.asteroidCore.world.LayoutApplyJob;
+import io.starseed.asteroidCore.world.Shape;
+import io.starseed.asteroidCore.world.VoidChunkGenerator;
+import io.starseed.asteroidCore.world.WeightedDistribution;
+import org.bukkit.GameRule;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.WorldCreator;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Places each private mine in its own void world, taken from a pool of ready worlds.
+ * Creating a world is slow and only allowed on the main thread, so worlds are created
+ * ahead of demand, one at a time, and released worlds are cleared and reused rather than
+ * unloaded. Giving a mine a world then costs a queue poll, and its chunks are loaded over
+ * the following ticks. When the pool runs dry, mines wait for the next world the warm task
+ * creates rather than creating one in the middle of a tick, unless configured otherwise.
+ */
+public class MineWorldPool implements MinePlacement {
+    private static final String MINE_WORLD_PREFIX = "pmine_";
+    private static final String WORLD_PREFIX = MINE_WORLD_PREFIX + "pool_";
+    private static final WeightedDistribution CLEAR = WeightedDistribution.compile(Map.of("AIR", 1.0));
+
+    private final AsteroidCore plugin;
+    // Main thread only
+    private final Deque<World> idleWorlds;
+    private final Set<String> poolWorlds;
+    private final Deque<CompletableFuture<World>> waiting;
+    // World name -> mine, so block events resolve their mine without a scan
+    private final Map<String, PrivateMine> minesByWorld;
+    // World name -> region filled when the mine was placed, which is what gets cleared
+    private final Map<String, Shape> placedShapes;
+    private final int minIdle;
+    private final int maxIdle;
+    private final long warmIntervalTicks;
+    private final boolean createOnMiss;
+    private BukkitTask warmTask;
+
+    // Metrics
+    private long hits;
+    private long misses;
+    private long recycled;
+
+    public MineWorldPool(AsteroidCore plugin, FileConfiguration config) {
+        this.plugin = plugin;
+        this.idleWorlds = new ArrayDeque<>();
+        this.poolWorlds = new HashSet<>();
+        this.waiting = new ArrayDeque<>();
+        this.minesByWorld = new ConcurrentHashMap<>();
+        this.placedShapes = new ConcurrentHashMap<>();
+        this.minIdle = Math.max(0, config.getInt("world_pool.min_idle", 2));
+        this.maxIdle = Math.max(minIdle, config.getInt("world_pool.max_idle", 8));
+        this.warmIntervalTicks = Math.max(1L, config.getLong("world_pool.warm_interval_ticks", 40L));
+        this.createOnMiss = config.getBoolean("world_pool.create_on_miss", false);
+    }
+
+    /**
+     * Starts topping up the pool, one world per interval
+     */
+    @Override
+    public void start() {
+        if (warmTask == null) {
+            warmTask = plugin.getServer().getScheduler().runTaskTimer(
+                    plugin, this::warm, warmIntervalTicks, warmIntervalTicks);
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        if (warmTask != null) {
+            warmTask.cancel();
+            warmTask = null;
+        }
+
+        CompletableFuture<World> waiter;
+        while ((waiter = waiting.poll()) != null) {
+            waiter.completeExceptionally(new IllegalStateException("Mine world pool shut down"));
+        }
+    }
+
+    private void warm() {
+        if (!waiting.isEmpty() || idleWorlds.size() < minIdle) {
+            try {
+                offer(createWorld());
+            } catch (Exception e) {
+                plugin.getLogger().warning("§e[Private Mine] Failed to create pool world: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Hands a ready world to the longest waiting mine, or to the pool if none is waiting
+     */
+    private void offer(World world) {
+        CompletableFuture<World> waiter = waiting.poll();
+        if (waiter != null) {
+            waiter.complete(world);
+        } else {
+            idleWorlds.add(world);
+        }
+    }
+
+    @Override
+    public CompletableFuture<World> place(PrivateMine mine) {
+        mine.setOrigin(0, 0);
+        Shape shape = mine.getShape();
+
+        CompletableFuture<World> assigned = new CompletableFuture<>();
+        runOnMainThread(() -> {
+            try {
+                World world = idleWorlds.poll();
+                if (world != null) {
+                    hits++;
+                    assigned.complete(world);
+                    return;
+                }
+
+                misses++;
+                if (createOnMiss) {
+                    assigned.complete(createWorld());
+                } else {
+                    plugin.getLogger().warning("§e[Private Mine] World pool is empty, mine " + mine.getId()
+                            + " waits for the next pool world; consider raising world_pool.min_idle");
+                    waiting.add(assigned);
+                }
+            } catch (Exception e) {
+                assigned.completeExceptionally(e);
+            }
+        });
+
+        return assigned.thenCompose(world -> {
+            placedShapes.put(world.getName(), shape);
+            return plugin.getBlockWriteQueue()
+                    .submit(new ChunkTicketJob(world, plugin, shape))
+                    .thenApply(v -> world);
+        });
+    }
+
+    @Override
+    public void register(PrivateMine mine) {
+        minesByWorld.put(mine.getWorldName(), mine);
+    }
+
+    @Override
+    public void unregister(PrivateMine mine) {
+        minesByWorld.remove(mine.getWorldName(), mine);
+    }
+
+    /**
+     * Clears a released world and returns it to the pool. A world that fails to clear
+     * is unloaded instead, so it never goes back to the pool with blocks left in it.
+     */
+    @Override
+    public CompletableFuture<Void> release(PrivateMine mine, World world) {
+        // Nobody may stay behind in a world that is about to be cleared
+        Location fallback = plugin.getServer().getWorlds().get(0).getSpawnLocation();
+        world.getPlayers().forEach(player -> player.teleport(fallback));
+
+        // The mine may have grown since it was placed, so clear both regions
+        Shape placed = placedShapes.remove(world.getName());
+        Shape region = placed != null ? enclosing(placed, mine.getShape()) : mine.getShape();
+
+        CompletableFuture<Void> released = new CompletableFuture<>();
+        plugin.getLayoutComputer().compute(world, region, CLEAR, 0L)
+                .thenCompose(layout -> plugin.getBlockWriteQueue().submit(new LayoutApplyJob(world, layout)))
+                .whenComplete((result, error) -> runOnMainThread(() -> {
+                    world.removePluginChunkTickets(plugin);
+                    if (error == null && (!waiting.isEmpty() || idleWorlds.size() < maxIdle)) {
+                        recycled++;
+                        offer(world);
+                    } else {
+                        if (error != null) {
+                            plugin.getLogger().warning("§e[Private Mine] Failed to clear pool world "
+                                    + world.getName() + ", unloading it: " + error.getMessage());
+                        }
+                        poolWorlds.remove(world.getName());
+                        plugin.getServer().unloadWorld(world, false);
+                    }
+
+                    if (error != null) {
+                        released.completeExceptionally(error);
+                    } else {
+                        released.complete(null);
+                    }
+                }));
+        return released;
+    }
+
+    private static Shape enclosing(Shape a, Shape b) {
+        return Shape.cuboid(
+                Math.min(a.getMinX(), b.getMinX()), Math.min(a.getMinY(), b.getMinY()), Math.min(a.getMinZ(), b.getMinZ()),
+                Math.max(a.getMaxX(), b.getMaxX()), Math.max(a.getMaxY(), b.getMaxY()), Math.max(a.getMaxZ(), b.getMaxZ()));
+    }
+
+    @Override
+    public boolean isMineWorld(World world) {
+        return world.getName().startsWith(MINE_WORLD_PREFIX);
+    }
+
+    @Override
+    public PrivateMine getMineAt(Location location) {
+        return minesByWorld.get(location.getWorld().getName());
+    }
+
+    private World createWorld() {
+        int index = 0;
+        while (poolWorlds.contains(WORLD_PREFIX + index)) {
+            index++;
+        }
+
+        WorldCreator creator = new WorldCreator(WORLD_PREFIX + index)
+                .generator(new VoidChunkGenerator())
+                .environment(World.Environment.NORMAL)
+                .generateStructures(false);
+        World world = plugin.getServer().createWorld(creator);
+        if (world == null) {
+            throw new IllegalStateException("Failed to create world " + creator.name());
+        }
+
+        // Mine blocks are rebuilt from their layouts, so nothing here needs saving
+        world.setKeepSpawnInMemory(false);
+        world.setAutoSave(false);
+        world.setGameRule(GameRule.DO_DAYLIGHT_CYCLE, false);
+        world.setGameRule(GameRule.DO_WEATHER_CYCLE, false);
+        world.setGameRule(GameRule.DO_MOB_SPAWNING, false);
+        world.setGameRule(GameRule.RANDOM_TICK_SPEED, 0);
+        world.setTime(6000);
+
+        poolWorlds.add(world.getName());
+        return world;
+    }
+
+    private void runOnMainThread(Runnable task) {
+        if (plugin.getServer().isPrimaryThread()) {
+            task.run();
+        } else {
+            plugin.getServer().getScheduler().runTask(plugin, task);
+        }
+    }
+
+    @Override
+    public String getStatistics() {
+        return String.format("Mine World Pool - Worlds: %d, Idle: %d, Waiting: %d, Hits: %d, Misses: %d, Recycled: %d",
+                poolWorlds.size(), idleWorlds.size(), waiting.size(), hits, misses, recycled);
+    }
+}
@@ -7,107 +7,199 @@ import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
 
+import java.time.Instant;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
 
 public class PrivateMineHandler {
     private final AsteroidCore plugin;
     private final PrivateMineModule module;
-    private final Map<UUID, PrivateMine> loadedMines;
-    private final Map<UUID, Long> lastRegeneration;
+    // Keyed by mine id, since an owner can have several mines
+    private final Map<Integer, PrivateMine> loadedMines;
+    // Mine id -> placement in progress, so a repeated load waits for it instead of finishing early
+    private final Map<Integer, CompletableFuture<PrivateMine>> placements;
 
     public PrivateMineHandler(AsteroidCore plugin, PrivateMineModule module) {
         this.plugin = plugin;
         this.module = module;
         this.loadedMines = new ConcurrentHashMap<>();
-        this.lastRegeneration = new HashMap<>();
+        this.placements = new ConcurrentHashMap<>();
     }
 
+    /**
+     * Creates a mine for a player and loads it
+     * @param owner The new owner
+     * @return CompletableFuture containing the loaded mine
+     */
     public CompletableFuture<PrivateMine> createMine(Player owner) {
-        return CompletableFuture.supplyAsync(() -> {
-            PrivateMine mine = new PrivateMine();
-            mine.setOwner(owner.getUniqueId());
-            mine.setSize(25); // Default size
-            mine.setTaxRate(0.1); // 10% default tax
-            
-            // Generate mine world
-            String worldName = "pmine_" + owner.getUniqueId().toString().substring(0, 8);
-            World world = plugin.getServer().createWorld(new org.bukkit.WorldCreator(worldName));
-            mine.setWorld(world.getName());
-            
-            // Save to database
-            plugin.getDatabaseManager().getPrivateMineDao().saveMine(mine);
-            
-            // Cache the mine
-            loadedMines.put(owner.getUniqueId(), mine);
-            
-            return mine;
-        });
+        PrivateMine mine = new PrivateMine(0, owner.getUniqueId(), owner.getName() + "'s Mine");
+        mine.setResourceRates(new HashMap<>(module.getDefaultResourceRates()));
+
+        return plugin.getDatabaseManager().getPrivateMineDao().createPrivateMine(mine)
+                .thenCompose(this::loadMine);
     }
 
+    /**
+     * Regenerates a mine's blocks, restoring only mined blocks when few were mined.
+     * Timing is left to the {@link MineRegenerationScheduler}.
+     * @param mine The mine to regenerate
+     * @return CompletableFuture for completion
+     */
     public CompletableFuture<Void> regenerateMine(PrivateMine mine) {
-        return CompletableFuture.runAsync(() -> {
-            World world = plugin.getServer().getWorld(mine.getWorld());
-            if (world == null) return;
-
-            // Check cooldown
-            long now = System.currentTimeMillis();
-            long lastRegen = lastRegeneration.getOrDefault(mine.getOwner(), 0L);
-            if (now - lastRegen < 300000) { // 5 minutes cooldown
-                return;
-            }
+        String worldName = mine.getWorldName();
+        World world = worldName != null ? plugin.getServer().getWorld(worldName) : null;
+        if (world == null) {
+            return CompletableFuture.completedFuture(null);
+        }
 
-            // Regenerate blocks
-            int size = mine.getSize();
-            for (int x = -size; x <= size; x++) {
-                for (int y = -size; y <= size; y++) {
-                    for (int z = -size; z <= size; z++) {
-                        Location loc = new Location(world, x, y, z);
-                        // Set blocks based on mine configuration
-                        // Implementation details here
-                    }
-                }
+        // Moves the layout seed on, so the next full rewrite lays the mine out differently
+        return plugin.getRegenerationManager().regenerate(mine.getRegionKey(), world, mine.getShape(),
+                mine.getResourceDistribution(), mine.getLayoutSeed())
+                .thenRun(() -> mine.setLastRegeneration(Instant.now()));
+    }
+
+    /**
+     * Places a mine and fills it. The mine counts as loaded at once; its place is
+     * assigned and its blocks written over the following ticks. If the place cannot be
+     * assigned, the mine is not loaded after all.
+     * @param mine The mine to load
+     * @return CompletableFuture containing the mine once it has been placed
+     */
+    public CompletableFuture<PrivateMine> loadMine(PrivateMine mine) {
+        // Registered before the mine counts as loaded, so a concurrent call always finds it
+        CompletableFuture<PrivateMine> placed = new CompletableFuture<>();
+        CompletableFuture<PrivateMine> placing = placements.putIfAbsent(mine.getId(), placed);
+        if (placing != null) {
+            return placing;
+        }
+        PrivateMine existing = loadedMines.putIfAbsent(mine.getId(), mine);
+        if (existing != null) {
+            placements.remove(mine.getId(), placed);
+            return CompletableFuture.completedFuture(existing);
+        }
+
+        MinePlacement placement = module.getPlacement();
+        placement.place(mine).thenCompose(world -> {
+            if (loadedMines.get(mine.getId()) != mine) {
+                // Unloaded while its place was being prepared
+                return placement.release(mine, world).thenApply(v -> mine);
             }
 
-            // Update last regeneration time
-            lastRegeneration.put(mine.getOwner(), now);
+            mine.setWorldName(world.getName());
+            placement.register(mine);
+            module.getRegenerationScheduler().schedule(mine);
+            regenerateMine(mine);
+            return CompletableFuture.completedFuture(mine);
+        }).whenComplete((result, error) -> {
+            placements.remove(mine.getId(), placed);
+            if (error != null) {
+                // Not loaded after all, so a later call tries again
+                loadedMines.remove(mine.getId(), mine);
+                plugin.getLogger().log(Level.WARNING,
+                        "§e[Private Mine] Failed to place mine " + mine.getId() + " of " + mine.getOwnerUuid(), error);
+                placed.completeExceptionally(error);
+            } else {
+                placed.complete(result);
+            }
         });
+        return placed;
     }
 
+    /**
+     * Checks if a player may mine at a location
+     * @param player The player
+     * @param location The location, which must be in a mine world
+     * @return true if the location belongs to a loaded mine the player can access
+     */
     public boolean canMine(Player player, Location location) {
         PrivateMine mine = getMineAtLocation(location);
         if (mine == null) return false;
 
-        return mine.getOwner().equals(player.getUniqueId()) || 
-               mine.isWhitelisted(player.getUniqueId());
+        return mine.canAccess(player.getUniqueId());
+    }
+
+    /**
+     * Checks if a world holds private mines, without looking up the mine itself
+     * @param world The world
+     * @return true for private mine worlds, loaded or not
+     */
+    public boolean isMineWorld(World world) {
+        return module.getPlacement().isMineWorld(world);
     }
 
     public PrivateMine getMineAtLocation(Location location) {
-        String worldName = location.getWorld().getName();
-        return loadedMines.values().stream()
-                .filter(mine -> mine.getWorld().equals(worldName))
-                .findFirst()
-                .orElse(null);
+        return module.getPlacement().getMineAt(location);
     }
 
-    public void unloadMine(UUID owner) {
-        PrivateMine mine = loadedMines.remove(owner);
-        if (mine != null) {
-            // Save mine data
-            plugin.getDatabaseManager().getPrivateMineDao().saveMine(mine);
-            
-            // Unload world
-            World world = plugin.getServer().getWorld(mine.getWorld());
-            if (world != null) {
-                plugin.getServer().unloadWorld(world, true);
+    /**
+     * Unloads every loaded mine of an owner and frees their places
+     * @param owner The mine owner
+     */
+    public void unloadMines(UUID owner) {
+        for (PrivateMine mine : loadedMines.values()) {
+            if (mine.getOwnerUuid().equals(owner)) {
+                unloadMine(mine.getId());
             }
         }
     }
 
-    public Map<UUID, PrivateMine> getLoadedMines() {
-        return new HashMap<>(loadedMines);
+    /**
+     * Unloads a mine and frees its place
+     * @param mineId The mine id
+     */
+    public void unloadMine(int mineId) {
+        PrivateMine mine = loadedMines.remove(mineId);
+        if (mine == null) {
+            return;
+        }
+        module.getRegenerationScheduler().unschedule(mineId);
+
+        saveMine(mine);
+
+        String worldName = mine.getWorldName();
+        if (worldName == null) {
+            // Still being placed; loadMine releases it once its place is ready
+            return;
+        }
+        module.getPlacement().unregister(mine);
+        mine.setWorldName(null);
+        plugin.getRegenerationManager().forget(mine.getRegionKey());
+
+        World world = plugin.getServer().getWorld(worldName);
+        if (world != null) {
+            module.getPlacement().release(mine, world);
+        }
+    }
+
+    /**
+     * Writes a mine back if it changed since it was loaded or last saved
+     * @param mine The mine
+     * @return CompletableFuture for completion
+     */
+    public CompletableFuture<Void> saveMine(PrivateMine mine) {
+        if (!mine.isDirty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        // Cleared first, so a change made while the write is in flight is saved next time
+        mine.markClean();
+        return plugin.getDatabaseManager().getPrivateMineDao().savePrivateMine(mine)
+                .whenComplete((result, error) -> {
+                    if (error != null) {
+                        mine.markDirty();
+                    }
+                });
+    }
+
+    /**
+     * @return The loaded mines by mine id
+     */
+    public Map<Integer, PrivateMine> getLoadedMines() {
+        return Collections.unmodifiableMap(loadedMines);
     }
 }
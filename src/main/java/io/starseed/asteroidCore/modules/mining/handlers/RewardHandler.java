@@ -3,60 +3,179 @@ package io.starseed.asteroidCore.modules.mining.handlers;
 import io.starseed.asteroidCore.AsteroidCore;
 import io.starseed.asteroidCore.modules.mining.MiningModule;
 import io.starseed.asteroidCore.modules.mining.models.MiningStats;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 
-import java.util.List;
-import java.util.concurrent.CompletableFuture;
+import java.util.*;
 
 public class RewardHandler {
     private final AsteroidCore plugin;
     private final MiningModule miningModule;
 
+    // Compiled from config; replaced as a whole on reload
+    private volatile RewardIndex rewardIndex;
+
     public RewardHandler(AsteroidCore plugin, MiningModule miningModule) {
         this.plugin = plugin;
         this.miningModule = miningModule;
+        this.rewardIndex = compileRewards();
     }
 
-    public CompletableFuture<Void> handleReward(Player player, double value) {
+    /**
+     * Grants any reward thresholds reached by a mined block. Must be called on the main thread;
+     * the block's value has already been added to the player's stats.
+     * @param player The player who mined the block
+     * @param value The value of the mined block
+     */
+    public void handleReward(Player player, double value) {
         // Get player's mining stats
         MiningStats stats = miningModule.getPlayerStats(player.getUniqueId());
+        if (!stats.isLoaded()) {
+            // Thresholds crossed meanwhile are granted on the first break after the load
+            return;
+        }
+        RewardIndex index = rewardIndex;
 
-        // Update player's mining stats
-        stats.incrementTotalValue(value);
-
-        // Check if player has reached a reward threshold
-        List<Double> rewardThresholds = getRewardThresholds();
-        for (double threshold : rewardThresholds) {
-            if (stats.getTotalValue() >= threshold) {
-                // Grant reward
-                grantReward(player, threshold);
+        // Only thresholds above the last claimed one can be new
+        int next = index.firstAbove(stats.getLastRewardThreshold());
+        double totalValue = stats.getTotalValue();
+        if (next >= index.size() || totalValue < index.threshold(next)) {
+            return;
+        }
 
-                // Update stats
-                stats.setLastRewardThreshold(threshold);
-            }
+        int last = index.firstAbove(totalValue) - 1;
+        for (int i = next; i <= last; i++) {
+            grantReward(player, index.rewards(i));
         }
+        stats.setLastRewardThreshold(index.threshold(last));
+    }
 
-        // Save player's updated mining stats
-        plugin.getDatabaseManager().getStatisticsDao().saveStatistics(stats.toPlayerStatistics());
+    /**
+     * Gets the highest threshold a total value has already passed. Used to mark thresholds
+     * reached in earlier sessions as claimed, so they are not granted again.
+     * @param totalValue The player's total value
+     * @return The highest passed threshold, or 0 if none
+     */
+    public double getReachedThreshold(double totalValue) {
+        RewardIndex index = rewardIndex;
+        int last = index.firstAbove(totalValue) - 1;
+        return last >= 0 ? index.threshold(last) : 0.0;
+    }
 
-        return CompletableFuture.completedFuture(null);
+    /**
+     * Recompiles thresholds and reward items from the mining config
+     */
+    public void reload() {
+        this.rewardIndex = compileRewards();
     }
 
-    private List<Double> getRewardThresholds() {
-        // Load reward thresholds from configuration
-        return plugin.getConfigManager().getModuleConfig("mining").getConfig().getDoubleList("reward_thresholds");
+    private void grantReward(Player player, ItemStack[] templates) {
+        if (templates.length == 0) {
+            return;
+        }
+
+        // addItem mutates the stacks it is given, so never hand out the templates themselves
+        ItemStack[] items = new ItemStack[templates.length];
+        for (int i = 0; i < templates.length; i++) {
+            items[i] = templates[i].clone();
+        }
+
+        player.getInventory().addItem(items).values()
+            .forEach(item -> player.getWorld().dropItemNaturally(player.getLocation(), item));
     }
 
-    private void grantReward(Player player, double threshold) {
-        // Grant reward to the player
-        // Example: Give the player a random item from a list of rewards
-        List<ItemStack> rewards = getRewardItems(threshold);
-        rewards.forEach(player.getInventory()::addItem);
+    private RewardIndex compileRewards() {
+        FileConfiguration config = plugin.getConfigManager().getModuleConfig("mining").getConfig();
+
+        // Reward keys are parsed rather than built from the threshold, since "1000.0" would be read as a nested path.
+        // The same split happens when the file is loaded, so a key like 1000.0 arrives as section 1000 holding 0,
+        // and walking every depth puts it back together.
+        Map<Double, List<ItemStack>> rewardsByThreshold = new HashMap<>();
+        ConfigurationSection rewards = config.getConfigurationSection("rewards");
+        if (rewards != null) {
+            for (String key : rewards.getKeys(true)) {
+                if (rewards.isConfigurationSection(key)) {
+                    continue;
+                }
+                if (!rewards.isList(key)) {
+                    plugin.getLogger().warning("§e[Mining] Reward threshold " + key + " is not a list of items");
+                    continue;
+                }
+                try {
+                    List<ItemStack> items = new ArrayList<>();
+                    for (Object item : rewards.getList(key, Collections.emptyList())) {
+                        if (item instanceof ItemStack stack) {
+                            items.add(stack);
+                        }
+                    }
+                    rewardsByThreshold.put(Double.parseDouble(key), items);
+                } catch (NumberFormatException e) {
+                    plugin.getLogger().warning("§e[Mining] Invalid reward threshold: " + key);
+                }
+            }
+        }
+
+        double[] thresholds = config.getDoubleList("reward_thresholds").stream()
+            .mapToDouble(Double::doubleValue)
+            .distinct()
+            .sorted()
+            .toArray();
+
+        ItemStack[][] items = new ItemStack[thresholds.length][];
+        for (int i = 0; i < thresholds.length; i++) {
+            List<ItemStack> configured = rewardsByThreshold.get(thresholds[i]);
+            if (configured == null) {
+                plugin.getLogger().warning("§e[Mining] No rewards configured for threshold " + thresholds[i]);
+                configured = Collections.emptyList();
+            }
+            items[i] = configured.toArray(new ItemStack[0]);
+        }
+
+        return new RewardIndex(thresholds, items);
     }
 
-    private List<ItemStack> getRewardItems(double threshold) {
-        // Load reward items from configuration based on the threshold
-        return plugin.getConfigManager().getModuleConfig("mining").getConfig().getList("rewards." + threshold, ItemStack.class);
+    /**
+     * Sorted reward thresholds with their item templates at matching indices
+     */
+    private static final class RewardIndex {
+        private final double[] thresholds;
+        private final ItemStack[][] rewards;
+
+        private RewardIndex(double[] thresholds, ItemStack[][] rewards) {
+            this.thresholds = thresholds;
+            this.rewards = rewards;
+        }
+
+        int size() {
+            return thresholds.length;
+        }
+
+        double threshold(int index) {
+            return thresholds[index];
+        }
+
+        ItemStack[] rewards(int index) {
+            return rewards[index];
+        }
+
+        /**
+         * Binary search for the first threshold strictly greater than a value
+         * @return Its index, or size() if there is none
+         */
+        int firstAbove(double value) {
+            int low = 0;
+            int high = thresholds.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (thresholds[mid] <= value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
     }
 }
@@ -6,8 +6,11 @@ import io.starseed.asteroidCore.modules.mining.handlers.BlockBreakHandler;
 import io.starseed.asteroidCore.modules.mining.handlers.RewardHandler;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 
 public class MiningListener implements Listener {
     private final AsteroidCore plugin;
@@ -22,12 +25,28 @@ public class MiningListener implements Listener {
         this.rewardHandler = miningModule.getRewardHandler();
     }
 
-    @EventHandler
+    // Runs after protection plugins have had their say; everything here touches the world, so it stays on the main thread
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
     public void onBlockBreak(BlockBreakEvent event) {
         Player player = event.getPlayer();
-        if (blockBreakHandler.canBreakBlock(player, event.getBlock())) {
-            blockBreakHandler.handleBlockBreak(player, event.getBlock())
-                .thenAccept(rewardHandler::giveReward);
+        if (!blockBreakHandler.canBreakBlock(player, event.getBlock())) {
+            return;
         }
+
+        // Drops go straight to the inventory instead of the ground
+        event.setDropItems(false);
+
+        double value = blockBreakHandler.handleBlockBreak(player, event.getBlock());
+        rewardHandler.handleReward(player, value);
+    }
+
+    @EventHandler
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        miningModule.loadPlayerStats(event.getPlayer());
+    }
+
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        miningModule.unloadPlayerStats(event.getPlayer().getUniqueId());
     }
 }
@@ -1,10 +1,12 @@
 package io.starseed.asteroidCore.modules.mining.listeners;
 
 import io.starseed.asteroidCore.AsteroidCore;
+import io.starseed.asteroidCore.models.PrivateMine;
 import io.starseed.asteroidCore.modules.mining.PrivateMineModule;
 import io.starseed.asteroidCore.modules.mining.handlers.PrivateMineHandler;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
@@ -23,6 +25,11 @@ public class PrivateMineListener implements Listener {
 
     @EventHandler
     public void onBlockBreak(BlockBreakEvent event) {
+        // Breaks outside mine worlds are none of our business
+        if (!handler.isMineWorld(event.getBlock().getWorld())) {
+            return;
+        }
+
         Player player = event.getPlayer();
         if (!handler.canMine(player, event.getBlock().getLocation())) {
             event.setCancelled(true);
@@ -30,20 +37,26 @@ public class PrivateMineListener implements Listener {
         }
     }
 
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBroken(BlockBreakEvent event) {
+        if (!handler.isMineWorld(event.getBlock().getWorld())) {
+            return;
+        }
+
+        PrivateMine mine = handler.getMineAtLocation(event.getBlock().getLocation());
+        if (mine != null && plugin.getRegenerationManager().recordBreak(mine.getRegionKey(), event.getBlock())) {
+            module.getRegenerationScheduler().onBlockMined(mine);
+        }
+    }
+
     @EventHandler
     public void onPlayerJoin(PlayerJoinEvent event) {
-        Player player = event.getPlayer();
-        plugin.getDatabaseManager().getPrivateMineDao().loadMine(player.getUniqueId())
-            .thenAccept(mine -> {
-                if (mine != null) {
-                    // Load mine data
-                    handler.getLoadedMines().put(player.getUniqueId(), mine);
-                }
-            });
+        module.getLifecycleManager().onJoin(event.getPlayer().getUniqueId());
     }
 
     @EventHandler
     public void onPlayerQuit(PlayerQuitEvent event) {
-        handler.unloadMine(event.getPlayer().getUniqueId());
+        // Unloaded once the grace period passes, unless the player is back by then
+        module.getLifecycleManager().onQuit(event.getPlayer().getUniqueId());
     }
 }
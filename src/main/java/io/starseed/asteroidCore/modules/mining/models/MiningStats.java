@@ -1,73 +1,194 @@
 package io.starseed.asteroidCore.modules.mining.models;
 
 import io.starseed.asteroidCore.models.PlayerStatistics;
+import org.bukkit.Material;
 
+import java.time.Instant;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Per-player mining counters. Updated from the break path and read concurrently by the
+ * stats flush, so every counter is a lock-free accumulator and block types are counted
+ * in an array indexed by Material ordinal instead of a map.
+ * The combined multiplier is kept precomputed and only rebuilt when a multiplier is
+ * added, removed or expires, so reading it on a break is a single volatile load.
+ */
 public class MiningStats {
+    private static final Material[] MATERIALS = Material.values();
+    private static final long NEVER = Long.MAX_VALUE;
+
     private final UUID playerUuid;
-    private long blocksBroken;
-    private double totalValue;
-    private double lastRewardThreshold;
-    private Map<String, Long> blockTypeCounts;
-    private Map<String, Double> multipliers;
+    private final LongAdder blocksBroken;
+    private final DoubleAdder totalValue;
+    private final AtomicLongArray blockTypeCounts;
+    private final Map<String, Multiplier> multipliers;
+    private volatile MultiplierState multiplierState;
+    private volatile double lastRewardThreshold;
+    // False until the stored totals have been added, so nothing saves or rewards a partial count
+    private volatile boolean loaded;
+
+    // Carried through unchanged so a snapshot does not reset them
+    private volatile long timePlayed;
+    private volatile long tokensEarned;
 
-    public static MiningStats fromPlayerStatistics(Optional<PlayerStatistics> stats) {
+    public static MiningStats fromPlayerStatistics(PlayerStatistics stats) {
         MiningStats miningStats = new MiningStats(stats.getPlayerUuid());
-        miningStats.blocksBroken = stats.getBlocksMined();
-        miningStats.totalValue = stats.getTotalValue();
-        // Convert other relevant statistics
+        miningStats.blocksBroken.add(stats.getBlocksMined());
+        miningStats.totalValue.add(stats.getMoneyEarned());
+        miningStats.timePlayed = stats.getTimePlayed();
+        miningStats.tokensEarned = stats.getTokensEarned();
         return miningStats;
     }
 
     public MiningStats(UUID playerUuid) {
         this.playerUuid = playerUuid;
-        this.blocksBroken = 0;
-        this.totalValue = 0.0;
+        this.blocksBroken = new LongAdder();
+        this.totalValue = new DoubleAdder();
+        this.blockTypeCounts = new AtomicLongArray(MATERIALS.length);
+        this.multipliers = new ConcurrentHashMap<>();
+        this.multiplierState = new MultiplierState(1.0, NEVER);
         this.lastRewardThreshold = 0.0;
-        this.blockTypeCounts = new HashMap<>();
-        this.multipliers = new HashMap<>();
     }
 
     public void incrementBlocksBroken() {
-        this.blocksBroken++;
+        blocksBroken.increment();
     }
 
-    public void incrementBlockType(String blockType) {
-        blockTypeCounts.merge(blockType, 1L, Long::sum);
+    public void incrementBlockType(Material blockType) {
+        blockTypeCounts.incrementAndGet(blockType.ordinal());
     }
 
     public void incrementTotalValue(double value) {
-        this.totalValue += value;
+        totalValue.add(value);
     }
 
     public void addMultiplier(String type, double value) {
-        multipliers.put(type, value);
+        multipliers.put(type, new Multiplier(value, NEVER));
+        recomputeMultiplier(System.currentTimeMillis());
+    }
+
+    /**
+     * Adds a multiplier that stops applying at the given time
+     * @param type The multiplier type; replaces any multiplier of the same type
+     * @param value The multiplier value
+     * @param expiresAt When the multiplier expires
+     */
+    public void addMultiplier(String type, double value, Instant expiresAt) {
+        multipliers.put(type, new Multiplier(value, expiresAt.toEpochMilli()));
+        recomputeMultiplier(System.currentTimeMillis());
+    }
+
+    public void removeMultiplier(String type) {
+        if (multipliers.remove(type) != null) {
+            recomputeMultiplier(System.currentTimeMillis());
+        }
     }
 
+    /**
+     * Gets the product of all active multipliers. Expired multipliers are removed by
+     * {@link #expireMultipliers(long)}, not here.
+     * @return The combined multiplier
+     */
     public double calculateTotalMultiplier() {
-        return multipliers.values().stream()
-                .reduce(1.0, (a, b) -> a * b);
+        return multiplierState.product();
+    }
+
+    /**
+     * Drops expired multipliers if any are due. Cheap when nothing has expired.
+     * @param now The current time in epoch milliseconds
+     */
+    public void expireMultipliers(long now) {
+        if (now >= multiplierState.nextExpiry()) {
+            recomputeMultiplier(now);
+        }
+    }
+
+    private synchronized void recomputeMultiplier(long now) {
+        double product = 1.0;
+        long nextExpiry = NEVER;
+
+        for (Map.Entry<String, Multiplier> entry : multipliers.entrySet()) {
+            Multiplier multiplier = entry.getValue();
+            if (multiplier.expiresAt() <= now) {
+                multipliers.remove(entry.getKey(), multiplier);
+                continue;
+            }
+            product *= multiplier.value();
+            nextExpiry = Math.min(nextExpiry, multiplier.expiresAt());
+        }
+
+        multiplierState = new MultiplierState(product, nextExpiry);
     }
 
+    /**
+     * Adds the persisted totals of another instance to this one. Used when stats loaded
+     * from the database arrive after the player already started mining.
+     * @param other The stats to add
+     */
+    public void addAll(MiningStats other) {
+        blocksBroken.add(other.blocksBroken.sum());
+        totalValue.add(other.totalValue.sum());
+        for (int i = 0; i < MATERIALS.length; i++) {
+            long count = other.blockTypeCounts.get(i);
+            if (count != 0) {
+                blockTypeCounts.addAndGet(i, count);
+            }
+        }
+        timePlayed = other.timePlayed;
+        tokensEarned = other.tokensEarned;
+        lastRewardThreshold = Math.max(lastRewardThreshold, other.lastRewardThreshold);
+    }
+
+    /**
+     * Takes a snapshot for persistence without blocking writers. Each counter is read
+     * exactly; a break landing mid-snapshot is picked up by the next flush.
+     * @return The statistics to persist
+     */
     public PlayerStatistics toPlayerStatistics() {
-        PlayerStatistics stats = new PlayerStatistics();
-        stats.setPlayerUuid(playerUuid);
-        stats.setBlocksMined(blocksBroken);
-        stats.setTotalValue(totalValue);
-        // Add other conversions as needed
-        return stats;
+        return new PlayerStatistics(
+                playerUuid,
+                blocksBroken.sum(),
+                timePlayed,
+                tokensEarned,
+                totalValue.sum()
+        );
     }
 
     // Getters and setters
     public UUID getPlayerUuid() { return playerUuid; }
-    public long getBlocksBroken() { return blocksBroken; }
-    public double getTotalValue() { return totalValue; }
+    public long getBlocksBroken() { return blocksBroken.sum(); }
+    public double getTotalValue() { return totalValue.sum(); }
     public double getLastRewardThreshold() { return lastRewardThreshold; }
+    public boolean isLoaded() { return loaded; }
+    public void markLoaded() { this.loaded = true; }
     public void setLastRewardThreshold(double lastRewardThreshold) { this.lastRewardThreshold = lastRewardThreshold; }
-    public Map<String, Long> getBlockTypeCounts() { return new HashMap<>(blockTypeCounts); }
-    public Map<String, Double> getMultipliers() { return new HashMap<>(multipliers); }
+    public long getBlockTypeCount(Material blockType) { return blockTypeCounts.get(blockType.ordinal()); }
+
+    public Map<String, Double> getMultipliers() {
+        Map<String, Double> values = new HashMap<>();
+        multipliers.forEach((type, multiplier) -> values.put(type, multiplier.value()));
+        return values;
+    }
+
+    public Map<Material, Long> getBlockTypeCounts() {
+        Map<Material, Long> counts = new EnumMap<>(Material.class);
+        for (int i = 0; i < MATERIALS.length; i++) {
+            long count = blockTypeCounts.get(i);
+            if (count != 0) {
+                counts.put(MATERIALS[i], count);
+            }
+        }
+        return counts;
+    }
+
+    private record Multiplier(double value, long expiresAt) {}
+
+    private record MultiplierState(double product, long nextExpiry) {}
 }
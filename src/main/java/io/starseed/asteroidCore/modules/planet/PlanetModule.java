@@ -9,10 +9,9 @@ import io.starseed.asteroidCore.modules.planet.handlers.SchematicHandler;
 import io.starseed.asteroidCore.modules.planet.handlers.StructureHandler;
 import io.starseed.asteroidCore.modules.planet.listeners.PlanetListener;
 import io.starseed.asteroidCore.modules.planet.models.PlanetStructure;
+import io.starseed.asteroidCore.world.Shape;
 import org.bukkit.Location;
-import org.bukkit.Material;
 import org.bukkit.World;
-import org.bukkit.block.Block;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 
@@ -23,7 +22,6 @@ import java.util.concurrent.ConcurrentHashMap;
 public class PlanetModule extends BaseModule {
     private final Map<Integer, Planet> loadedPlanets;
     private final Map<String, Map<String, Double>> defaultResourceRates;
-    private final Random random;
     private SchematicHandler schematicHandler;
     private StructureHandler structureHandler;
     private FileConfiguration config;
@@ -32,7 +30,6 @@ public class PlanetModule extends BaseModule {
         super(plugin);
         this.loadedPlanets = new ConcurrentHashMap<>();
         this.defaultResourceRates = new HashMap<>();
-        this.random = new Random();
     }
 
     @Override
@@ -42,7 +39,8 @@ public class PlanetModule extends BaseModule {
         this.config = moduleConfig.getConfig();
 
         // Initialize handlers
-        this.schematicHandler = new SchematicHandler(plugin);
+        this.schematicHandler = new SchematicHandler(plugin, config);
+        schematicHandler.loadSchematics();
         this.structureHandler = new StructureHandler(plugin, schematicHandler);
 
         // Load default resource rates
@@ -75,6 +73,7 @@ public class PlanetModule extends BaseModule {
         plugin.getConfigManager().getModuleConfig("planets").reload();
         this.config = plugin.getConfigManager().getModuleConfig("planets").getConfig();
         loadDefaultResourceRates();
+        schematicHandler.reloadSchematics();
     }
 
     private void loadDefaultResourceRates() {
@@ -154,66 +153,65 @@ public class PlanetModule extends BaseModule {
     }
 
     /**
-     * Regenerates a planet's resources
+     * Regenerates a planet's resources. Only mined blocks are restored unless enough of the
+     * planet was mined to warrant a fresh layout.
      * @param planet The planet to regenerate
      * @return CompletableFuture for completion
      */
     public CompletableFuture<Void> regeneratePlanet(Planet planet) {
-        return CompletableFuture.runAsync(() -> {
-            // Get the planet's world
-            World world = plugin.getServer().getWorld("planet_" + planet.getId());
-            if (world == null) return;
-
-            int size = planet.getSize();
-            Map<String, Double> rates = planet.getResourceRates();
-
-            // Calculate total weight
-            double totalWeight = rates.values().stream().mapToDouble(Double::doubleValue).sum();
-
-            // Regenerate blocks
-            for (int x = -size; x <= size; x++) {
-                for (int y = -size; y <= size; y++) {
-                    for (int z = -size; z <= size; z++) {
-                        if (x*x + y*y + z*z <= size*size) {
-                            Location loc = new Location(world, x, y, z);
-                            Block block = loc.getBlock();
-
-                            // Determine block type based on rates
-                            double rand = random.nextDouble() * totalWeight;
-                            double currentWeight = 0;
-
-                            for (Map.Entry<String, Double> entry : rates.entrySet()) {
-                                currentWeight += entry.getValue();
-                                if (rand <= currentWeight) {
-                                    block.setType(Material.valueOf(entry.getKey()));
-                                    break;
-                                }
-                            }
-                        }
-                    }
-                }
-            }
+        // Get the planet's world
+        World world = plugin.getServer().getWorld("planet_" + planet.getId());
+        if (world == null) {
+            return CompletableFuture.completedFuture(null);
+        }
 
-            // Update last regeneration time
-            planet.setLastRegeneration(java.time.Instant.now());
-            plugin.getDatabaseManager().getPlanetDao().savePlanet(planet);
-        });
+        return plugin.getRegenerationManager()
+                .regenerate(world.getName(), world, Shape.sphere(0, 0, 0, planet.getSize()),
+                        planet.getResourceDistribution(), planet.getLayoutSeed())
+                .thenCompose(v -> {
+                    // Update last regeneration time
+                    planet.setLastRegeneration(java.time.Instant.now());
+                    return plugin.getDatabaseManager().getPlanetDao().savePlanet(planet);
+                });
     }
 
+    /**
+     * Places a structure on a planet if it keeps clear of the planet's other structures
+     * @param planet The planet
+     * @param structureType The structure type
+     * @param location The paste location
+     * @param rotation Rotation in degrees
+     * @return CompletableFuture containing true if the structure was placed
+     */
     public CompletableFuture<Boolean> placeStructure(Planet planet, String structureType, Location location, int rotation) {
-        if (!structureHandler.canPlaceStructure(structureType, location, planet.getLevel())) {
-            return CompletableFuture.completedFuture(false);
-        }
-
-        return structureHandler.placeStructure(structureType, location, rotation)
-            .thenApply(success -> {
-                if (success) {
-                    // Add structure to planet's structure list
-                    PlanetStructure structure = new PlanetStructure(-1, planet.getOwner(), structureType, 
-                        "default", location);
-                    planet.addStructure(structure);
+        return structureHandler.reservePlacement(planet, structureType, location, rotation)
+            .thenCompose(reservation -> {
+                if (reservation == null) {
+                    return CompletableFuture.completedFuture(false);
                 }
-                return success;
+
+                return structureHandler.placeStructure(structureType, location, rotation)
+                    .thenCompose(success -> {
+                        if (!success) {
+                            return CompletableFuture.completedFuture(false);
+                        }
+
+                        // Add structure to planet's structure list
+                        PlanetStructure structure = new PlanetStructure(-1, planet.getOwner(), structureType,
+                            "default", location, reservation.getBounds());
+                        return plugin.getDatabaseManager().getPlanetStructureDao()
+                            .createStructure(planet.getId(), structure)
+                            .thenApply(created -> {
+                                planet.addStructure(created);
+                                return true;
+                            });
+                    })
+                    // Indexed by now if it was placed, so the space stays taken either way
+                    .whenComplete((placed, error) -> reservation.release());
             });
     }
+
+    public StructureHandler getStructureHandler() {
+        return structureHandler;
+    }
 }
@@ -4,13 +4,10 @@ import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import io.starseed.asteroidCore.AsteroidCore;
 import io.starseed.asteroidCore.models.Planet;
+import io.starseed.asteroidCore.world.Shape;
+import io.starseed.asteroidCore.world.VoidChunkGenerator;
 import org.bukkit.*;
-import org.bukkit.block.Block;
-import org.bukkit.generator.ChunkGenerator;
-import org.bukkit.generator.WorldInfo;
 
-import java.util.Map;
-import java.util.Random;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -28,32 +25,44 @@ public class PlanetWorldManager {
     }
 
     /**
-     * Generates a new world for a planet
+     * Generates a new world for a planet. The world is created on the main thread and the
+     * planet is then filled in through the block write queue.
      * @param planet The planet to generate a world for
-     * @return CompletableFuture for completion
+     * @return CompletableFuture completed once the planet has been fully generated
      */
     public CompletableFuture<World> generateWorld(Planet planet) {
-        return CompletableFuture.supplyAsync(() -> {
-            String worldName = "planet_" + planet.getId();
-            WorldCreator creator = new WorldCreator(worldName)
-                    .generator(new VoidChunkGenerator())
-                    .environment(World.Environment.NORMAL)
-                    .generateStructures(false);
-
-            // Create and load the world
-            World world = Bukkit.createWorld(creator);
-            if (world == null) {
-                throw new RuntimeException("Failed to create world for planet " + planet.getId());
-            }
+        CompletableFuture<World> created = new CompletableFuture<>();
+        Runnable createWorld = () -> {
+            try {
+                String worldName = "planet_" + planet.getId();
+                WorldCreator creator = new WorldCreator(worldName)
+                        .generator(new VoidChunkGenerator())
+                        .environment(World.Environment.NORMAL)
+                        .generateStructures(false);
+
+                // Create and load the world
+                World world = Bukkit.createWorld(creator);
+                if (world == null) {
+                    throw new RuntimeException("Failed to create world for planet " + planet.getId());
+                }
 
-            // Setup world
-            setupPlanetWorld(world);
+                // Setup world
+                setupPlanetWorld(world);
+                created.complete(world);
+            } catch (Exception e) {
+                created.completeExceptionally(e);
+            }
+        };
 
-            // Generate planet structure
-            generatePlanetStructure(world, planet);
+        // Worlds can only be created on the main thread
+        if (Bukkit.isPrimaryThread()) {
+            createWorld.run();
+        } else {
+            Bukkit.getScheduler().runTask(plugin, createWorld);
+        }
 
-            return world;
-        });
+        // Generate planet structure
+        return created.thenCompose(world -> generatePlanetStructure(world, planet).thenApply(v -> world));
     }
 
     /**
@@ -87,42 +96,17 @@ public class PlanetWorldManager {
      * Generates the physical planet structure
      * @param world The world to generate in
      * @param planet The planet configuration
+     * @return CompletableFuture completed on the main thread once the planet is generated
      */
-    private void generatePlanetStructure(World world, Planet planet) {
+    private CompletableFuture<Void> generatePlanetStructure(World world, Planet planet) {
         int size = planet.getSize();
-        Map<String, Double> rates = planet.getResourceRates();
-
-        // Calculate total weight for resource distribution
-        double totalWeight = rates.values().stream().mapToDouble(Double::doubleValue).sum();
-        Random random = new Random();
-
-        // Generate the sphere
-        for (int x = -size; x <= size; x++) {
-            for (int y = -size; y <= size; y++) {
-                for (int z = -size; z <= size; z++) {
-                    // Check if point is within sphere
-                    if (x*x + y*y + z*z <= size*size) {
-                        Location loc = new Location(world, x, y, z);
-                        Block block = loc.getBlock();
-
-                        // Determine block type based on rates
-                        double rand = random.nextDouble() * totalWeight;
-                        double currentWeight = 0;
-
-                        for (Map.Entry<String, Double> entry : rates.entrySet()) {
-                            currentWeight += entry.getValue();
-                            if (rand <= currentWeight) {
-                                block.setType(Material.valueOf(entry.getKey()));
-                                break;
-                            }
-                        }
-                    }
-                }
-            }
-        }
 
-        // Create spawn platform
-        generateSpawnPlatform(world, size);
+        // Compute the sphere off the main thread, then write it under the tick budget
+        return plugin.getRegenerationManager()
+                .regenerate(world.getName(), world, Shape.sphere(0, 0, 0, size),
+                        planet.getResourceDistribution(), planet.getLayoutSeed())
+                // Create spawn platform
+                .thenRun(() -> generateSpawnPlatform(world, size));
     }
 
     /**
@@ -166,49 +150,4 @@ public class PlanetWorldManager {
 
         return null;
     }
-
-    /**
-     * Custom void chunk generator for planet worlds
-     */
-    private static class VoidChunkGenerator extends ChunkGenerator {
-        @Override
-        public void generateNoise(WorldInfo worldInfo, Random random, int chunkX, int chunkZ, ChunkData chunkData) {
-            // Generate empty chunks
-        }
-
-        @Override
-        public void generateSurface(WorldInfo worldInfo, Random random, int chunkX, int chunkZ, ChunkData chunkData) {
-            // No surface generation
-        }
-
-        @Override
-        public void generateBedrock(WorldInfo worldInfo, Random random, int chunkX, int chunkZ, ChunkData chunkData) {
-            // No bedrock generation
-        }
-
-        @Override
-        public void generateCaves(WorldInfo worldInfo, Random random, int chunkX, int chunkZ, ChunkData chunkData) {
-            // No cave generation
-        }
-
-        @Override
-        public boolean shouldGenerateNoise() {
-            return false;
-        }
-
-        @Override
-        public boolean shouldGenerateSurface() {
-            return false;
-        }
-
-        @Override
-        public boolean shouldGenerateBedrock() {
-            return false;
-        }
-
-        @Override
-        public boolean shouldGenerateCaves() {
-            return false;
-        }
-    }
-}
\ No newline at end of file
+}
@@ -1,38 +1,86 @@
 package io.starseed.asteroidCore.modules.planet.handlers;
 
-
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.sk89q.worldedit.EditSession;
 import com.sk89q.worldedit.WorldEdit;
+import com.sk89q.worldedit.WorldEditException;
 import com.sk89q.worldedit.bukkit.BukkitAdapter;
 import com.sk89q.worldedit.extent.clipboard.Clipboard;
 import com.sk89q.worldedit.extent.clipboard.io.ClipboardFormat;
 import com.sk89q.worldedit.extent.clipboard.io.ClipboardFormats;
 import com.sk89q.worldedit.extent.clipboard.io.ClipboardReader;
 import com.sk89q.worldedit.function.operation.Operation;
+import com.sk89q.worldedit.extent.transform.BlockTransformExtent;
 import com.sk89q.worldedit.function.operation.Operations;
 import com.sk89q.worldedit.math.BlockVector3;
 import com.sk89q.worldedit.math.transform.AffineTransform;
 import com.sk89q.worldedit.session.ClipboardHolder;
+import com.sk89q.worldedit.world.block.BlockState;
 import io.starseed.asteroidCore.AsteroidCore;
+import io.starseed.asteroidCore.world.BlockTemplate;
+import io.starseed.asteroidCore.world.BlockWriteJob;
+import io.starseed.asteroidCore.world.BlockWriteQueue;
+import io.starseed.asteroidCore.world.TemplatePasteJob;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.util.BoundingBox;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+/**
+ * Indexes the schematics folder and loads clipboards on demand.
+ * Only the index, with each schematic's size and origin, is kept for every file. Clipboards
+ * are loaded in parallel when first pasted and kept in a cache bounded by their total
+ * block count, so rarely used schematics are dropped again.
+ * Without FAWE, quarter-turn pastes use a {@link BlockTemplate} per schematic and rotation,
+ * built once with every block already rotated, and are written through the block write queue.
+ */
 public class SchematicHandler {
     private final AsteroidCore plugin;
-    private final Map<String, Clipboard> schematicCache;
     private final File schematicFolder;
+    // Replaced as a whole on reload, so readers always see one consistent index
+    private volatile Map<String, SchematicFile> schematics;
+    // Keyed by file version, so a reload never serves a clipboard of a changed file
+    private final AsyncLoadingCache<SchematicFile, Clipboard> clipboards;
+    private final AsyncLoadingCache<TemplateKey, BlockTemplate> templates;
+    // FAWE pastes safely off the main thread and faster than a block-by-block writer
+    private final boolean fawe;
 
-    public SchematicHandler(AsteroidCore plugin) {
+    public SchematicHandler(AsteroidCore plugin, FileConfiguration config) {
         this.plugin = plugin;
-        this.schematicCache = new HashMap<>();
         this.schematicFolder = new File(plugin.getDataFolder(), "schematics");
+        this.schematics = Map.of();
+        this.fawe = plugin.getServer().getPluginManager().getPlugin("FastAsyncWorldEdit") != null;
+        if (fawe) {
+            plugin.getLogger().info("§b[Schematics] FastAsyncWorldEdit found, pasting through FAWE");
+        }
+        this.clipboards = Caffeine.newBuilder()
+                .maximumWeight(Math.max(1L, config.getLong("schematics.max_cached_blocks", 16_777_216L)))
+                .weigher((SchematicFile file, Clipboard clipboard) -> weigh(clipboard))
+                .expireAfterAccess(Math.max(1L, config.getLong("schematics.expire_after_access_minutes", 30L)), TimeUnit.MINUTES)
+                .buildAsync(this::readClipboard);
+        this.templates = Caffeine.newBuilder()
+                .maximumWeight(Math.max(1L, config.getLong("schematics.max_cached_template_blocks", 16_777_216L)))
+                .weigher((TemplateKey key, BlockTemplate template) -> weigh(template))
+                .expireAfterAccess(Math.max(1L, config.getLong("schematics.expire_after_access_minutes", 30L)), TimeUnit.MINUTES)
+                .buildAsync((key, executor) -> clipboards.get(key.file()).thenApplyAsync(
+                        clipboard -> createTemplate(clipboard, key.quarterTurns(), key.ignoreAir()), executor));
 
         if (!schematicFolder.exists()) {
             schematicFolder.mkdirs();
@@ -45,120 +93,382 @@ public class SchematicHandler {
     }
 
     /**
-     * Loads all schematics from the schematics folder into memory
+     * Indexes the schematics folder, reading every header in parallel. Clipboards are
+     * loaded later, when first used.
      */
     public void loadSchematics() {
+        long start = System.currentTimeMillis();
         File[] files = schematicFolder.listFiles((dir, name) ->
                 name.endsWith(".schem") || name.endsWith(".schematic"));
 
-        if (files != null) {
-            for (File file : files) {
-                try {
-                    ClipboardFormat format = ClipboardFormats.findByFile(file);
-                    if (format != null) {
-                        try (ClipboardReader reader = format.getReader(new FileInputStream(file))) {
-                            Clipboard clipboard = reader.read();
-                            schematicCache.put(file.getName(), clipboard);
-                            plugin.getLogger().info("§a[Schematics] Loaded: " + file.getName());
+        Map<String, SchematicFile> indexed = files == null ? Map.of() : Arrays.stream(files)
+                .parallel()
+                .map(this::indexFile)
+                .collect(Collectors.toUnmodifiableMap(SchematicFile::name, Function.identity()));
+
+        Map<String, SchematicFile> previous = schematics;
+        schematics = indexed;
+
+        // Clipboards and templates of changed or deleted files can never be requested again
+        List<SchematicFile> stale = previous.values().stream()
+                .filter(file -> !file.equals(indexed.get(file.name())))
+                .toList();
+        clipboards.synchronous().invalidateAll(stale);
+        templates.synchronous().asMap().keySet().removeIf(key -> stale.contains(key.file()));
+
+        plugin.getLogger().info("§b[Schematics] Indexed " + indexed.size() + " schematics in "
+                + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    private SchematicFile indexFile(File file) {
+        SchematicMetadata metadata = null;
+        try {
+            metadata = SchematicMetadata.read(file);
+        } catch (IOException e) {
+            plugin.getLogger().warning("§e[Schematics] Failed to read header of " + file.getName()
+                    + ", size is known once loaded: " + e.getMessage());
+        }
+        return new SchematicFile(file.getName(), file, file.lastModified(), file.length(), metadata);
+    }
+
+    private Clipboard readClipboard(SchematicFile schematic) throws IOException {
+        ClipboardFormat format = ClipboardFormats.findByFile(schematic.file());
+        if (format == null) {
+            throw new IOException("Unknown schematic format: " + schematic.name());
+        }
+
+        try (ClipboardReader reader = format.getReader(new FileInputStream(schematic.file()))) {
+            Clipboard clipboard = reader.read();
+            plugin.getLogger().info("§a[Schematics] Loaded: " + schematic.name());
+            return clipboard;
+        }
+    }
+
+    private static int weigh(BlockTemplate template) {
+        long volume = (long) template.getSizeX() * template.getSizeY() * template.getSizeZ();
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(1L, volume));
+    }
+
+    private static int weigh(Clipboard clipboard) {
+        BlockVector3 dimensions = clipboard.getDimensions();
+        long volume = (long) dimensions.getX() * dimensions.getY() * dimensions.getZ();
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(1L, volume));
+    }
+
+    /**
+     * Gets a schematic's clipboard, loading it if it is not cached
+     * @param schematicName Name of the schematic file
+     * @return CompletableFuture containing the clipboard, or null if there is no such schematic
+     */
+    public CompletableFuture<Clipboard> getClipboard(String schematicName) {
+        SchematicFile schematic = schematics.get(schematicName);
+        if (schematic == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return clipboards.get(schematic);
+    }
+
+    /**
+     * Gets a schematic in one of its quarter-turn rotations, building it if it is not cached
+     * @param schematicName Name of the schematic file
+     * @param rotation Rotation in degrees, a multiple of 90
+     * @param ignoreAir Whether air blocks are left out
+     * @return CompletableFuture containing the template, or null if there is no such schematic
+     */
+    public CompletableFuture<BlockTemplate> getTemplate(String schematicName, int rotation, boolean ignoreAir) {
+        SchematicFile schematic = schematics.get(schematicName);
+        if (schematic == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return templates.get(new TemplateKey(schematic, Math.floorMod(rotation, 360) / 90, ignoreAir));
+    }
+
+    /**
+     * Converts a clipboard into a template, rotating positions and block states once so
+     * pastes only copy entries
+     */
+    private BlockTemplate createTemplate(Clipboard clipboard, int quarterTurns, boolean ignoreAir) {
+        BlockVector3 min = clipboard.getRegion().getMinimumPoint();
+        BlockVector3 max = clipboard.getRegion().getMaximumPoint();
+        BlockVector3 origin = clipboard.getOrigin();
+        AffineTransform transform = new AffineTransform().rotateY(quarterTurns * 90);
+
+        // Same rotation as AffineTransform.rotateY: x' = cos * x + sin * z, z' = cos * z - sin * x
+        int cos = quarterTurns == 0 ? 1 : quarterTurns == 2 ? -1 : 0;
+        int sin = quarterTurns == 1 ? 1 : quarterTurns == 3 ? -1 : 0;
+        int ax = min.getX() - origin.getX(), az = min.getZ() - origin.getZ();
+        int bx = max.getX() - origin.getX(), bz = max.getZ() - origin.getZ();
+        int offsetX = Math.min(cos * ax + sin * az, cos * bx + sin * bz);
+        int offsetZ = Math.min(cos * az - sin * ax, cos * bz - sin * bx);
+        int sizeX = Math.abs((cos * ax + sin * az) - (cos * bx + sin * bz)) + 1;
+        int sizeZ = Math.abs((cos * az - sin * ax) - (cos * bz - sin * bx)) + 1;
+        int sizeY = max.getY() - min.getY() + 1;
+
+        Map<BlockState, Integer> paletteIndex = new HashMap<>();
+        List<BlockData> palette = new ArrayList<>();
+        short[] entries = new short[sizeX * sizeY * sizeZ];
+
+        for (int y = min.getY(); y <= max.getY(); y++) {
+            for (int z = min.getZ(); z <= max.getZ(); z++) {
+                for (int x = min.getX(); x <= max.getX(); x++) {
+                    BlockState state = clipboard.getBlock(BlockVector3.at(x, y, z));
+                    if (ignoreAir && state.getBlockType().getMaterial().isAir()) {
+                        continue;
+                    }
+
+                    Integer entry = paletteIndex.get(state);
+                    if (entry == null) {
+                        if (palette.size() >= BlockTemplate.MAX_PALETTE_SIZE) {
+                            throw new IllegalStateException("Schematic has more than "
+                                    + BlockTemplate.MAX_PALETTE_SIZE + " distinct blocks");
                         }
+                        palette.add(BukkitAdapter.adapt(BlockTransformExtent.transform(state, transform)));
+                        entry = palette.size();
+                        paletteIndex.put(state, entry);
                     }
-                } catch (Exception e) {
-                    plugin.getLogger().warning("§c[Schematics] Failed to load: " + file.getName());
-                    e.printStackTrace();
+
+                    int relX = x - origin.getX();
+                    int relZ = z - origin.getZ();
+                    int rotatedX = cos * relX + sin * relZ - offsetX;
+                    int rotatedZ = cos * relZ - sin * relX - offsetZ;
+                    entries[((y - min.getY()) * sizeZ + rotatedZ) * sizeX + rotatedX] = (short) (int) entry;
                 }
             }
         }
+
+        return new BlockTemplate(palette.toArray(new BlockData[0]), entries,
+                offsetX, min.getY() - origin.getY(), offsetZ, sizeX, sizeY, sizeZ);
+    }
+
+    /**
+     * Pastes a schematic as background work
+     * @param schematicName Name of the schematic file
+     * @param location Location to paste at
+     * @param rotation Rotation in degrees
+     * @param ignoreAir Whether to ignore air blocks
+     * @return The paste, completed with true once the schematic has been pasted
+     */
+    public SchematicPaste pasteSchematic(String schematicName, Location location, int rotation, boolean ignoreAir) {
+        return pasteSchematic(schematicName, location, rotation, ignoreAir, BlockWriteQueue.Priority.BACKGROUND);
     }
 
     /**
-     * Pastes a schematic asynchronously
+     * Pastes a schematic. With FAWE installed the paste is handed to FAWE, which writes
+     * off the main thread. Otherwise quarter-turn rotations are written from a cached
+     * template under the block write queue's per-tick budget, and other angles are pasted
+     * by WorldEdit on the main thread in one go.
      * @param schematicName Name of the schematic file
      * @param location Location to paste at
      * @param rotation Rotation in degrees
      * @param ignoreAir Whether to ignore air blocks
-     * @return CompletableFuture that completes when the operation is done
+     * @param priority Whether a player is waiting for the paste
+     * @return The paste, completed with true once the schematic has been pasted
      */
-    public CompletableFuture<Boolean> pasteSchematic(String schematicName, Location location, int rotation, boolean ignoreAir) {
-        CompletableFuture<Boolean> future = new CompletableFuture<>();
+    public SchematicPaste pasteSchematic(String schematicName, Location location, int rotation, boolean ignoreAir,
+                                         BlockWriteQueue.Priority priority) {
+        SchematicPaste paste = new SchematicPaste(schematicName, priority);
+        World world = location.getWorld();
+        if (world == null) {
+            paste.complete(false);
+            return paste;
+        }
 
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            try {
-                Clipboard clipboard = schematicCache.get(schematicName);
+        CompletableFuture<Boolean> result;
+        if (fawe) {
+            result = getClipboard(schematicName).thenApplyAsync(clipboard -> {
                 if (clipboard == null) {
-                    plugin.getLogger().warning("§c[Schematics] Schematic not found: " + schematicName);
-                    future.complete(false);
-                    return;
+                    return false;
                 }
-
-                World world = location.getWorld();
-                if (world == null) {
-                    future.complete(false);
-                    return;
+                paste.markStarted();
+                pasteWithWorldEdit(clipboard, world, location, rotation, ignoreAir);
+                return true;
+            }, task -> Bukkit.getScheduler().runTaskAsynchronously(plugin, task));
+        } else if (rotation % 90 == 0) {
+            result = getTemplate(schematicName, rotation, ignoreAir).thenCompose(template -> {
+                if (template == null) {
+                    return CompletableFuture.completedFuture(false);
                 }
+                BlockWriteJob job = new TemplatePasteJob(world, template,
+                        location.getBlockX(), location.getBlockY(), location.getBlockZ());
+                return plugin.getBlockWriteQueue().submit(paste.track(job), priority).thenApply(v -> true);
+            });
+        } else {
+            result = getClipboard(schematicName).thenCompose(clipboard -> {
+                if (clipboard == null) {
+                    return CompletableFuture.completedFuture(false);
+                }
+                // Plain WorldEdit must run on the main thread and cannot stop part way
+                BlockWriteJob job = budget -> {
+                    pasteWithWorldEdit(clipboard, world, location, rotation, ignoreAir);
+                    return true;
+                };
+                return plugin.getBlockWriteQueue().submit(paste.track(job), priority).thenApply(v -> true);
+            });
+        }
 
-                // Create transform for rotation
-                AffineTransform transform = new AffineTransform();
-                transform = transform.rotateY(rotation);
-
-                // Create edit session with FAWE
-                try (EditSession editSession = WorldEdit.getInstance().newEditSession(BukkitAdapter.adapt(world))) {
-                    ClipboardHolder holder = new ClipboardHolder(clipboard);
-                    holder.setTransform(transform);
+        result.whenComplete((pasted, throwable) -> {
+            if (throwable != null) {
+                plugin.getLogger().warning("§c[Schematics] Failed to paste " + schematicName + ": " + throwable.getMessage());
+            } else if (!pasted) {
+                plugin.getLogger().warning("§c[Schematics] Schematic not found: " + schematicName);
+            }
+            paste.complete(throwable == null && pasted);
+        });
+        return paste;
+    }
 
-                    Operation operation = holder
-                            .createPaste(editSession)
-                            .to(BlockVector3.at(location.getX(), location.getY(), location.getZ()))
-                            .ignoreAirBlocks(ignoreAir)
-                            .build();
+    private void pasteWithWorldEdit(Clipboard clipboard, World world, Location location, int rotation, boolean ignoreAir) {
+        // Create transform for rotation
+        AffineTransform transform = new AffineTransform();
+        transform = transform.rotateY(rotation);
 
-                    Operations.complete(operation);
+        try (EditSession editSession = WorldEdit.getInstance().newEditSession(BukkitAdapter.adapt(world))) {
+            ClipboardHolder holder = new ClipboardHolder(clipboard);
+            holder.setTransform(transform);
 
-                    future.complete(true);
-                }
-            } catch (Exception e) {
-                plugin.getLogger().warning("§c[Schematics] Failed to paste: " + schematicName);
-                e.printStackTrace();
-                future.complete(false);
-            }
-        });
+            Operation operation = holder
+                    .createPaste(editSession)
+                    .to(BlockVector3.at(location.getX(), location.getY(), location.getZ()))
+                    .ignoreAirBlocks(ignoreAir)
+                    .build();
 
-        return future;
+            Operations.complete(operation);
+        } catch (WorldEditException e) {
+            throw new IllegalStateException("WorldEdit paste failed", e);
+        }
     }
 
     /**
-     * Gets the dimensions of a loaded schematic
+     * Gets the dimensions of a schematic, without loading it
      * @param schematicName Name of the schematic
      * @return BlockVector3 containing dimensions, or null if not found
      */
     public BlockVector3 getSchematicDimensions(String schematicName) {
-        Clipboard clipboard = schematicCache.get(schematicName);
-        return clipboard != null ? clipboard.getDimensions() : null;
+        SchematicMetadata metadata = getMetadata(schematicName);
+        return metadata != null ? metadata.dimensions() : null;
+    }
+
+    /**
+     * Gets the blocks a paste would cover, without loading the schematic. Quarter turns
+     * match the template pastes exactly; other angles give the box around the rotated
+     * footprint.
+     * @param schematicName Name of the schematic
+     * @param location Paste location
+     * @param rotation Rotation in degrees
+     * @return The covered box, or null if the schematic's size is unknown
+     */
+    @Nullable
+    public BoundingBox getPasteBounds(String schematicName, Location location, int rotation) {
+        SchematicMetadata metadata = getMetadata(schematicName);
+        if (metadata == null) {
+            return null;
+        }
+
+        BlockVector3 min = metadata.getMinimumOffset();
+        BlockVector3 max = min.add(metadata.dimensions()).subtract(1, 1, 1);
+        double minX, minZ, maxX, maxZ;
+
+        if (rotation % 90 == 0) {
+            // Same rotation as the templates, kept in integers
+            int quarterTurns = Math.floorMod(rotation, 360) / 90;
+            int cos = quarterTurns == 0 ? 1 : quarterTurns == 2 ? -1 : 0;
+            int sin = quarterTurns == 1 ? 1 : quarterTurns == 3 ? -1 : 0;
+            int ax = cos * min.getX() + sin * min.getZ(), az = cos * min.getZ() - sin * min.getX();
+            int bx = cos * max.getX() + sin * max.getZ(), bz = cos * max.getZ() - sin * max.getX();
+            minX = Math.min(ax, bx);
+            minZ = Math.min(az, bz);
+            maxX = Math.max(ax, bx) + 1;
+            maxZ = Math.max(az, bz) + 1;
+        } else {
+            double radians = Math.toRadians(rotation);
+            double cos = Math.cos(radians), sin = Math.sin(radians);
+            minX = minZ = Double.POSITIVE_INFINITY;
+            maxX = maxZ = Double.NEGATIVE_INFINITY;
+            // Outer edges of the footprint's corner blocks
+            for (int x : new int[] {min.getX(), max.getX() + 1}) {
+                for (int z : new int[] {min.getZ(), max.getZ() + 1}) {
+                    double rotatedX = cos * x + sin * z;
+                    double rotatedZ = cos * z - sin * x;
+                    minX = Math.min(minX, rotatedX);
+                    minZ = Math.min(minZ, rotatedZ);
+                    maxX = Math.max(maxX, rotatedX);
+                    maxZ = Math.max(maxZ, rotatedZ);
+                }
+            }
+            minX = Math.floor(minX);
+            minZ = Math.floor(minZ);
+            maxX = Math.ceil(maxX);
+            maxZ = Math.ceil(maxZ);
+        }
+
+        int baseX = location.getBlockX(), baseY = location.getBlockY(), baseZ = location.getBlockZ();
+        return new BoundingBox(baseX + minX, baseY + min.getY(), baseZ + minZ,
+                baseX + maxX, baseY + max.getY() + 1, baseZ + maxZ);
     }
 
     /**
-     * Checks if a schematic is loaded
+     * Checks if a schematic exists in the schematics folder
      * @param schematicName Name of the schematic
-     * @return true if loaded
+     * @return true if indexed
      */
     public boolean isSchematicLoaded(String schematicName) {
-        return schematicCache.containsKey(schematicName);
+        return schematics.containsKey(schematicName);
     }
 
     /**
-     * Reloads all schematics from disk
+     * Re-indexes the schematics folder. Pastes already running keep the clipboard they
+     * started with, and changed files are read again when next used.
      */
     public void reloadSchematics() {
-        schematicCache.clear();
         loadSchematics();
     }
 
     /**
-     * Gets the center point offset of a schematic
+     * Gets the origin of a schematic, without loading it
      * @param schematicName Name of the schematic
-     * @return BlockVector3 containing the offset, or null if not found
+     * @return BlockVector3 containing the origin, or null if not found
      */
     public BlockVector3 getSchematicOffset(String schematicName) {
-        Clipboard clipboard = schematicCache.get(schematicName);
-        return clipboard != null ? clipboard.getOrigin() : null;
+        SchematicMetadata metadata = getMetadata(schematicName);
+        return metadata != null ? metadata.origin() : null;
+    }
+
+    /**
+     * Gets a schematic's size and origin. Headers that could not be read are filled in
+     * from the clipboard once it has been loaded.
+     * @param schematicName Name of the schematic
+     * @return The metadata, or null if unknown
+     */
+    private SchematicMetadata getMetadata(String schematicName) {
+        SchematicFile schematic = schematics.get(schematicName);
+        if (schematic == null) {
+            return null;
+        }
+        if (schematic.metadata() != null) {
+            return schematic.metadata();
+        }
+
+        CompletableFuture<Clipboard> cached = clipboards.getIfPresent(schematic);
+        Clipboard clipboard = cached != null ? cached.getNow(null) : null;
+        return clipboard != null
+                ? new SchematicMetadata(clipboard.getDimensions(), clipboard.getOrigin(), clipboard.getMinimumPoint())
+                : null;
     }
-}
\ No newline at end of file
+
+    /**
+     * Gets schematic cache statistics
+     * @return A string containing index and cache statistics
+     */
+    public String getStatistics() {
+        long cachedBlocks = clipboards.synchronous().policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+        return String.format("Schematics - Indexed: %d, Cached: %d, Cached blocks: %d",
+                schematics.size(), clipboards.synchronous().estimatedSize(), cachedBlocks);
+    }
+
+    private record TemplateKey(SchematicFile file, int quarterTurns, boolean ignoreAir) {}
+
+    private record SchematicFile(String name, File file, long lastModified, long size,
+                                 SchematicMetadata metadata) {}
+}
@@ -0,0 +1,165 @@
+package io.starseed.asteroidCore.modules.planet.handlers;
+
+import com.sk89q.worldedit.math.BlockVector3;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Size, origin and minimum corner of a schematic, read from its NBT header.
+ * The origin and minimum corner are in the schematic's own coordinates; a paste puts the
+ * origin at the paste position.
+ * The file is streamed and block data is skipped rather than decoded, so this is much
+ * cheaper than reading the clipboard and keeps nothing but a few numbers in memory.
+ * Handles Sponge (.schem) and legacy MCEdit (.schematic) files.
+ */
+public record SchematicMetadata(BlockVector3 dimensions, BlockVector3 origin, BlockVector3 minimum) {
+    private static final int TAG_END = 0;
+    private static final int TAG_BYTE = 1;
+    private static final int TAG_SHORT = 2;
+    private static final int TAG_INT = 3;
+    private static final int TAG_LONG = 4;
+    private static final int TAG_FLOAT = 5;
+    private static final int TAG_DOUBLE = 6;
+    private static final int TAG_BYTE_ARRAY = 7;
+    private static final int TAG_STRING = 8;
+    private static final int TAG_LIST = 9;
+    private static final int TAG_COMPOUND = 10;
+    private static final int TAG_INT_ARRAY = 11;
+    private static final int TAG_LONG_ARRAY = 12;
+
+    // Header fields sit in the root compound, or one level down in newer formats
+    private static final int MAX_HEADER_DEPTH = 3;
+
+    /**
+     * Gets the number of blocks the schematic spans
+     * @return Width times height times length
+     */
+    public long getVolume() {
+        return (long) dimensions.getX() * dimensions.getY() * dimensions.getZ();
+    }
+
+    /**
+     * Gets the minimum corner relative to the origin, i.e. relative to the paste position
+     * before rotation
+     * @return Minimum corner minus origin
+     */
+    public BlockVector3 getMinimumOffset() {
+        return minimum.subtract(origin);
+    }
+
+    /**
+     * Reads the metadata of a schematic file
+     * @param file The schematic file
+     * @return The metadata, or null if the header lacks the schematic's size
+     * @throws IOException if the file cannot be read
+     */
+    @Nullable
+    public static SchematicMetadata read(File file) throws IOException {
+        Map<String, Object> header = new HashMap<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(new FileInputStream(file))))) {
+            if (in.readByte() != TAG_COMPOUND) {
+                return null;
+            }
+            in.readUTF();
+            readCompound(in, header, 0);
+        }
+
+        Integer width = (Integer) header.get("Width");
+        Integer height = (Integer) header.get("Height");
+        Integer length = (Integer) header.get("Length");
+        if (width == null || height == null || length == null) {
+            return null;
+        }
+
+        BlockVector3 origin;
+        BlockVector3 min;
+        if (header.containsKey("WEOriginX")) {
+            // MCEdit format, written by WorldEdit: the offset is the minimum point relative to the origin
+            origin = vector(header, "WEOriginX", "WEOriginY", "WEOriginZ");
+            min = origin.add(vector(header, "WEOffsetX", "WEOffsetY", "WEOffsetZ"));
+        } else {
+            // Sponge format: the stored offset is the minimum point, WorldEdit's offset is relative to the origin
+            int[] offset = (int[]) header.getOrDefault("Offset", new int[3]);
+            min = BlockVector3.at(offset[0], offset[1], offset[2]);
+            origin = header.containsKey("WEOffsetX")
+                    ? min.subtract(vector(header, "WEOffsetX", "WEOffsetY", "WEOffsetZ"))
+                    : min;
+        }
+        return new SchematicMetadata(BlockVector3.at(width, height, length), origin, min);
+    }
+
+    private static BlockVector3 vector(Map<String, Object> header, String x, String y, String z) {
+        return BlockVector3.at(
+                (Integer) header.getOrDefault(x, 0),
+                (Integer) header.getOrDefault(y, 0),
+                (Integer) header.getOrDefault(z, 0));
+    }
+
+    private static void readCompound(DataInputStream in, Map<String, Object> header, int depth) throws IOException {
+        while (true) {
+            int type = in.readByte();
+            if (type == TAG_END) {
+                return;
+            }
+            String name = in.readUTF();
+
+            if (type == TAG_SHORT && isSize(name)) {
+                // Sizes are stored as unsigned shorts
+                header.putIfAbsent(name, in.readShort() & 0xFFFF);
+            } else if (type == TAG_INT && name.startsWith("WE")) {
+                header.putIfAbsent(name, in.readInt());
+            } else if (type == TAG_INT_ARRAY && name.equals("Offset")) {
+                int[] values = new int[in.readInt()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = in.readInt();
+                }
+                header.putIfAbsent(name, values.length == 3 ? values : new int[3]);
+            } else if (type == TAG_COMPOUND && depth < MAX_HEADER_DEPTH) {
+                readCompound(in, header, depth + 1);
+            } else {
+                skipPayload(in, type);
+            }
+        }
+    }
+
+    private static boolean isSize(String name) {
+        return name.equals("Width") || name.equals("Height") || name.equals("Length");
+    }
+
+    private static void skipPayload(DataInputStream in, int type) throws IOException {
+        switch (type) {
+            case TAG_BYTE -> in.skipNBytes(1);
+            case TAG_SHORT -> in.skipNBytes(2);
+            case TAG_INT, TAG_FLOAT -> in.skipNBytes(4);
+            case TAG_LONG, TAG_DOUBLE -> in.skipNBytes(8);
+            case TAG_BYTE_ARRAY -> in.skipNBytes(in.readInt());
+            case TAG_STRING -> in.skipNBytes(in.readUnsignedShort());
+            case TAG_INT_ARRAY -> in.skipNBytes(4L * in.readInt());
+            case TAG_LONG_ARRAY -> in.skipNBytes(8L * in.readInt());
+            case TAG_LIST -> {
+                int elementType = in.readByte();
+                int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    skipPayload(in, elementType);
+                }
+            }
+            case TAG_COMPOUND -> {
+                int child;
+                while ((child = in.readByte()) != TAG_END) {
+                    in.skipNBytes(in.readUnsignedShort());
+                    skipPayload(in, child);
+                }
+            }
+            default -> throw new IOException("Unknown NBT tag type " + type);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package io.starseed.asteroidCore.modules.planet.handlers;
+
+import io.starseed.asteroidCore.world.BlockWriteJob;
+import io.starseed.asteroidCore.world.BlockWriteQueue;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A pending schematic paste. Completes with true once the schematic has been pasted, or
+ * false if it could not be, and reports its progress while it runs.
+ */
+public class SchematicPaste extends CompletableFuture<Boolean> {
+    private final String schematicName;
+    private final BlockWriteQueue.Priority priority;
+    private final long submittedAt;
+    private volatile long startedAt;
+    private volatile BlockWriteJob job;
+
+    SchematicPaste(String schematicName, BlockWriteQueue.Priority priority) {
+        this.schematicName = schematicName;
+        this.priority = priority;
+        this.submittedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Wraps the job doing the paste, so its progress is reported here
+     * @param job The job
+     * @return The job to submit
+     */
+    BlockWriteJob track(BlockWriteJob job) {
+        this.job = job;
+        return budget -> {
+            if (startedAt == 0) {
+                startedAt = System.currentTimeMillis();
+            }
+            return job.step(budget);
+        };
+    }
+
+    /**
+     * Marks a paste that does not run as a job, e.g. through FAWE, as started
+     */
+    void markStarted() {
+        startedAt = System.currentTimeMillis();
+    }
+
+    public String getSchematicName() { return schematicName; }
+    public BlockWriteQueue.Priority getPriority() { return priority; }
+
+    /**
+     * Gets how much of the schematic has been pasted
+     * @return A fraction from 0 to 1
+     */
+    public double getProgress() {
+        if (isDone()) {
+            return 1.0;
+        }
+        BlockWriteJob current = job;
+        return current != null ? Math.min(1.0, current.getProgress()) : 0.0;
+    }
+
+    /**
+     * Estimates the time until the paste completes from its rate so far
+     * @return Milliseconds remaining, or -1 while there is too little progress to tell
+     */
+    public long getEstimatedRemainingMillis() {
+        if (isDone()) {
+            return 0L;
+        }
+        double progress = getProgress();
+        long started = startedAt;
+        if (started == 0 || progress <= 0.0) {
+            return -1L;
+        }
+        long elapsed = System.currentTimeMillis() - started;
+        return (long) (elapsed * (1.0 - progress) / progress);
+    }
+
+    /**
+     * Gets the time spent waiting in the queue before the paste started
+     * @return Milliseconds queued, up to now if not yet started
+     */
+    public long getQueuedMillis() {
+        long started = startedAt;
+        return (started == 0 ? System.currentTimeMillis() : started) - submittedAt;
+    }
+}
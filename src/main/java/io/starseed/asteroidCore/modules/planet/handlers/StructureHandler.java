@@ -1,29 +1,41 @@
 package io.starseed.asteroidCore.modules.planet.handlers;
 
 import io.starseed.asteroidCore.AsteroidCore;
+import io.starseed.asteroidCore.database.dao.PlanetStructureDao;
+import io.starseed.asteroidCore.models.Planet;
 import io.starseed.asteroidCore.modules.planet.models.PlanetStructure;
+import io.starseed.asteroidCore.modules.planet.models.StructureIndex;
+import io.starseed.asteroidCore.world.BlockWriteQueue;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.util.BoundingBox;
 
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class StructureHandler {
     private final AsteroidCore plugin;
     private final SchematicHandler schematicHandler;
     private final Map<String, StructureTemplate> structureTemplates;
+    // Planet ID -> index being loaded, so concurrent lookups share one load
+    private final Map<Integer, CompletableFuture<StructureIndex>> indexLoads;
+    private double minSpacing;
 
     public StructureHandler(AsteroidCore plugin, SchematicHandler schematicHandler) {
         this.plugin = plugin;
         this.schematicHandler = schematicHandler;
         this.structureTemplates = new HashMap<>();
+        this.indexLoads = new ConcurrentHashMap<>();
         loadStructureTemplates();
     }
 
     private void loadStructureTemplates() {
         FileConfiguration config = plugin.getConfigManager().getModuleConfig("structures").getConfig();
+        this.minSpacing = config.getDouble("placement.min_spacing", 10.0);
         ConfigurationSection structures = config.getConfigurationSection("structures");
         
         if (structures != null) {
@@ -59,23 +71,90 @@ public class StructureHandler {
             return CompletableFuture.completedFuture(false);
         }
 
-        return schematicHandler.pasteSchematic(template.getSchematicName(), location, rotation, true);
+        return schematicHandler.pasteSchematic(template.getSchematicName(), location, rotation, true,
+                BlockWriteQueue.Priority.PLAYER);
     }
 
-    public boolean canPlaceStructure(String structureType, Location location, int planetLevel) {
+    /**
+     * Checks if a structure may be placed and, if so, holds its space on the planet until
+     * the reservation is released
+     * @param planet The planet
+     * @param structureType The structure type
+     * @param location The paste location
+     * @param rotation Rotation in degrees
+     * @return CompletableFuture containing the reservation, or null if the structure may not be placed
+     */
+    public CompletableFuture<StructureIndex.Reservation> reservePlacement(Planet planet, String structureType,
+                                                                          Location location, int rotation) {
         StructureTemplate template = structureTemplates.get(structureType);
-        if (template == null || template.getLevelRequirement() > planetLevel) {
-            return false;
+        if (template == null || template.getLevelRequirement() > planet.getLevel()) {
+            return CompletableFuture.completedFuture(null);
         }
 
-        // Check for nearby structures
-        return !hasNearbyStructures(location, 10); // 10 block radius
+        BoundingBox bounds = getStructureBounds(structureType, location, rotation);
+        return getStructureIndex(planet).thenApply(index -> index.reserve(bounds, minSpacing));
     }
 
-    private boolean hasNearbyStructures(Location location, int radius) {
-        // Implementation for checking nearby structures
-        // This would typically query from a database or cache of placed structures
-        return false; // Placeholder
+    /**
+     * Gets the box a structure would take up once pasted, from the schematic's size and
+     * origin and the same rotation the paste uses
+     * @param structureType The structure type
+     * @param location The paste location
+     * @param rotation Rotation in degrees
+     * @return The bounding box, or the paste block alone if the schematic's size is unknown
+     */
+    public BoundingBox getStructureBounds(String structureType, Location location, int rotation) {
+        StructureTemplate template = structureTemplates.get(structureType);
+        BoundingBox bounds = template != null
+                ? schematicHandler.getPasteBounds(template.getSchematicName(), location, rotation)
+                : null;
+        return bounds != null ? bounds : PlanetStructure.blockBounds(location);
+    }
+
+    /**
+     * Gets a planet's structure index, loading it from the database on first use
+     * @param planet The planet
+     * @return CompletableFuture containing the planet's structure index
+     */
+    public CompletableFuture<StructureIndex> getStructureIndex(Planet planet) {
+        StructureIndex loaded = planet.getStructureIndex();
+        if (loaded != null) {
+            return CompletableFuture.completedFuture(loaded);
+        }
+
+        // Registered before the load starts: a load that fails at once completes its cleanup
+        // immediately, which must not run inside the map's own update
+        CompletableFuture<StructureIndex> load = new CompletableFuture<>();
+        CompletableFuture<StructureIndex> running = indexLoads.putIfAbsent(planet.getId(), load);
+        if (running != null) {
+            return running;
+        }
+
+        loadStructureIndex(planet).whenComplete((index, error) -> {
+            indexLoads.remove(planet.getId(), load);
+            if (error != null) {
+                plugin.getLogger().warning("§c[Planets] Failed to load structures of planet "
+                        + planet.getId() + ": " + error.getMessage());
+                load.completeExceptionally(error);
+            } else {
+                load.complete(index);
+            }
+        });
+        return load;
+    }
+
+    private CompletableFuture<StructureIndex> loadStructureIndex(Planet planet) {
+        PlanetStructureDao dao = plugin.getDatabaseManager().getPlanetStructureDao();
+        World world = plugin.getServer().getWorld("planet_" + planet.getId());
+
+        return dao.loadStructures(planet.getId(), world)
+                .thenCombine(dao.loadAutominers(planet.getId(), world), (structures, autominers) -> {
+                    StructureIndex index = new StructureIndex();
+                    structures.forEach(index::add);
+                    autominers.forEach(index::add);
+                    planet.setStructureIndex(index);
+                    return index;
+                });
     }
 
     public Map<String, Double> getStructureEffects(String structureType) {
@@ -6,6 +6,7 @@ import io.starseed.asteroidCore.modules.planet.PlanetWorldManager;
 import org.bukkit.GameRule;
 import org.bukkit.World;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.event.block.BlockPlaceEvent;
@@ -42,6 +43,14 @@ public class PlanetListener implements Listener {
         }
     }
 
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBreak(BlockBreakEvent event) {
+        String worldName = event.getBlock().getWorld().getName();
+        if (worldName.startsWith("planet_")) {
+            plugin.getRegenerationManager().recordBreak(worldName, event.getBlock());
+        }
+    }
+
     @EventHandler
     public void onPlayerTeleport(PlayerTeleportEvent event) {
         World fromWorld = event.getFrom().getWorld();
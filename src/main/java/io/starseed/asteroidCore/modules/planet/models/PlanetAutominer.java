@@ -1,6 +1,8 @@
 package io.starseed.asteroidCore.modules.planet.models;
 
 import org.bukkit.Location;
+import org.bukkit.util.BoundingBox;
+
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -10,15 +12,22 @@ public class PlanetAutominer {
     private final UUID planetOwner;
     private final String modelId;
     private final Location location;
+    private final BoundingBox bounds;
     private double incomePerMinute;
     private double totalGenerated;
     private long lastUpdate;
 
     public PlanetAutominer(int id, UUID planetOwner, String modelId, Location location, double incomePerMinute) {
+        this(id, planetOwner, modelId, location, PlanetStructure.blockBounds(location), incomePerMinute);
+    }
+
+    public PlanetAutominer(int id, UUID planetOwner, String modelId, Location location, BoundingBox bounds,
+                           double incomePerMinute) {
         this.id = id;
         this.planetOwner = planetOwner;
         this.modelId = modelId;
         this.location = location;
+        this.bounds = bounds;
         this.incomePerMinute = incomePerMinute;
         this.totalGenerated = 0;
         this.lastUpdate = System.currentTimeMillis();
@@ -29,9 +38,11 @@ public class PlanetAutominer {
     public UUID getPlanetOwner() { return planetOwner; }
     public String getModelId() { return modelId; }
     public Location getLocation() { return location; }
+    public BoundingBox getBounds() { return bounds.clone(); }
     public double getIncomePerMinute() { return incomePerMinute; }
     public void setIncomePerMinute(double incomePerMinute) { this.incomePerMinute = incomePerMinute; }
     public double getTotalGenerated() { return totalGenerated; }
+    public void setTotalGenerated(double totalGenerated) { this.totalGenerated = totalGenerated; }
     public void addToTotalGenerated(double amount) { this.totalGenerated += amount; }
     public long getLastUpdate() { return lastUpdate; }
     public void updateLastUpdate() { this.lastUpdate = System.currentTimeMillis(); }
@@ -1,6 +1,7 @@
 package io.starseed.asteroidCore.modules.planet.models;
 
 import org.bukkit.Location;
+import org.bukkit.util.BoundingBox;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -12,19 +13,36 @@ public class PlanetStructure {
     private final String structureType;
     private final String modelId;
     private final Location location;
+    private final BoundingBox bounds;
     private final Map<String, Double> effects;
     private boolean active;
 
     public PlanetStructure(int id, UUID planetOwner, String structureType, String modelId, Location location) {
+        this(id, planetOwner, structureType, modelId, location, blockBounds(location));
+    }
+
+    public PlanetStructure(int id, UUID planetOwner, String structureType, String modelId, Location location,
+                           BoundingBox bounds) {
         this.id = id;
         this.planetOwner = planetOwner;
         this.structureType = structureType;
         this.modelId = modelId;
         this.location = location;
+        this.bounds = bounds;
         this.effects = new HashMap<>();
         this.active = true;
     }
 
+    /**
+     * Gets the box of the single block at a location
+     * @param location The location
+     * @return The block's bounding box
+     */
+    public static BoundingBox blockBounds(Location location) {
+        return new BoundingBox(location.getBlockX(), location.getBlockY(), location.getBlockZ(),
+                location.getBlockX() + 1, location.getBlockY() + 1, location.getBlockZ() + 1);
+    }
+
     public void addEffect(String effect, double value) {
         effects.put(effect, value);
     }
@@ -35,6 +53,7 @@ public class PlanetStructure {
     public String getStructureType() { return structureType; }
     public String getModelId() { return modelId; }
     public Location getLocation() { return location; }
+    public BoundingBox getBounds() { return bounds.clone(); }
     public Map<String, Double> getEffects() { return new HashMap<>(effects); }
     public boolean isActive() { return active; }
     public void setActive(boolean active) { this.active = active; }
@@ -0,0 +1,191 @@
+package io.starseed.asteroidCore.modules.planet.models;
+
+import org.bukkit.util.BoundingBox;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+/**
+ * Spatial index over the structures and autominers placed on one planet.
+ * Every bounding box is filed under each 16x16 column it covers, so a query only looks
+ * at the columns its own box covers rather than at every structure on the planet.
+ */
+public class StructureIndex {
+    private static final int CELL_SHIFT = 4;
+
+    // Guarded by this
+    private final Map<Long, List<Entry>> cells;
+    private final Map<Integer, Entry> structures;
+    private final Map<Integer, Entry> autominers;
+
+    public StructureIndex() {
+        this.cells = new HashMap<>();
+        this.structures = new HashMap<>();
+        this.autominers = new HashMap<>();
+    }
+
+    /**
+     * Adds a structure, unless one with the same ID is already indexed
+     * @param structure The structure, with its database ID
+     */
+    public synchronized void add(PlanetStructure structure) {
+        if (!structures.containsKey(structure.getId())) {
+            Entry entry = new Entry(structure, structure.getBounds());
+            structures.put(structure.getId(), entry);
+            file(entry);
+        }
+    }
+
+    /**
+     * Adds an autominer, unless one with the same ID is already indexed
+     * @param autominer The autominer, with its database ID
+     */
+    public synchronized void add(PlanetAutominer autominer) {
+        if (!autominers.containsKey(autominer.getId())) {
+            Entry entry = new Entry(autominer, autominer.getBounds());
+            autominers.put(autominer.getId(), entry);
+            file(entry);
+        }
+    }
+
+    public synchronized void removeStructure(int id) {
+        Entry entry = structures.remove(id);
+        if (entry != null) {
+            unfile(entry);
+        }
+    }
+
+    public synchronized void removeAutominer(int id) {
+        Entry entry = autominers.remove(id);
+        if (entry != null) {
+            unfile(entry);
+        }
+    }
+
+    /**
+     * Checks if anything indexed comes within a margin of a box
+     * @param box The box, e.g. of a structure about to be placed
+     * @param margin Blocks to keep clear around the box
+     * @return true if a structure or autominer is too close
+     */
+    public synchronized boolean overlaps(BoundingBox box, double margin) {
+        BoundingBox area = box.clone().expand(margin);
+        int minCellX = cellOf(area.getMinX());
+        int maxCellX = cellOf(area.getMaxX());
+        int minCellZ = cellOf(area.getMinZ());
+        int maxCellZ = cellOf(area.getMaxZ());
+
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                List<Entry> entries = cells.get(cellKey(cellX, cellZ));
+                if (entries == null) continue;
+
+                for (Entry entry : entries) {
+                    if (entry.box().overlaps(area)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Claims a box for a structure about to be placed, if nothing indexed or claimed comes
+     * within a margin of it. The claim counts as occupied space until it is released, so two
+     * placements running at once cannot both pass the check.
+     * @param box The box the structure will take up
+     * @param margin Blocks to keep clear around the box
+     * @return The claim, or null if the box is too close to something
+     */
+    @Nullable
+    public synchronized Reservation reserve(BoundingBox box, double margin) {
+        if (overlaps(box, margin)) {
+            return null;
+        }
+        Reservation reservation = new Reservation(this, box.clone());
+        reservation.entry = new Entry(reservation, reservation.getBounds());
+        file(reservation.entry);
+        return reservation;
+    }
+
+    private synchronized void release(Reservation reservation) {
+        if (reservation.entry != null) {
+            unfile(reservation.entry);
+            reservation.entry = null;
+        }
+    }
+
+    public synchronized int getStructureCount() {
+        return structures.size();
+    }
+
+    public synchronized int getAutominerCount() {
+        return autominers.size();
+    }
+
+    private void file(Entry entry) {
+        forEachCell(entry.box(), key -> cells.computeIfAbsent(key, k -> new ArrayList<>(2)).add(entry));
+    }
+
+    private void unfile(Entry entry) {
+        forEachCell(entry.box(), key -> {
+            List<Entry> entries = cells.get(key);
+            if (entries != null) {
+                entries.remove(entry);
+                if (entries.isEmpty()) {
+                    cells.remove(key);
+                }
+            }
+        });
+    }
+
+    private static void forEachCell(BoundingBox box, LongConsumer action) {
+        for (int cellX = cellOf(box.getMinX()); cellX <= cellOf(box.getMaxX()); cellX++) {
+            for (int cellZ = cellOf(box.getMinZ()); cellZ <= cellOf(box.getMaxZ()); cellZ++) {
+                action.accept(cellKey(cellX, cellZ));
+            }
+        }
+    }
+
+    private static int cellOf(double coordinate) {
+        return (int) Math.floor(coordinate) >> CELL_SHIFT;
+    }
+
+    private static long cellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    private record Entry(Object element, BoundingBox box) {}
+
+    /**
+     * Space held for a structure whose placement is in progress
+     */
+    public static final class Reservation {
+        private final StructureIndex index;
+        private final BoundingBox bounds;
+        // Guarded by the index
+        private Entry entry;
+
+        private Reservation(StructureIndex index, BoundingBox bounds) {
+            this.index = index;
+            this.bounds = bounds;
+        }
+
+        public BoundingBox getBounds() {
+            return bounds.clone();
+        }
+
+        /**
+         * Frees the space, once the structure has been indexed or its placement failed.
+         * Releasing more than once has no effect.
+         */
+        public void release() {
+            index.release(this);
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package io.starseed.asteroidCore.services;
 
-import com.github.benmanes.caffeine.cache.Cache;
 import io.starseed.asteroidCore.AsteroidCore;
 import io.starseed.asteroidCore.cache.CacheManager;
 import io.starseed.asteroidCore.models.*;
@@ -9,7 +8,6 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
-import java.util.function.Consumer;
 import java.util.logging.Level;
 
 public class CacheService {
@@ -26,7 +24,7 @@ public class CacheService {
     // Player Data Caching
     public void cachePlayer(@NotNull PlayerData playerData) {
         try {
-            cacheManager.getPlayerCache().put(playerData.getUuid(), playerData);
+            cacheManager.getPlayerCache().synchronous().put(playerData.getUuid(), playerData);
             logDebug("Cached player data for " + playerData.getUsername());
         } catch (Exception e) {
             logError("Failed to cache player data for " + playerData.getUsername(), e);
@@ -35,29 +33,18 @@ public class CacheService {
 
     @Nullable
     public PlayerData getCachedPlayer(@NotNull UUID uuid) {
-        return cacheManager.getPlayerCache().getIfPresent(uuid);
+        return cacheManager.getPlayerCache().synchronous().getIfPresent(uuid);
     }
 
     public CompletableFuture<PlayerData> getPlayerData(@NotNull UUID uuid) {
-        PlayerData cached = getCachedPlayer(uuid);
-        if (cached != null) {
-            return CompletableFuture.completedFuture(cached);
-        }
-        return CompletableFuture.supplyAsync(() ->
-                plugin.getDatabaseManager().getPlayerDao()
-                        .loadPlayer(uuid)
-                        .join()
-                        .orElseThrow(() -> new RuntimeException("Player data not found for " + uuid))
-        ).thenApply(playerData -> {
-            cachePlayer(playerData);
-            return playerData;
-        });
+        return cacheManager.getPlayerCache().get(uuid)
+                .thenApply(playerData -> requireLoaded(playerData, "Player data not found for " + uuid));
     }
 
     // Statistics Caching
     public void cacheStatistics(@NotNull PlayerStatistics statistics) {
         try {
-            cacheManager.getStatisticsCache().put(statistics.getPlayerUuid(), statistics);
+            cacheManager.getStatisticsCache().synchronous().put(statistics.getPlayerUuid(), statistics);
             logDebug("Cached statistics for player " + statistics.getPlayerUuid());
         } catch (Exception e) {
             logError("Failed to cache statistics for player " + statistics.getPlayerUuid(), e);
@@ -66,29 +53,18 @@ public class CacheService {
 
     @Nullable
     public PlayerStatistics getCachedStatistics(@NotNull UUID uuid) {
-        return cacheManager.getStatisticsCache().getIfPresent(uuid);
+        return cacheManager.getStatisticsCache().synchronous().getIfPresent(uuid);
     }
 
     public CompletableFuture<PlayerStatistics> getPlayerStatistics(@NotNull UUID uuid) {
-        PlayerStatistics cached = getCachedStatistics(uuid);
-        if (cached != null) {
-            return CompletableFuture.completedFuture(cached);
-        }
-        return CompletableFuture.supplyAsync(() ->
-                plugin.getDatabaseManager().getStatisticsDao()
-                        .loadStatistics(uuid)
-                        .join()
-                        .orElseGet(() -> new PlayerStatistics(uuid))
-        ).thenApply(statistics -> {
-            cacheStatistics(statistics);
-            return statistics;
-        });
+        // The loader falls back to fresh statistics, so this never completes empty
+        return cacheManager.getStatisticsCache().get(uuid);
     }
 
     // Planet Caching
     public void cachePlanet(@NotNull Planet planet) {
         try {
-            cacheManager.getPlanetCache().put(planet.getId(), planet);
+            cacheManager.getPlanetCache().synchronous().put(planet.getId(), planet);
             logDebug("Cached planet " + planet.getName());
         } catch (Exception e) {
             logError("Failed to cache planet " + planet.getName(), e);
@@ -97,29 +73,18 @@ public class CacheService {
 
     @Nullable
     public Planet getCachedPlanet(int id) {
-        return cacheManager.getPlanetCache().getIfPresent(id);
+        return cacheManager.getPlanetCache().synchronous().getIfPresent(id);
     }
 
     public CompletableFuture<Planet> getPlanet(int id) {
-        Planet cached = getCachedPlanet(id);
-        if (cached != null) {
-            return CompletableFuture.completedFuture(cached);
-        }
-        return CompletableFuture.supplyAsync(() ->
-                plugin.getDatabaseManager().getPlanetDao()
-                        .loadPlanet(id)
-                        .join()
-                        .orElseThrow(() -> new RuntimeException("Planet not found with id " + id))
-        ).thenApply(planet -> {
-            cachePlanet(planet);
-            return planet;
-        });
+        return cacheManager.getPlanetCache().get(id)
+                .thenApply(planet -> requireLoaded(planet, "Planet not found with id " + id));
     }
 
     // Private Mine Caching
     public void cachePrivateMine(@NotNull PrivateMine mine) {
         try {
-            cacheManager.getPrivateMineCache().put(mine.getId(), mine);
+            cacheManager.getPrivateMineCache().synchronous().put(mine.getId(), mine);
             logDebug("Cached private mine for " + mine.getOwnerUuid());
         } catch (Exception e) {
             logError("Failed to cache private mine for " + mine.getOwnerUuid(), e);
@@ -128,29 +93,18 @@ public class CacheService {
 
     @Nullable
     public PrivateMine getCachedPrivateMine(int id) {
-        return cacheManager.getPrivateMineCache().getIfPresent(id);
+        return cacheManager.getPrivateMineCache().synchronous().getIfPresent(id);
     }
 
     public CompletableFuture<PrivateMine> getPrivateMine(int id) {
-        PrivateMine cached = getCachedPrivateMine(id);
-        if (cached != null) {
-            return CompletableFuture.completedFuture(cached);
-        }
-        return CompletableFuture.supplyAsync(() ->
-                plugin.getDatabaseManager().getPrivateMineDao()
-                        .loadPrivateMine(id)
-                        .join()
-                        .orElseThrow(() -> new RuntimeException("Private mine not found with id " + id))
-        ).thenApply(mine -> {
-            cachePrivateMine(mine);
-            return mine;
-        });
+        return cacheManager.getPrivateMineCache().get(id)
+                .thenApply(mine -> requireLoaded(mine, "Private mine not found with id " + id));
     }
 
     // Pickaxe Caching
     public void cachePickaxe(@NotNull Pickaxe pickaxe) {
         try {
-            cacheManager.getPickaxeCache().put(pickaxe.getId(), pickaxe);
+            cacheManager.getPickaxeCache().synchronous().put(pickaxe.getId(), pickaxe);
             logDebug("Cached pickaxe for " + pickaxe.getOwnerUuid());
         } catch (Exception e) {
             logError("Failed to cache pickaxe for " + pickaxe.getOwnerUuid(), e);
@@ -159,29 +113,18 @@ public class CacheService {
 
     @Nullable
     public Pickaxe getCachedPickaxe(int id) {
-        return cacheManager.getPickaxeCache().getIfPresent(id);
+        return cacheManager.getPickaxeCache().synchronous().getIfPresent(id);
     }
 
     public CompletableFuture<Pickaxe> getPickaxe(int id) {
-        Pickaxe cached = getCachedPickaxe(id);
-        if (cached != null) {
-            return CompletableFuture.completedFuture(cached);
-        }
-        return CompletableFuture.supplyAsync(() ->
-                plugin.getDatabaseManager().getPickaxeDao()
-                        .loadPickaxe(id)
-                        .join()
-                        .orElseThrow(() -> new RuntimeException("Pickaxe not found with id " + id))
-        ).thenApply(pickaxe -> {
-            cachePickaxe(pickaxe);
-            return pickaxe;
-        });
+        return cacheManager.getPickaxeCache().get(id)
+                .thenApply(pickaxe -> requireLoaded(pickaxe, "Pickaxe not found with id " + id));
     }
 
     // Enchantment Caching
     public void cacheEnchantment(@NotNull Enchantment enchantment) {
         try {
-            cacheManager.getEnchantmentCache().put(enchantment.getId(), enchantment);
+            cacheManager.getEnchantmentCache().synchronous().put(enchantment.getId(), enchantment);
             logDebug("Cached enchantment " + enchantment.getName());
         } catch (Exception e) {
             logError("Failed to cache enchantment " + enchantment.getName(), e);
@@ -190,30 +133,33 @@ public class CacheService {
 
     @Nullable
     public Enchantment getCachedEnchantment(@NotNull String id) {
-        return cacheManager.getEnchantmentCache().getIfPresent(id);
+        return cacheManager.getEnchantmentCache().synchronous().getIfPresent(id);
+    }
+
+    public CompletableFuture<Enchantment> getEnchantment(@NotNull String id) {
+        return cacheManager.getEnchantmentCache().get(id)
+                .thenApply(enchantment -> requireLoaded(enchantment, "Enchantment not found with id " + id));
     }
 
     // Bulk Operations
     public void invalidatePlayerData(@NotNull UUID uuid) {
-        cacheManager.getPlayerCache().invalidate(uuid);
-        cacheManager.getStatisticsCache().invalidate(uuid);
+        cacheManager.getPlayerCache().synchronous().invalidate(uuid);
+        cacheManager.getStatisticsCache().synchronous().invalidate(uuid);
         logDebug("Invalidated all data for player " + uuid);
     }
 
-    public void preloadPlayerData(@NotNull Collection<UUID> uuids) {
-        CompletableFuture.allOf(
-                uuids.stream()
-                        .map(uuid -> CompletableFuture.runAsync(() -> {
-                            try {
-                                getPlayerData(uuid);
-                                getPlayerStatistics(uuid);
-                                logDebug("Preloaded data for player " + uuid);
-                            } catch (Exception e) {
-                                logError("Failed to preload data for player " + uuid, e);
-                            }
-                        }))
-                        .toArray(CompletableFuture[]::new)
-        );
+    public CompletableFuture<Void> preloadPlayerData(@NotNull Collection<UUID> uuids) {
+        // Bulk loads; keys already cached or in flight are not loaded again
+        return CompletableFuture.allOf(
+                cacheManager.getPlayerCache().getAll(uuids),
+                cacheManager.getStatisticsCache().getAll(uuids)
+        ).whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                logError("Failed to preload data for " + uuids.size() + " players", throwable);
+            } else {
+                logDebug("Preloaded data for " + uuids.size() + " players");
+            }
+        });
     }
 
     public void invalidateAll() {
@@ -228,12 +174,12 @@ public class CacheService {
     // Cache Statistics
     public Map<String, Long> getCacheStatistics() {
         Map<String, Long> stats = new HashMap<>();
-        stats.put("players", cacheManager.getPlayerCache().estimatedSize());
-        stats.put("statistics", cacheManager.getStatisticsCache().estimatedSize());
-        stats.put("planets", cacheManager.getPlanetCache().estimatedSize());
-        stats.put("privateMines", cacheManager.getPrivateMineCache().estimatedSize());
-        stats.put("pickaxes", cacheManager.getPickaxeCache().estimatedSize());
-        stats.put("enchantments", cacheManager.getEnchantmentCache().estimatedSize());
+        stats.put("players", cacheManager.getPlayerCache().synchronous().estimatedSize());
+        stats.put("statistics", cacheManager.getStatisticsCache().synchronous().estimatedSize());
+        stats.put("planets", cacheManager.getPlanetCache().synchronous().estimatedSize());
+        stats.put("privateMines", cacheManager.getPrivateMineCache().synchronous().estimatedSize());
+        stats.put("pickaxes", cacheManager.getPickaxeCache().synchronous().estimatedSize());
+        stats.put("enchantments", cacheManager.getEnchantmentCache().synchronous().estimatedSize());
         return stats;
     }
 
@@ -244,23 +190,14 @@ public class CacheService {
         }
     }
 
-    private void logError(String message, Exception e) {
+    private void logError(String message, Throwable e) {
         plugin.getLogger().log(Level.SEVERE, "§c[Cache] " + message, e);
     }
 
-    /**
-     * Updates an entity in cache and executes an action
-     * @param cache The cache to update
-     * @param key The cache key
-     * @param action The action to perform on the cached entity
-     * @param <K> Key type
-     * @param <V> Value type
-     */
-    private <K, V> void updateInCache(Cache<K, V> cache, K key, Consumer<V> action) {
-        V value = cache.getIfPresent(key);
-        if (value != null) {
-            action.accept(value);
-            cache.put(key, value);
+    private static <V> V requireLoaded(@Nullable V value, String message) {
+        if (value == null) {
+            throw new RuntimeException(message);
         }
+        return value;
     }
 }
\ No newline at end of file
@@ -0,0 +1,74 @@
+package io.starseed.asteroidCore.services;
+
+import io.starseed.asteroidCore.AsteroidCore;
+import io.starseed.asteroidCore.database.DatabaseManager;
+import io.starseed.asteroidCore.modules.mining.PrivateMineModule;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Logs the statistics of the database, block writer and private mine systems at a fixed
+ * interval, so their backlog and per-tick cost can be followed on a live server.
+ */
+public class MetricsService {
+    private final AsteroidCore plugin;
+    private final long intervalTicks;
+    private BukkitTask task;
+
+    public MetricsService(AsteroidCore plugin) {
+        this.plugin = plugin;
+        this.intervalTicks = plugin.getConfig().getLong("metrics.log-interval-seconds", 300L) * 20L;
+    }
+
+    /**
+     * Starts logging, unless the interval is 0 or less
+     */
+    public void start() {
+        if (task == null && intervalTicks > 0) {
+            // Main thread: several of the reported counters are only written there
+            task = plugin.getServer().getScheduler().runTaskTimer(plugin, this::log, intervalTicks, intervalTicks);
+        }
+    }
+
+    public void shutdown() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    /**
+     * Collects every statistics line currently available
+     * @return The statistics, one line per system
+     */
+    public List<String> getStatistics() {
+        List<String> lines = new ArrayList<>();
+
+        DatabaseManager database = plugin.getDatabaseManager();
+        if (database != null) {
+            lines.add(database.getPoolStatistics());
+            lines.add(database.getExecutorStatistics());
+            lines.addAll(database.getWriteBehindStatistics());
+        }
+        if (plugin.getBlockWriteQueue() != null) {
+            lines.add(plugin.getBlockWriteQueue().getStatistics());
+        }
+        if (plugin.getRegenerationManager() != null) {
+            lines.add(plugin.getRegenerationManager().getStatistics());
+        }
+
+        PrivateMineModule privateMines = plugin.getPrivateMineModule();
+        if (privateMines != null && privateMines.isEnabled()) {
+            lines.add(privateMines.getRegenerationScheduler().getStatistics());
+            lines.add(privateMines.getLifecycleManager().getStatistics());
+            lines.add(privateMines.getPlacement().getStatistics());
+        }
+        return lines;
+    }
+
+    private void log() {
+        getStatistics().forEach(line -> plugin.getLogger().info("§b[Metrics] " + line));
+    }
+}
@@ -33,23 +33,24 @@ public class PlayerService {
         UUID uuid = player.getUniqueId();
         String username = player.getName();
 
-        return CompletableFuture.supplyAsync(() -> {
-            // Load player data
-            PlayerData playerData = playerDao.loadPlayer(uuid)
-                    .join()
-                    .orElseGet(() -> new PlayerData(uuid, username));
-
-            // Update username if changed
-            if (!username.equals(playerData.getUsername())) {
-                playerData.setUsername(username);
-                playerDao.savePlayer(playerData).join();
-            }
-
-            // Load or create statistics
-            PlayerStatistics statistics = statisticsDao.loadStatistics(uuid)
-                    .join()
-                    .orElseGet(() -> new PlayerStatistics(uuid));
+        // Compose the DAO futures instead of joining them on a pooled thread
+        CompletableFuture<PlayerData> playerFuture = playerDao.loadPlayer(uuid)
+                .thenCompose(loaded -> {
+                    PlayerData playerData = loaded.orElseGet(() -> new PlayerData(uuid, username));
+
+                    // Update username if changed
+                    if (!username.equals(playerData.getUsername())) {
+                        playerData.setUsername(username);
+                        return playerDao.savePlayer(playerData).thenApply(v -> playerData);
+                    }
+                    return CompletableFuture.completedFuture(playerData);
+                });
+
+        // Load or create statistics
+        CompletableFuture<PlayerStatistics> statisticsFuture = statisticsDao.loadStatistics(uuid)
+                .thenApply(loaded -> loaded.orElseGet(() -> new PlayerStatistics(uuid)));
 
+        return playerFuture.thenCombine(statisticsFuture, (playerData, statistics) -> {
             // Cache both
             cacheService.cachePlayer(playerData);
             cacheService.cacheStatistics(statistics);
@@ -103,7 +104,7 @@ public class PlayerService {
                     statistics.setBlocksMined(statistics.getBlocksMined() + blocksMined);
                     statistics.setMoneyEarned(statistics.getMoneyEarned() + moneyEarned);
                     statistics.setTokensEarned(statistics.getTokensEarned() + tokensEarned);
-                    statisticsDao.saveStatistics(statistics);
+                    statisticsDao.queueStatistics(statistics);
                 });
     }
 
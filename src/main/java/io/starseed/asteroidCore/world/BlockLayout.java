@@ -0,0 +1,88 @@
+package io.starseed.asteroidCore.world;
+
+import org.bukkit.block.data.BlockData;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A computed block layout, stored per chunk section as palette indices.
+ * Entry 0 leaves a position untouched; entry {@code n} writes {@code palette[n - 1]}.
+ * Sections are ordered by chunk, then height, so one chunk is finished before the next.
+ */
+public final class BlockLayout {
+    public static final int SECTION_VOLUME = 16 * 16 * 16;
+    public static final int MAX_PALETTE_SIZE = 255;
+
+    private final BlockData[] palette;
+    private final List<Section> sections;
+    private final Map<Long, Integer> sectionOrdinals;
+    private final long blockCount;
+
+    BlockLayout(BlockData[] palette, List<Section> sections) {
+        this.palette = palette;
+        this.sections = sections;
+        this.sectionOrdinals = new HashMap<>(sections.size() * 2);
+        long count = 0;
+        for (int i = 0; i < sections.size(); i++) {
+            Section section = sections.get(i);
+            sectionOrdinals.put(sectionKey(section.chunkX, section.sectionY, section.chunkZ), i);
+            count += section.blockCount;
+        }
+        this.blockCount = count;
+    }
+
+    public BlockData[] getPalette() { return palette; }
+    public List<Section> getSections() { return sections; }
+    public long getBlockCount() { return blockCount; }
+
+    /**
+     * Gets the position of a section in {@link #getSections()}
+     * @return The section's ordinal, or -1 if the layout has no blocks in it
+     */
+    public int getSectionOrdinal(int chunkX, int sectionY, int chunkZ) {
+        Integer ordinal = sectionOrdinals.get(sectionKey(chunkX, sectionY, chunkZ));
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    /**
+     * Index of a position within a section's entries
+     */
+    public static int index(int localX, int localY, int localZ) {
+        return (localY << 8) | (localZ << 4) | localX;
+    }
+
+    private static long sectionKey(int chunkX, int sectionY, int chunkZ) {
+        // 26 bits per horizontal chunk coordinate covers the whole world border
+        return ((long) (chunkX & 0x3FFFFFF) << 38) | ((long) (chunkZ & 0x3FFFFFF) << 12) | (sectionY & 0xFFF);
+    }
+
+    public static final class Section {
+        private final int chunkX;
+        private final int sectionY;
+        private final int chunkZ;
+        private final byte[] entries;
+        private final int blockCount;
+
+        Section(int chunkX, int sectionY, int chunkZ, byte[] entries, int blockCount) {
+            this.chunkX = chunkX;
+            this.sectionY = sectionY;
+            this.chunkZ = chunkZ;
+            this.entries = entries;
+            this.blockCount = blockCount;
+        }
+
+        public int getChunkX() { return chunkX; }
+        public int getSectionY() { return sectionY; }
+        public int getChunkZ() { return chunkZ; }
+        public int getBlockCount() { return blockCount; }
+
+        /**
+         * @return The palette entry at a section index, 0 if untouched
+         */
+        public int getEntry(int index) {
+            return entries[index] & 0xFF;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package io.starseed.asteroidCore.world;
+
+import org.bukkit.block.data.BlockData;
+
+/**
+ * A block structure ready to be written, e.g. a schematic in one of its rotations.
+ * Blocks are stored as palette indices in a flat array over the template's box, which is
+ * placed relative to the paste position. Entry 0 leaves a position untouched; entry
+ * {@code n} writes {@code palette[n - 1]}.
+ */
+public final class BlockTemplate {
+    public static final int MAX_PALETTE_SIZE = 0xFFFF;
+
+    private final BlockData[] palette;
+    private final short[] entries;
+    private final int offsetX;
+    private final int offsetY;
+    private final int offsetZ;
+    private final int sizeX;
+    private final int sizeY;
+    private final int sizeZ;
+    private final long blockCount;
+
+    /**
+     * @param palette The distinct blocks of the template
+     * @param entries Palette entries, indexed by {@link #index(int, int, int)}
+     * @param offsetX Position of the box's minimum corner relative to the paste position
+     * @param sizeX Box size along X
+     */
+    public BlockTemplate(BlockData[] palette, short[] entries,
+                         int offsetX, int offsetY, int offsetZ,
+                         int sizeX, int sizeY, int sizeZ) {
+        if (palette.length > MAX_PALETTE_SIZE) {
+            throw new IllegalArgumentException("Templates support at most " + MAX_PALETTE_SIZE + " blocks, got " + palette.length);
+        }
+        if (entries.length != sizeX * sizeY * sizeZ) {
+            throw new IllegalArgumentException("Expected " + (sizeX * sizeY * sizeZ) + " entries, got " + entries.length);
+        }
+        this.palette = palette;
+        this.entries = entries;
+        this.offsetX = offsetX;
+        this.offsetY = offsetY;
+        this.offsetZ = offsetZ;
+        this.sizeX = sizeX;
+        this.sizeY = sizeY;
+        this.sizeZ = sizeZ;
+
+        long count = 0;
+        for (short entry : entries) {
+            if (entry != 0) {
+                count++;
+            }
+        }
+        this.blockCount = count;
+    }
+
+    public BlockData[] getPalette() { return palette; }
+    public int getOffsetX() { return offsetX; }
+    public int getOffsetY() { return offsetY; }
+    public int getOffsetZ() { return offsetZ; }
+    public int getSizeX() { return sizeX; }
+    public int getSizeY() { return sizeY; }
+    public int getSizeZ() { return sizeZ; }
+    public long getBlockCount() { return blockCount; }
+
+    /**
+     * @return The palette entry at a position in the box, 0 if untouched
+     */
+    public int getEntry(int x, int y, int z) {
+        return entries[index(x, y, z)] & 0xFFFF;
+    }
+
+    /**
+     * Index of a position within the box
+     */
+    public int index(int x, int y, int z) {
+        return (y * sizeZ + z) * sizeX + x;
+    }
+}
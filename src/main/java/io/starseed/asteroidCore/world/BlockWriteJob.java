@@ -0,0 +1,25 @@
+package io.starseed.asteroidCore.world;
+
+/**
+ * A resumable unit of world modification run by the {@link BlockWriteQueue}.
+ * Jobs are always stepped on the main thread and must keep their own cursor,
+ * so work can stop when the tick's budget is spent and continue on the next tick.
+ */
+@FunctionalInterface
+public interface BlockWriteJob {
+
+    /**
+     * Writes blocks until the job is finished or the budget is spent
+     * @param budget The tick's remaining budget; call {@link TickBudget#consume()} per block
+     * @return true if the job has finished
+     */
+    boolean step(TickBudget budget);
+
+    /**
+     * Gets how much of the job is done, for progress reports
+     * @return A fraction from 0 to 1, or 0 if the job does not track progress
+     */
+    default double getProgress() {
+        return 0.0;
+    }
+}
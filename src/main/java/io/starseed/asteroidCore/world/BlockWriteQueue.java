@@ -0,0 +1,180 @@
+package io.starseed.asteroidCore.world;
+
+import io.starseed.asteroidCore.AsteroidCore;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.logging.Level;
+
+/**
+ * Runs {@link BlockWriteJob}s on the main thread within a fixed time and block budget per tick.
+ * The budget is global: every planet and mine writing in the same tick draws from it.
+ * Jobs may be submitted from any thread and run in submission order within their priority;
+ * a large job simply spans as many ticks as it needs instead of stalling one.
+ */
+public class BlockWriteQueue {
+    public enum Priority {
+        /** Work a player is waiting for, run before any background work */
+        PLAYER,
+        /** Everything else */
+        BACKGROUND
+    }
+
+    private final AsteroidCore plugin;
+    private final Queue<PendingJob> playerJobs;
+    private final Queue<PendingJob> jobs;
+    private final long budgetNanos;
+    private final long maxBlocksPerTick;
+    private BukkitTask task;
+
+    // Metrics
+    private long completedJobs;
+    private long blocksWritten;
+    private long lastTickNanos;
+    private long maxTickNanos;
+    private long lastTickBlocks;
+
+    public BlockWriteQueue(AsteroidCore plugin) {
+        this.plugin = plugin;
+        this.playerJobs = new ConcurrentLinkedQueue<>();
+        this.jobs = new ConcurrentLinkedQueue<>();
+        double budgetMillis = plugin.getConfig().getDouble("world.block-write.max-millis-per-tick", 10.0);
+        this.budgetNanos = (long) (Math.max(0.5, budgetMillis) * 1_000_000L);
+        long maxBlocks = plugin.getConfig().getLong("world.block-write.max-blocks-per-tick", 20000L);
+        this.maxBlocksPerTick = maxBlocks > 0 ? maxBlocks : Long.MAX_VALUE;
+    }
+
+    /**
+     * Starts processing jobs every tick
+     */
+    public void start() {
+        if (task == null) {
+            task = plugin.getServer().getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+        }
+    }
+
+    /**
+     * Stops processing and fails every job that has not finished
+     */
+    public void shutdown() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+
+        for (Queue<PendingJob> queue : List.of(playerJobs, jobs)) {
+            PendingJob pending;
+            while ((pending = queue.poll()) != null) {
+                pending.future.completeExceptionally(new CancellationException("Block write queue shut down"));
+            }
+        }
+    }
+
+    /**
+     * Queues a background job
+     * @param job The job to run
+     * @return CompletableFuture completed on the main thread once the job has finished
+     */
+    public CompletableFuture<Void> submit(BlockWriteJob job) {
+        return submit(job, Priority.BACKGROUND);
+    }
+
+    /**
+     * Queues a job
+     * @param job The job to run
+     * @param priority The job's priority
+     * @return CompletableFuture completed on the main thread once the job has finished
+     */
+    public CompletableFuture<Void> submit(BlockWriteJob job, Priority priority) {
+        PendingJob pending = new PendingJob(job);
+        (priority == Priority.PLAYER ? playerJobs : jobs).add(pending);
+        return pending.future;
+    }
+
+    private void tick() {
+        long start = System.nanoTime();
+        TickBudget budget = new TickBudget(start + budgetNanos, maxBlocksPerTick);
+
+        // Background work only gets what player work leaves of the budget
+        if (run(playerJobs, budget)) {
+            run(jobs, budget);
+        }
+
+        lastTickNanos = System.nanoTime() - start;
+        maxTickNanos = Math.max(maxTickNanos, lastTickNanos);
+        lastTickBlocks = budget.getBlocksWritten();
+        blocksWritten += lastTickBlocks;
+    }
+
+    /**
+     * Steps a queue's jobs in order until the budget is spent
+     * @return true if every job in the queue finished
+     */
+    private boolean run(Queue<PendingJob> queue, TickBudget budget) {
+        PendingJob pending;
+        while ((pending = queue.peek()) != null) {
+            if (!budget.hasRemaining()) {
+                return false;
+            }
+            try {
+                if (!pending.job.step(budget)) {
+                    return false;
+                }
+                queue.poll();
+                completedJobs++;
+                pending.future.complete(null);
+            } catch (Exception e) {
+                queue.poll();
+                plugin.getLogger().log(Level.SEVERE, "§c[World] Block write job failed", e);
+                pending.future.completeExceptionally(e);
+            }
+        }
+        return true;
+    }
+
+    public int getQueueDepth() {
+        return playerJobs.size() + jobs.size();
+    }
+
+    public long getLastTickNanos() {
+        return lastTickNanos;
+    }
+
+    public long getLastTickBlocks() {
+        return lastTickBlocks;
+    }
+
+    /**
+     * Gets block write statistics
+     * @return A string containing queue statistics
+     */
+    public String getStatistics() {
+        return String.format(
+                "Block Writes - Queued: %d player/%d background, Completed: %d, Blocks: %d, Budget: %.2fms/%s blocks, " +
+                        "Last tick: %.2fms/%d blocks, Max tick: %.2fms",
+                playerJobs.size(),
+                jobs.size(),
+                completedJobs,
+                blocksWritten,
+                budgetNanos / 1_000_000.0,
+                maxBlocksPerTick == Long.MAX_VALUE ? "unlimited" : String.valueOf(maxBlocksPerTick),
+                lastTickNanos / 1_000_000.0,
+                lastTickBlocks,
+                maxTickNanos / 1_000_000.0
+        );
+    }
+
+    private static final class PendingJob {
+        private final BlockWriteJob job;
+        private final CompletableFuture<Void> future;
+
+        private PendingJob(BlockWriteJob job) {
+            this.job = job;
+            this.future = new CompletableFuture<>();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package io.starseed.asteroidCore.world;
+
+import org.bukkit.World;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Loads the chunks under a shape and keeps them loaded with plugin chunk tickets.
+ * Chunks are loaded a few per tick, so a region is ready before anything is written
+ * to it or anyone teleports into it, without a burst of synchronous loads.
+ */
+public class ChunkTicketJob implements BlockWriteJob {
+    private final World world;
+    private final Plugin plugin;
+    private final int minChunkX;
+    private final int minChunkZ;
+    private final int chunksX;
+    private final int total;
+
+    // Cursor
+    private int next;
+
+    public ChunkTicketJob(World world, Plugin plugin, Shape shape) {
+        this.world = world;
+        this.plugin = plugin;
+        this.minChunkX = shape.getMinX() >> 4;
+        this.minChunkZ = shape.getMinZ() >> 4;
+        this.chunksX = (shape.getMaxX() >> 4) - minChunkX + 1;
+        this.total = chunksX * ((shape.getMaxZ() >> 4) - minChunkZ + 1);
+    }
+
+    @Override
+    public boolean step(TickBudget budget) {
+        while (next < total) {
+            world.addPluginChunkTicket(minChunkX + next % chunksX, minChunkZ + next / chunksX, plugin);
+            next++;
+
+            if (!budget.consume(1)) {
+                return next >= total;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,83 @@
+package io.starseed.asteroidCore.world;
+
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+
+import java.util.List;
+
+/**
+ * Writes a precomputed {@link BlockLayout} into a world, one section at a time.
+ * All decisions were made when the layout was computed, so the main thread only copies
+ * palette entries into blocks.
+ */
+public class LayoutApplyJob implements BlockWriteJob {
+    private final World world;
+    private final BlockLayout layout;
+    private final List<BlockLayout.Section> sections;
+    private final BlockData[] palette;
+
+    // Cursor
+    private int sectionIndex;
+    private int position;
+    private Chunk chunk;
+    private long blocksWritten;
+
+    public LayoutApplyJob(World world, BlockLayout layout) {
+        this.world = world;
+        this.layout = layout;
+        this.sections = layout.getSections();
+        this.palette = layout.getPalette();
+    }
+
+    @Override
+    public boolean step(TickBudget budget) {
+        while (sectionIndex < sections.size()) {
+            BlockLayout.Section section = sections.get(sectionIndex);
+            if (chunk == null || chunk.getX() != section.getChunkX() || chunk.getZ() != section.getChunkZ()) {
+                if (!world.isChunkLoaded(section.getChunkX(), section.getChunkZ())) {
+                    // Loading is synchronous, so a cold chunk is only loaded as a tick's first work
+                    if (budget.getBlocksWritten() > 0) {
+                        return false;
+                    }
+                    chunk = world.getChunkAt(section.getChunkX(), section.getChunkZ());
+                    if (!budget.consume(1)) {
+                        return false;
+                    }
+                } else {
+                    chunk = world.getChunkAt(section.getChunkX(), section.getChunkZ());
+                }
+            }
+
+            int baseY = section.getSectionY() << 4;
+            while (position < BlockLayout.SECTION_VOLUME) {
+                int entry = section.getEntry(position);
+                if (entry != 0) {
+                    // No physics: neighbours are written in the same pass anyway
+                    chunk.getBlock(position & 15, baseY + (position >> 8), (position >> 4) & 15)
+                            .setBlockData(palette[entry - 1], false);
+                    blocksWritten++;
+                    if (!budget.consume()) {
+                        position++;
+                        return false;
+                    }
+                }
+                position++;
+            }
+
+            position = 0;
+            sectionIndex++;
+        }
+        return true;
+    }
+
+    public long getBlocksWritten() {
+        return blocksWritten;
+    }
+
+    @Override
+    public double getProgress() {
+        long total = layout.getBlockCount();
+        return total == 0 ? 1.0 : (double) blocksWritten / total;
+    }
+}
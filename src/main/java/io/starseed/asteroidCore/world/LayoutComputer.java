@@ -0,0 +1,172 @@
+package io.starseed.asteroidCore.world;
+
+import io.starseed.asteroidCore.AsteroidCore;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Computes block layouts off the main thread, in parallel over chunk columns.
+ * Only the world's height limits are read, on the calling thread; the world itself is
+ * never touched, so any number of layouts can be computed while the server ticks.
+ * The result is written by a {@link LayoutApplyJob} on the main thread.
+ */
+public class LayoutComputer {
+    private static final int COLUMNS_PER_TASK = 4;
+
+    private final ForkJoinPool pool;
+
+    public LayoutComputer(AsteroidCore plugin) {
+        int parallelism = plugin.getConfig().getInt("world.layout.parallelism",
+                Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+
+        ForkJoinPool.ForkJoinWorkerThreadFactory factory = pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("AsteroidCore-Layout-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.pool = new ForkJoinPool(Math.max(1, parallelism), factory, null, false);
+    }
+
+    /**
+     * Computes the layout of a shape filled from a distribution
+     * @param world The target world, used only for its height limits
+     * @param shape The region to fill
+     * @param distribution The blocks to fill it with
+     * @param seed The layout seed; the same seed always yields the same layout
+     * @return CompletableFuture containing the layout
+     */
+    public CompletableFuture<BlockLayout> compute(World world, Shape shape, WeightedDistribution distribution, long seed) {
+        if (distribution.size() > BlockLayout.MAX_PALETTE_SIZE) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException(
+                    "Layouts support at most " + BlockLayout.MAX_PALETTE_SIZE + " materials, got " + distribution.size()));
+        }
+
+        int minY = Math.max(world.getMinHeight(), shape.getMinY());
+        int maxY = Math.min(world.getMaxHeight() - 1, shape.getMaxY());
+
+        BlockData[] palette = new BlockData[distribution.size()];
+        for (int i = 0; i < palette.length; i++) {
+            palette[i] = distribution.getBlock(i);
+        }
+
+        int minChunkX = shape.getMinX() >> 4;
+        int minChunkZ = shape.getMinZ() >> 4;
+        int chunksX = (shape.getMaxX() >> 4) - minChunkX + 1;
+        int chunksZ = (shape.getMaxZ() >> 4) - minChunkZ + 1;
+        if (minY > maxY || distribution.isEmpty()) {
+            return CompletableFuture.completedFuture(new BlockLayout(palette, List.of()));
+        }
+
+        Region region = new Region(shape, distribution, seed, minY, maxY, minChunkX, minChunkZ, chunksX);
+        return CompletableFuture.supplyAsync(
+                () -> new BlockLayout(palette, pool.invoke(new ColumnTask(region, 0, chunksX * chunksZ))),
+                pool
+        );
+    }
+
+    /**
+     * Stops all layout workers
+     */
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private record Region(Shape shape, WeightedDistribution distribution, long seed, int minY, int maxY,
+                          int minChunkX, int minChunkZ, int chunksX) {}
+
+    /**
+     * Splits a range of chunk columns until it is small enough to compute directly
+     */
+    private static final class ColumnTask extends RecursiveTask<List<BlockLayout.Section>> {
+        private static final long serialVersionUID = 1L;
+
+        private final Region region;
+        private final int from;
+        private final int to;
+
+        private ColumnTask(Region region, int from, int to) {
+            this.region = region;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<BlockLayout.Section> compute() {
+            if (to - from <= COLUMNS_PER_TASK) {
+                List<BlockLayout.Section> sections = new ArrayList<>();
+                for (int column = from; column < to; column++) {
+                    computeChunk(column, sections);
+                }
+                return sections;
+            }
+
+            int middle = (from + to) >>> 1;
+            ColumnTask left = new ColumnTask(region, from, middle);
+            left.fork();
+            List<BlockLayout.Section> right = new ColumnTask(region, middle, to).compute();
+
+            // Keep chunk order stable so the apply job walks chunks in sequence
+            List<BlockLayout.Section> sections = left.join();
+            sections.addAll(right);
+            return sections;
+        }
+
+        private void computeChunk(int column, List<BlockLayout.Section> sections) {
+            int chunkX = region.minChunkX() + column % region.chunksX();
+            int chunkZ = region.minChunkZ() + column / region.chunksX();
+            Shape shape = region.shape();
+
+            // Resolve each column's span once for all sections of the chunk
+            int[] fromY = new int[256];
+            int[] toY = new int[256];
+            boolean any = false;
+            for (int i = 0; i < 256; i++) {
+                int x = (chunkX << 4) + (i & 15);
+                int z = (chunkZ << 4) + (i >> 4);
+                fromY[i] = Math.max(shape.columnMinY(x, z), region.minY());
+                toY[i] = Math.min(shape.columnMaxY(x, z), region.maxY());
+                any |= fromY[i] <= toY[i];
+            }
+            if (!any) {
+                return;
+            }
+
+            for (int sectionY = region.minY() >> 4; sectionY <= region.maxY() >> 4; sectionY++) {
+                int baseY = sectionY << 4;
+                byte[] entries = null;
+                int count = 0;
+
+                for (int i = 0; i < 256; i++) {
+                    int startY = Math.max(fromY[i], baseY);
+                    int endY = Math.min(toY[i], baseY + 15);
+                    int x = (chunkX << 4) + (i & 15);
+                    int z = (chunkZ << 4) + (i >> 4);
+
+                    for (int y = startY; y <= endY; y++) {
+                        int index = region.distribution().sampleIndex(region.seed(), x, y, z);
+                        if (index < 0) {
+                            continue;
+                        }
+                        if (entries == null) {
+                            entries = new byte[BlockLayout.SECTION_VOLUME];
+                        }
+                        entries[BlockLayout.index(i & 15, y - baseY, i >> 4)] = (byte) (index + 1);
+                        count++;
+                    }
+                }
+
+                if (entries != null) {
+                    sections.add(new BlockLayout.Section(chunkX, sectionY, chunkZ, entries, count));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package io.starseed.asteroidCore.world;
+
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Writes back only the positions of a layout marked in a {@link MinedBlockTracker},
+ * so the cost follows the number of mined blocks rather than the layout's volume.
+ */
+public class LayoutRefillJob implements BlockWriteJob {
+    private final World world;
+    private final List<BlockLayout.Section> sections;
+    private final BlockData[] palette;
+    private final BitSet positions;
+    private final int total;
+
+    // Cursor
+    private int bit;
+    private Chunk chunk;
+    private int blocksWritten;
+
+    LayoutRefillJob(World world, BlockLayout layout, BitSet positions, int total) {
+        this.world = world;
+        this.sections = layout.getSections();
+        this.palette = layout.getPalette();
+        this.positions = positions;
+        this.total = total;
+    }
+
+    @Override
+    public boolean step(TickBudget budget) {
+        while ((bit = positions.nextSetBit(bit)) >= 0) {
+            BlockLayout.Section section = sections.get(bit / BlockLayout.SECTION_VOLUME);
+            int index = bit % BlockLayout.SECTION_VOLUME;
+
+            if (chunk == null || chunk.getX() != section.getChunkX() || chunk.getZ() != section.getChunkZ()) {
+                if (!world.isChunkLoaded(section.getChunkX(), section.getChunkZ())) {
+                    // Loading is synchronous, so a cold chunk is only loaded as a tick's first work
+                    if (budget.getBlocksWritten() > 0) {
+                        return false;
+                    }
+                    chunk = world.getChunkAt(section.getChunkX(), section.getChunkZ());
+                    if (!budget.consume(1)) {
+                        return false;
+                    }
+                } else {
+                    chunk = world.getChunkAt(section.getChunkX(), section.getChunkZ());
+                }
+            }
+            chunk.getBlock(index & 15, (section.getSectionY() << 4) + (index >> 8), (index >> 4) & 15)
+                    .setBlockData(palette[section.getEntry(index) - 1], false);
+            blocksWritten++;
+            bit++;
+
+            if (!budget.consume()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int getBlocksWritten() {
+        return blocksWritten;
+    }
+
+    @Override
+    public double getProgress() {
+        return total == 0 ? 1.0 : (double) blocksWritten / total;
+    }
+}
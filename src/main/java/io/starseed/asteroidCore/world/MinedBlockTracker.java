@@ -0,0 +1,86 @@
+package io.starseed.asteroidCore.world;
+
+import org.bukkit.World;
+
+import java.util.BitSet;
+
+/**
+ * Records which blocks of a written layout have been mined since it was last restored.
+ * Bit {@code ordinal * 4096 + index} stands for entry {@code index} of the layout's
+ * section {@code ordinal}, so only positions the layout actually fills can be marked.
+ */
+public class MinedBlockTracker {
+    private final Shape shape;
+    private final WeightedDistribution distribution;
+    private final BlockLayout layout;
+    private BitSet mined;
+    private int minedCount;
+
+    public MinedBlockTracker(Shape shape, WeightedDistribution distribution, BlockLayout layout) {
+        this.shape = shape;
+        this.distribution = distribution;
+        this.layout = layout;
+        this.mined = new BitSet();
+    }
+
+    /**
+     * @return true if the layout was computed for this shape and distribution
+     */
+    public boolean matches(Shape shape, WeightedDistribution distribution) {
+        return this.shape.equals(shape) && this.distribution == distribution;
+    }
+
+    /**
+     * Marks a position as mined
+     * @return true if the position belongs to the layout and was not already marked
+     */
+    public synchronized boolean markMined(int x, int y, int z) {
+        int ordinal = layout.getSectionOrdinal(x >> 4, y >> 4, z >> 4);
+        if (ordinal < 0) {
+            return false;
+        }
+
+        int index = BlockLayout.index(x & 15, y & 15, z & 15);
+        if (layout.getSections().get(ordinal).getEntry(index) == 0) {
+            return false;
+        }
+
+        int bit = ordinal * BlockLayout.SECTION_VOLUME + index;
+        if (mined.get(bit)) {
+            return false;
+        }
+        mined.set(bit);
+        minedCount++;
+        return true;
+    }
+
+    public synchronized int getMinedCount() {
+        return minedCount;
+    }
+
+    /**
+     * @return The fraction of the layout's blocks that have been mined
+     */
+    public synchronized double getMinedRatio() {
+        long total = layout.getBlockCount();
+        return total == 0 ? 0.0 : (double) minedCount / total;
+    }
+
+    /**
+     * Creates a job that restores every mined position and starts tracking afresh.
+     * Blocks mined while the job runs are recorded for the next refill.
+     * @param world The world the layout was written to
+     * @return The refill job
+     */
+    public synchronized LayoutRefillJob createRefillJob(World world) {
+        BitSet snapshot = mined;
+        int count = minedCount;
+        mined = new BitSet();
+        minedCount = 0;
+        return new LayoutRefillJob(world, layout, snapshot, count);
+    }
+
+    public BlockLayout getLayout() {
+        return layout;
+    }
+}
@@ -0,0 +1,94 @@
+package io.starseed.asteroidCore.world;
+
+import io.starseed.asteroidCore.AsteroidCore;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Regenerates mineable regions, refilling only what was mined when that is cheaper.
+ * Each region, identified by a key unique to its owner (a planet world, a private mine),
+ * gets a {@link MinedBlockTracker} for the layout last written to it; block breaks are
+ * recorded against it. Below the configured mined
+ * ratio the tracked positions are restored from that layout, above it (or when the region's
+ * shape or resources changed) a fresh layout is computed and written in full.
+ */
+public class RegenerationManager {
+    private final AsteroidCore plugin;
+    private final Map<String, MinedBlockTracker> trackers;
+    private final double fullRewriteRatio;
+
+    // Metrics
+    private final AtomicLong refills = new AtomicLong();
+    private final AtomicLong fullRewrites = new AtomicLong();
+
+    public RegenerationManager(AsteroidCore plugin) {
+        this.plugin = plugin;
+        this.trackers = new ConcurrentHashMap<>();
+        this.fullRewriteRatio = plugin.getConfig().getDouble("world.regeneration.full-rewrite-ratio", 0.5);
+    }
+
+    /**
+     * Regenerates a region
+     * @param regionKey Identifies the region across regenerations
+     * @param world The world containing the region
+     * @param shape The region
+     * @param distribution The blocks to fill it with on a full rewrite
+     * @param seed The layout seed used on a full rewrite
+     * @return CompletableFuture completed on the main thread once the blocks are written
+     */
+    public CompletableFuture<Void> regenerate(String regionKey, World world, Shape shape,
+                                              WeightedDistribution distribution, long seed) {
+        MinedBlockTracker tracker = trackers.get(regionKey);
+        if (tracker != null && tracker.matches(shape, distribution)
+                && tracker.getMinedRatio() < fullRewriteRatio) {
+            refills.incrementAndGet();
+            return plugin.getBlockWriteQueue().submit(tracker.createRefillJob(world));
+        }
+
+        fullRewrites.incrementAndGet();
+        return plugin.getLayoutComputer().compute(world, shape, distribution, seed)
+                .thenCompose(layout -> {
+                    // Track against the new layout before it is written, so no break is missed
+                    trackers.put(regionKey, new MinedBlockTracker(shape, distribution, layout));
+                    return plugin.getBlockWriteQueue().submit(new LayoutApplyJob(world, layout));
+                });
+    }
+
+    /**
+     * Records a broken block if it belongs to a tracked region
+     * @param regionKey The region the block was broken in
+     * @param block The broken block
+     * @return true if the block was newly marked as mined
+     */
+    public boolean recordBreak(String regionKey, Block block) {
+        MinedBlockTracker tracker = trackers.get(regionKey);
+        return tracker != null && tracker.markMined(block.getX(), block.getY(), block.getZ());
+    }
+
+    /**
+     * Gets the tracker of a region
+     * @param regionKey The region key
+     * @return The tracker, or null if the region has not been generated since startup
+     */
+    public MinedBlockTracker getTracker(String regionKey) {
+        return trackers.get(regionKey);
+    }
+
+    /**
+     * Stops tracking a region, e.g. when it is unloaded
+     * @param regionKey The region key
+     */
+    public void forget(String regionKey) {
+        trackers.remove(regionKey);
+    }
+
+    public String getStatistics() {
+        return String.format("Tracked regions: %d, Refills: %d, Full rewrites: %d",
+                trackers.size(), refills.get(), fullRewrites.get());
+    }
+}
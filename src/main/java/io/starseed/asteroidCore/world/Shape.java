@@ -0,0 +1,156 @@
+package io.starseed.asteroidCore.world;
+
+import java.util.Objects;
+
+/**
+ * A solid region described column by column.
+ * Implementations must be immutable, since layouts are computed on several threads at once.
+ */
+public interface Shape {
+
+    int getMinX();
+    int getMaxX();
+    int getMinY();
+    int getMaxY();
+    int getMinZ();
+    int getMaxZ();
+
+    /**
+     * @return The lowest y inside the shape in the column, greater than
+     *         {@link #columnMaxY(int, int)} if the column is outside the shape
+     */
+    int columnMinY(int x, int z);
+
+    /**
+     * @return The highest y inside the shape in the column
+     */
+    int columnMaxY(int x, int z);
+
+    default boolean contains(int x, int y, int z) {
+        return y >= columnMinY(x, z) && y <= columnMaxY(x, z);
+    }
+
+    /**
+     * A ball of all positions within {@code radius} of the center
+     */
+    static Shape sphere(int centerX, int centerY, int centerZ, int radius) {
+        return new Sphere(centerX, centerY, centerZ, radius);
+    }
+
+    /**
+     * A box between two corners, inclusive
+     */
+    static Shape cuboid(int x1, int y1, int z1, int x2, int y2, int z2) {
+        return new Cuboid(Math.min(x1, x2), Math.min(y1, y2), Math.min(z1, z2),
+                Math.max(x1, x2), Math.max(y1, y2), Math.max(z1, z2));
+    }
+
+    final class Sphere implements Shape {
+        private final int centerX;
+        private final int centerY;
+        private final int centerZ;
+        private final int radius;
+
+        private Sphere(int centerX, int centerY, int centerZ, int radius) {
+            this.centerX = centerX;
+            this.centerY = centerY;
+            this.centerZ = centerZ;
+            this.radius = radius;
+        }
+
+        @Override public int getMinX() { return centerX - radius; }
+        @Override public int getMaxX() { return centerX + radius; }
+        @Override public int getMinY() { return centerY - radius; }
+        @Override public int getMaxY() { return centerY + radius; }
+        @Override public int getMinZ() { return centerZ - radius; }
+        @Override public int getMaxZ() { return centerZ + radius; }
+
+        @Override
+        public int columnMinY(int x, int z) {
+            int halfHeight = halfHeight(x, z);
+            return halfHeight < 0 ? Integer.MAX_VALUE : centerY - halfHeight;
+        }
+
+        @Override
+        public int columnMaxY(int x, int z) {
+            int halfHeight = halfHeight(x, z);
+            return halfHeight < 0 ? Integer.MIN_VALUE : centerY + halfHeight;
+        }
+
+        // Largest h with dx² + h² + dz² <= r², or -1 outside the sphere
+        private int halfHeight(int x, int z) {
+            long dx = x - centerX;
+            long dz = z - centerZ;
+            long remaining = (long) radius * radius - dx * dx - dz * dz;
+            if (remaining < 0) {
+                return -1;
+            }
+
+            int h = (int) Math.sqrt(remaining);
+            while ((long) h * h > remaining) h--;
+            while ((long) (h + 1) * (h + 1) <= remaining) h++;
+            return h;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Sphere other)) return false;
+            return centerX == other.centerX && centerY == other.centerY
+                    && centerZ == other.centerZ && radius == other.radius;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(centerX, centerY, centerZ, radius);
+        }
+    }
+
+    final class Cuboid implements Shape {
+        private final int minX;
+        private final int minY;
+        private final int minZ;
+        private final int maxX;
+        private final int maxY;
+        private final int maxZ;
+
+        private Cuboid(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+            this.minX = minX;
+            this.minY = minY;
+            this.minZ = minZ;
+            this.maxX = maxX;
+            this.maxY = maxY;
+            this.maxZ = maxZ;
+        }
+
+        @Override public int getMinX() { return minX; }
+        @Override public int getMaxX() { return maxX; }
+        @Override public int getMinY() { return minY; }
+        @Override public int getMaxY() { return maxY; }
+        @Override public int getMinZ() { return minZ; }
+        @Override public int getMaxZ() { return maxZ; }
+
+        @Override
+        public int columnMinY(int x, int z) {
+            return x < minX || x > maxX || z < minZ || z > maxZ ? Integer.MAX_VALUE : minY;
+        }
+
+        @Override
+        public int columnMaxY(int x, int z) {
+            return x < minX || x > maxX || z < minZ || z > maxZ ? Integer.MIN_VALUE : maxY;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Cuboid other)) return false;
+            return minX == other.minX && minY == other.minY && minZ == other.minZ
+                    && maxX == other.maxX && maxY == other.maxY && maxZ == other.maxZ;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(minX, minY, minZ, maxX, maxY, maxZ);
+        }
+    }
+}
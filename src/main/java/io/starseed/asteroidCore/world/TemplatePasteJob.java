@@ -0,0 +1,121 @@
+package io.starseed.asteroidCore.world;
+
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+
+/**
+ * Writes a {@link BlockTemplate} into a world, one chunk column at a time.
+ * Every block was resolved when the template was built, so the main thread only copies
+ * palette entries into blocks.
+ */
+public class TemplatePasteJob implements BlockWriteJob {
+    private final World world;
+    private final BlockTemplate template;
+    private final BlockData[] palette;
+
+    // Template box in world coordinates; minY and maxY are clipped to the world's height
+    private final int boxMinY;
+    private final int minX;
+    private final int minY;
+    private final int minZ;
+    private final int maxX;
+    private final int maxY;
+    private final int maxZ;
+    private final int minChunkX;
+    private final int minChunkZ;
+    private final int chunksX;
+    private final int columns;
+
+    // Cursor
+    private int column;
+    private int position;
+    private Chunk chunk;
+    private long blocksWritten;
+
+    /**
+     * @param world The world to paste into
+     * @param template The template
+     * @param x Paste position X; the template's offsets are relative to it
+     * @param y Paste position Y
+     * @param z Paste position Z
+     */
+    public TemplatePasteJob(World world, BlockTemplate template, int x, int y, int z) {
+        this.world = world;
+        this.template = template;
+        this.palette = template.getPalette();
+
+        this.minX = x + template.getOffsetX();
+        this.minZ = z + template.getOffsetZ();
+        this.maxX = minX + template.getSizeX() - 1;
+        this.maxZ = minZ + template.getSizeZ() - 1;
+        this.boxMinY = y + template.getOffsetY();
+        this.minY = Math.max(world.getMinHeight(), boxMinY);
+        this.maxY = Math.min(world.getMaxHeight() - 1, boxMinY + template.getSizeY() - 1);
+
+        this.minChunkX = minX >> 4;
+        this.minChunkZ = minZ >> 4;
+        this.chunksX = (maxX >> 4) - minChunkX + 1;
+        this.columns = minY > maxY ? 0 : chunksX * ((maxZ >> 4) - minChunkZ + 1);
+    }
+
+    @Override
+    public boolean step(TickBudget budget) {
+        while (column < columns) {
+            int chunkX = minChunkX + column % chunksX;
+            int chunkZ = minChunkZ + column / chunksX;
+            if (chunk == null || chunk.getX() != chunkX || chunk.getZ() != chunkZ) {
+                if (!world.isChunkLoaded(chunkX, chunkZ)) {
+                    // Loading is synchronous, so a cold chunk is only loaded as a tick's first work
+                    if (budget.getBlocksWritten() > 0) {
+                        return false;
+                    }
+                    chunk = world.getChunkAt(chunkX, chunkZ);
+                    if (!budget.consume(1)) {
+                        return false;
+                    }
+                } else {
+                    chunk = world.getChunkAt(chunkX, chunkZ);
+                }
+            }
+
+            // The part of the template inside this chunk
+            int fromX = Math.max(minX, chunkX << 4);
+            int fromZ = Math.max(minZ, chunkZ << 4);
+            int width = Math.min(maxX, (chunkX << 4) + 15) - fromX + 1;
+            int depth = Math.min(maxZ, (chunkZ << 4) + 15) - fromZ + 1;
+            int volume = width * depth * (maxY - minY + 1);
+
+            while (position < volume) {
+                int worldX = fromX + position % width;
+                int worldZ = fromZ + (position / width) % depth;
+                int worldY = minY + position / (width * depth);
+                position++;
+
+                int entry = template.getEntry(worldX - minX, worldY - boxMinY, worldZ - minZ);
+                if (entry != 0) {
+                    // No physics: neighbours are written in the same pass anyway
+                    chunk.getBlock(worldX & 15, worldY, worldZ & 15).setBlockData(palette[entry - 1], false);
+                    blocksWritten++;
+                    if (!budget.consume()) {
+                        return false;
+                    }
+                }
+            }
+
+            position = 0;
+            column++;
+        }
+        return true;
+    }
+
+    public long getBlocksWritten() {
+        return blocksWritten;
+    }
+
+    @Override
+    public double getProgress() {
+        long total = template.getBlockCount();
+        return total == 0 ? 1.0 : Math.min(1.0, (double) blocksWritten / total);
+    }
+}
@@ -0,0 +1,61 @@
+package io.starseed.asteroidCore.world;
+
+/**
+ * The block writes left in the current tick, shared by every job the
+ * {@link BlockWriteQueue} steps during that tick. A tick ends when either its time
+ * or its block allowance runs out.
+ */
+public final class TickBudget {
+    private static final int CLOCK_CHECK_INTERVAL = 64;
+
+    private final long deadline;
+    private final long maxBlocks;
+    private long blocksWritten;
+    private boolean exhausted;
+
+    TickBudget(long deadline, long maxBlocks) {
+        this.deadline = deadline;
+        this.maxBlocks = maxBlocks;
+    }
+
+    /**
+     * Records one written block
+     * @return true if more blocks may be written this tick
+     */
+    public boolean consume() {
+        blocksWritten++;
+        if (blocksWritten >= maxBlocks
+                || (blocksWritten % CLOCK_CHECK_INTERVAL == 0 && System.nanoTime() >= deadline)) {
+            exhausted = true;
+        }
+        return !exhausted;
+    }
+
+    /**
+     * Records work that is expensive on its own, such as loading a chunk, and always
+     * checks the clock afterwards
+     * @param count The number of writes the work counts as
+     * @return true if more blocks may be written this tick
+     */
+    public boolean consume(long count) {
+        blocksWritten += count;
+        if (blocksWritten >= maxBlocks || System.nanoTime() >= deadline) {
+            exhausted = true;
+        }
+        return !exhausted;
+    }
+
+    /**
+     * @return true if the tick has room for more writes
+     */
+    public boolean hasRemaining() {
+        if (!exhausted && (blocksWritten >= maxBlocks || System.nanoTime() >= deadline)) {
+            exhausted = true;
+        }
+        return !exhausted;
+    }
+
+    public long getBlocksWritten() {
+        return blocksWritten;
+    }
+}
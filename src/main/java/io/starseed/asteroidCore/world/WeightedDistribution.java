@@ -0,0 +1,189 @@
+package io.starseed.asteroidCore.world;
+
+import org.bukkit.Material;
+import org.bukkit.block.data.BlockData;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Resource rates compiled into a Vose alias table over block data.
+ * Sampling is O(1) regardless of the number of materials. Positional sampling hashes the
+ * seed with the coordinates, so a layout depends only on the seed and never on the order
+ * or the thread in which positions are generated.
+ * Instances are immutable and safe to share between threads.
+ */
+public final class WeightedDistribution {
+    private static final WeightedDistribution EMPTY = new WeightedDistribution(
+            new Material[0], new BlockData[0], new double[0], new int[0]);
+
+    private final Material[] materials;
+    private final BlockData[] blocks;
+    private final double[] probability;
+    private final int[] alias;
+
+    private WeightedDistribution(Material[] materials, BlockData[] blocks, double[] probability, int[] alias) {
+        this.materials = materials;
+        this.blocks = blocks;
+        this.probability = probability;
+        this.alias = alias;
+    }
+
+    /**
+     * Compiles resource rates. Unknown materials, non-block materials and
+     * non-positive weights are ignored.
+     * @param rates Material names mapped to weights
+     * @return The compiled distribution, empty if no rate names a block
+     */
+    public static WeightedDistribution compile(Map<String, Double> rates) {
+        List<Material> validMaterials = new ArrayList<>();
+        List<Double> weights = new ArrayList<>();
+        double total = 0;
+
+        for (Map.Entry<String, Double> entry : rates.entrySet()) {
+            Material material = Material.matchMaterial(entry.getKey());
+            Double weight = entry.getValue();
+            if (material == null || !material.isBlock() || weight == null || weight <= 0) {
+                continue;
+            }
+            validMaterials.add(material);
+            weights.add(weight);
+            total += weight;
+        }
+
+        int n = validMaterials.size();
+        if (n == 0) {
+            return EMPTY;
+        }
+
+        Material[] materials = validMaterials.toArray(new Material[0]);
+        BlockData[] blocks = new BlockData[n];
+        for (int i = 0; i < n; i++) {
+            blocks[i] = materials[i].createBlockData();
+        }
+
+        // Vose's method: pair each under-full column with an over-full one
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights.get(i) * n / total;
+            if (scaled[i] < 1.0) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+
+        double[] probability = new double[n];
+        int[] alias = new int[n];
+
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+
+            probability[less] = scaled[less];
+            alias[less] = more;
+
+            scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+            if (scaled[more] < 1.0) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+
+        // Whatever is left is full up to rounding error
+        while (largeCount > 0) {
+            probability[large[--largeCount]] = 1.0;
+        }
+        while (smallCount > 0) {
+            probability[small[--smallCount]] = 1.0;
+        }
+
+        return new WeightedDistribution(materials, blocks, probability, alias);
+    }
+
+    /**
+     * Samples the palette index for a position
+     * @param seed The layout seed
+     * @return The index into the palette, or -1 if the distribution is empty
+     */
+    public int sampleIndex(long seed, int x, int y, int z) {
+        if (blocks.length == 0) {
+            return -1;
+        }
+        return select(hash(seed, x, y, z));
+    }
+
+    /**
+     * Samples the block for a position
+     * @param seed The layout seed
+     * @return The block data, or null if the distribution is empty
+     */
+    @Nullable
+    public BlockData sample(long seed, int x, int y, int z) {
+        int index = sampleIndex(seed, x, y, z);
+        return index < 0 ? null : blocks[index];
+    }
+
+    /**
+     * Samples a block from a random source. Use {@link SplittableRandom#split()} to give
+     * each parallel worker its own stream.
+     * @param random The random source
+     * @return The block data, or null if the distribution is empty
+     */
+    @Nullable
+    public BlockData sample(SplittableRandom random) {
+        if (blocks.length == 0) {
+            return null;
+        }
+        return blocks[select(random.nextLong())];
+    }
+
+    private int select(long bits) {
+        // High 32 bits pick the column, low 32 bits flip the biased coin
+        int column = (int) (((bits >>> 32) * blocks.length) >>> 32);
+        double coin = (bits & 0xFFFFFFFFL) * 0x1.0p-32;
+        return coin < probability[column] ? column : alias[column];
+    }
+
+    private static long hash(long seed, int x, int y, int z) {
+        long h = seed;
+        h = mix64(h ^ (x * 0x9E3779B97F4A7C15L));
+        h = mix64(h ^ (y * 0xC2B2AE3D27D4EB4FL));
+        h = mix64(h ^ (z * 0x165667B19E3779F9L));
+        return h;
+    }
+
+    /**
+     * SplitMix64 finalizer
+     */
+    public static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public boolean isEmpty() {
+        return blocks.length == 0;
+    }
+
+    public int size() {
+        return blocks.length;
+    }
+
+    public Material getMaterial(int index) {
+        return materials[index];
+    }
+
+    public BlockData getBlock(int index) {
+        return blocks[index];
+    }
+}
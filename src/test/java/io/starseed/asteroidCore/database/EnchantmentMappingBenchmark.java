@@ -0,0 +1,151 @@
+package io.starseed.asteroidCore.database;
+
+import io.starseed.asteroidCore.database.codec.ColumnCodecs;
+import io.starseed.asteroidCore.models.Enchantment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of mapping one pickaxe row, resolving its enchantments through the
+ * {@link EnchantmentRegistry} against the previous query per enchantment.
+ * Runs on an in-memory H2 database, so the query path is a lower bound of what a
+ * networked MySQL round trip costs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnchantmentMappingBenchmark {
+    private static final int ENCHANTMENT_COUNT = 32;
+    private static final int PICKAXE_COUNT = 100;
+
+    @Param({"3", "10"})
+    private int enchantmentsPerPickaxe;
+
+    private Connection connection;
+    private PreparedStatement selectPickaxe;
+    private PreparedStatement selectEnchantment;
+    private EnchantmentRegistry registry;
+    private int nextId;
+
+    @Setup
+    public void setup() throws SQLException {
+        connection = DriverManager.getConnection(
+                "jdbc:h2:mem:enchantment_mapping_" + enchantmentsPerPickaxe + ";MODE=MySQL");
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("""
+                CREATE TABLE enchantments (
+                    id VARCHAR(64) PRIMARY KEY,
+                    name VARCHAR(64),
+                    max_level INT,
+                    price_multiplier DOUBLE,
+                    description TEXT
+                )
+            """);
+            stmt.execute("""
+                CREATE TABLE pickaxes (
+                    id INT PRIMARY KEY,
+                    enchantments BLOB
+                )
+            """);
+        }
+
+        registry = new EnchantmentRegistry(null, null);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO enchantments (id, name, max_level, price_multiplier, description) VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < ENCHANTMENT_COUNT; i++) {
+                Enchantment enchantment = new Enchantment("enchantment_" + i, "Enchantment " + i, 10, 1.5, "Benchmark enchantment");
+                insert.setString(1, enchantment.getId());
+                insert.setString(2, enchantment.getName());
+                insert.setInt(3, enchantment.getMaxLevel());
+                insert.setDouble(4, enchantment.getPriceMultiplier());
+                insert.setString(5, enchantment.getDescription());
+                insert.executeUpdate();
+                registry.register(enchantment);
+            }
+        }
+
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO pickaxes (id, enchantments) VALUES (?, ?)")) {
+            for (int id = 0; id < PICKAXE_COUNT; id++) {
+                Map<String, Integer> levels = new HashMap<>();
+                for (int i = 0; i < enchantmentsPerPickaxe; i++) {
+                    levels.put("enchantment_" + ((id + i) % ENCHANTMENT_COUNT), 1 + i);
+                }
+                insert.setInt(1, id);
+                insert.setBytes(2, ColumnCodecs.ENCHANTMENT_LEVELS.encode(levels));
+                insert.executeUpdate();
+            }
+        }
+
+        selectPickaxe = connection.prepareStatement("SELECT * FROM pickaxes WHERE id = ?");
+        selectEnchantment = connection.prepareStatement("SELECT * FROM enchantments WHERE id = ?");
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public Map<Enchantment, Integer> registryLookup() throws SQLException {
+        Map<Enchantment, Integer> enchantments = new HashMap<>();
+        for (Map.Entry<String, Integer> entry : readLevels().entrySet()) {
+            Enchantment enchantment = registry.get(entry.getKey());
+            if (enchantment != null) {
+                enchantments.put(enchantment, entry.getValue());
+            }
+        }
+        return enchantments;
+    }
+
+    @Benchmark
+    public Map<Enchantment, Integer> queryPerEnchantment() throws SQLException {
+        Map<Enchantment, Integer> enchantments = new HashMap<>();
+        for (Map.Entry<String, Integer> entry : readLevels().entrySet()) {
+            selectEnchantment.setString(1, entry.getKey());
+            try (ResultSet rs = selectEnchantment.executeQuery()) {
+                if (rs.next()) {
+                    enchantments.put(new Enchantment(
+                            rs.getString("id"),
+                            rs.getString("name"),
+                            rs.getInt("max_level"),
+                            rs.getDouble("price_multiplier"),
+                            rs.getString("description")
+                    ), entry.getValue());
+                }
+            }
+        }
+        return enchantments;
+    }
+
+    private Map<String, Integer> readLevels() throws SQLException {
+        selectPickaxe.setInt(1, nextId);
+        nextId = (nextId + 1) % PICKAXE_COUNT;
+        try (ResultSet rs = selectPickaxe.executeQuery()) {
+            rs.next();
+            return ColumnCodecs.ENCHANTMENT_LEVELS.decode(rs.getBytes("enchantments"));
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package io.starseed.asteroidCore.database.codec;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gson JSON, as the columns were stored before, against the binary column codecs.
+ * Row sizes are printed once per trial, since JMH only reports times.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColumnCodecBenchmark {
+    private static final Type RATES_TYPE = new TypeToken<Map<String, Double>>(){}.getType();
+    private static final Type WHITELIST_TYPE = new TypeToken<Set<UUID>>(){}.getType();
+    private static final String[] MATERIALS = {
+            "STONE", "COBBLESTONE", "COAL_ORE", "IRON_ORE", "GOLD_ORE", "REDSTONE_ORE",
+            "LAPIS_ORE", "DIAMOND_ORE", "EMERALD_ORE", "DEEPSLATE", "ANDESITE", "GRANITE"
+    };
+
+    @Param({"10", "100"})
+    private int whitelistSize;
+
+    private final Gson gson = new Gson();
+    private Map<String, Double> rates;
+    private Set<UUID> whitelist;
+    private String ratesJson;
+    private String whitelistJson;
+    private byte[] ratesBinary;
+    private byte[] whitelistBinary;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        rates = new HashMap<>();
+        for (String material : MATERIALS) {
+            rates.put(material, random.nextDouble());
+        }
+        whitelist = new HashSet<>();
+        for (int i = 0; i < whitelistSize; i++) {
+            whitelist.add(new UUID(random.nextLong(), random.nextLong()));
+        }
+
+        ratesJson = gson.toJson(rates, RATES_TYPE);
+        whitelistJson = gson.toJson(whitelist, WHITELIST_TYPE);
+        ratesBinary = ColumnCodecs.RESOURCE_RATES.encode(rates);
+        whitelistBinary = ColumnCodecs.UUID_SET.encode(whitelist);
+
+        System.out.printf("%nRow size - resource_rates (%d materials): JSON %d bytes, binary %d bytes; "
+                        + "whitelist (%d UUIDs): JSON %d bytes, binary %d bytes%n",
+                rates.size(), ratesJson.getBytes(StandardCharsets.UTF_8).length, ratesBinary.length,
+                whitelist.size(), whitelistJson.getBytes(StandardCharsets.UTF_8).length, whitelistBinary.length);
+    }
+
+    @Benchmark
+    public String gsonEncodeRates() {
+        return gson.toJson(rates, RATES_TYPE);
+    }
+
+    @Benchmark
+    public byte[] codecEncodeRates() {
+        return ColumnCodecs.RESOURCE_RATES.encode(rates);
+    }
+
+    @Benchmark
+    public Map<String, Double> gsonDecodeRates() {
+        return gson.fromJson(ratesJson, RATES_TYPE);
+    }
+
+    @Benchmark
+    public Map<String, Double> codecDecodeRates() {
+        return ColumnCodecs.RESOURCE_RATES.decode(ratesBinary);
+    }
+
+    @Benchmark
+    public String gsonEncodeWhitelist() {
+        return gson.toJson(whitelist, WHITELIST_TYPE);
+    }
+
+    @Benchmark
+    public byte[] codecEncodeWhitelist() {
+        return ColumnCodecs.UUID_SET.encode(whitelist);
+    }
+
+    @Benchmark
+    public Set<UUID> gsonDecodeWhitelist() {
+        return gson.fromJson(whitelistJson, WHITELIST_TYPE);
+    }
+
+    @Benchmark
+    public Set<UUID> codecDecodeWhitelist() {
+        return ColumnCodecs.UUID_SET.decode(whitelistBinary);
+    }
+}
@@ -0,0 +1,137 @@
+package io.starseed.asteroidCore.database.codec;
+
+import io.starseed.asteroidCore.models.Crystal;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ColumnCodecsTest {
+
+    @Test
+    void resourceRatesRoundTrip() {
+        Map<String, Double> rates = Map.of("STONE", 0.1, "IRON_ORE", 0.25, "DIAMOND_ORE", 1e-9);
+
+        assertEquals(rates, ColumnCodecs.RESOURCE_RATES.decode(ColumnCodecs.RESOURCE_RATES.encode(rates)));
+    }
+
+    @Test
+    void uuidSetRoundTripUsesSixteenBytesPerUuid() {
+        Set<UUID> whitelist = new LinkedHashSet<>();
+        for (int i = 0; i < 100; i++) {
+            whitelist.add(UUID.randomUUID());
+        }
+
+        byte[] encoded = ColumnCodecs.UUID_SET.encode(whitelist);
+
+        assertEquals(whitelist, ColumnCodecs.UUID_SET.decode(encoded));
+        // Format byte, one-byte count below 128, then the UUIDs
+        assertEquals(1 + 1 + 16 * 100, encoded.length);
+    }
+
+    @Test
+    void enchantmentLevelsRoundTrip() {
+        Map<String, Integer> levels = Map.of("efficiency", 5, "fortune", 1000, "cursed", -2);
+
+        assertEquals(levels, ColumnCodecs.ENCHANTMENT_LEVELS.decode(ColumnCodecs.ENCHANTMENT_LEVELS.encode(levels)));
+    }
+
+    @Test
+    void crystalsRoundTrip() {
+        Instant expiresAt = Instant.ofEpochMilli(1_700_000_000_123L);
+        Crystal crystal = new Crystal("c1", "Ruby", Map.of("multiplier", 1.5, "speed", 0.2), 3600L, expiresAt);
+
+        List<Crystal> decoded = ColumnCodecs.CRYSTALS.decode(ColumnCodecs.CRYSTALS.encode(List.of(crystal)));
+
+        assertEquals(1, decoded.size());
+        Crystal result = decoded.get(0);
+        assertEquals("c1", result.getId());
+        assertEquals("Ruby", result.getName());
+        assertEquals(crystal.getBonuses(), result.getBonuses());
+        assertEquals(3600L, result.getDuration());
+        assertEquals(expiresAt, result.getExpiresAt());
+    }
+
+    @Test
+    void nullDecodesToMutableEmptyValue() {
+        Map<String, Double> rates = ColumnCodecs.RESOURCE_RATES.decode(null);
+        Set<UUID> whitelist = ColumnCodecs.UUID_SET.decode(new byte[0]);
+
+        assertTrue(rates.isEmpty());
+        assertTrue(whitelist.isEmpty());
+        rates.put("STONE", 1.0);
+        whitelist.add(UUID.randomUUID());
+    }
+
+    @Test
+    void nullEncodesAsEmptyValue() {
+        assertTrue(ColumnCodecs.UUID_SET.decode(ColumnCodecs.UUID_SET.encode(null)).isEmpty());
+    }
+
+    @Test
+    void legacyJsonRowsDecode() {
+        UUID player = UUID.randomUUID();
+
+        assertEquals(Map.of("STONE", 0.5, "IRON_ORE", 0.25),
+                ColumnCodecs.RESOURCE_RATES.decode(json("{\"STONE\":0.5,\"IRON_ORE\":0.25}")));
+        assertEquals(Set.of(player),
+                ColumnCodecs.UUID_SET.decode(json("[\"" + player + "\"]")));
+        assertEquals(Map.of("efficiency", 3),
+                ColumnCodecs.ENCHANTMENT_LEVELS.decode(json("{\"efficiency\":3}")));
+        assertTrue(ColumnCodecs.CRYSTALS.decode(json("[]")).isEmpty());
+        assertEquals(new HashMap<>(), ColumnCodecs.RESOURCE_RATES.decode(json("null")));
+    }
+
+    @Test
+    void legacyJsonCrystalsDecode() {
+        List<Crystal> crystals = ColumnCodecs.CRYSTALS.decode(json("[{\"id\":\"c1\",\"name\":\"Ruby\","
+                + "\"bonuses\":{\"multiplier\":1.5},\"duration\":60,"
+                + "\"expiresAt\":{\"seconds\":1700000000,\"nanos\":5000}}]"));
+
+        assertEquals(1, crystals.size());
+        assertEquals("Ruby", crystals.get(0).getName());
+        assertEquals(Map.of("multiplier", 1.5), crystals.get(0).getBonuses());
+        assertEquals(Instant.ofEpochSecond(1_700_000_000L, 5000), crystals.get(0).getExpiresAt());
+    }
+
+    @Test
+    void truncatedValueIsRejected() {
+        byte[] encoded = ColumnCodecs.RESOURCE_RATES.encode(Map.of("STONE", 0.5));
+
+        assertThrows(IllegalStateException.class,
+                () -> ColumnCodecs.RESOURCE_RATES.decode(Arrays.copyOf(encoded, encoded.length - 1)));
+    }
+
+    @Test
+    void countBeyondRemainingBytesIsRejected() {
+        // Format byte, then a count of 2^28 - 1 with no elements behind it
+        byte[] corrupt = {0x01, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x7F};
+
+        assertThrows(IllegalStateException.class, () -> ColumnCodecs.CRYSTALS.decode(corrupt));
+        assertThrows(IllegalStateException.class, () -> ColumnCodecs.UUID_SET.decode(corrupt));
+    }
+
+    @Test
+    void negativeVarIntIsRejected() {
+        // Ten-byte varint that decodes to -1
+        byte[] corrupt = {0x01, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
+                (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x01};
+
+        assertThrows(IllegalStateException.class, () -> ColumnCodecs.ENCHANTMENT_LEVELS.decode(corrupt));
+    }
+
+    private static byte[] json(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
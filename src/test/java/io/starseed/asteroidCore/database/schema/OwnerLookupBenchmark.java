@@ -0,0 +1,215 @@
+package io.starseed.asteroidCore.database.schema;
+
+import io.starseed.asteroidCore.database.codec.UuidBytes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * The lookups that run on every join, against the schema before migration 3 (UUIDs as
+ * VARCHAR(36)) and after it (UUIDs as BINARY(16) with a named owner index).
+ * Runs on a file-backed H2 database in MySQL mode, the embedded database the plugin ships with.
+ * Table sizes, including their indexes, are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OwnerLookupBenchmark {
+    private static final int PICKAXES_PER_PLAYER = 2;
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"1000", "100000"})
+    private int playerCount;
+
+    private Path directory;
+    private Connection connection;
+    private UUID[] owners;
+    private PreparedStatement legacyPlayer;
+    private PreparedStatement legacyPickaxes;
+    private PreparedStatement binaryPlayer;
+    private PreparedStatement binaryPickaxes;
+    private int nextOwner;
+
+    @Setup
+    public void setup() throws SQLException, IOException {
+        directory = Files.createTempDirectory("owner_lookup");
+        connection = DriverManager.getConnection("jdbc:h2:" + directory.resolve("bench").toAbsolutePath() + ";MODE=MySQL");
+        try (Statement stmt = connection.createStatement()) {
+            stmt.executeUpdate("""
+                CREATE TABLE legacy_players (
+                    uuid VARCHAR(36) PRIMARY KEY,
+                    username VARCHAR(16) NOT NULL
+                )
+            """);
+            stmt.executeUpdate("""
+                CREATE TABLE legacy_pickaxes (
+                    id INT AUTO_INCREMENT PRIMARY KEY,
+                    owner_uuid VARCHAR(36) NOT NULL,
+                    name VARCHAR(64),
+                    FOREIGN KEY (owner_uuid) REFERENCES legacy_players(uuid) ON DELETE CASCADE
+                )
+            """);
+            stmt.executeUpdate("""
+                CREATE TABLE players (
+                    uuid BINARY(16) PRIMARY KEY,
+                    username VARCHAR(16) NOT NULL
+                )
+            """);
+            stmt.executeUpdate("""
+                CREATE TABLE pickaxes (
+                    id INT AUTO_INCREMENT PRIMARY KEY,
+                    owner_uuid BINARY(16) NOT NULL,
+                    name VARCHAR(64),
+                    CONSTRAINT fk_pickaxes_owner FOREIGN KEY (owner_uuid) REFERENCES players(uuid) ON DELETE CASCADE
+                )
+            """);
+            stmt.executeUpdate("CREATE INDEX idx_pickaxes_owner ON pickaxes (owner_uuid)");
+        }
+
+        Random random = new Random(42);
+        owners = new UUID[playerCount];
+        for (int i = 0; i < playerCount; i++) {
+            owners[i] = new UUID(random.nextLong(), random.nextLong());
+        }
+
+        connection.setAutoCommit(false);
+        try (PreparedStatement legacyPlayerInsert = connection.prepareStatement(
+                     "INSERT INTO legacy_players (uuid, username) VALUES (?, ?)");
+             PreparedStatement legacyPickaxeInsert = connection.prepareStatement(
+                     "INSERT INTO legacy_pickaxes (owner_uuid, name) VALUES (?, ?)");
+             PreparedStatement playerInsert = connection.prepareStatement(
+                     "INSERT INTO players (uuid, username) VALUES (?, ?)");
+             PreparedStatement pickaxeInsert = connection.prepareStatement(
+                     "INSERT INTO pickaxes (owner_uuid, name) VALUES (?, ?)")) {
+            for (int i = 0; i < playerCount; i++) {
+                String username = "player" + i;
+                legacyPlayerInsert.setString(1, owners[i].toString());
+                legacyPlayerInsert.setString(2, username);
+                legacyPlayerInsert.addBatch();
+                playerInsert.setBytes(1, UuidBytes.toBytes(owners[i]));
+                playerInsert.setString(2, username);
+                playerInsert.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0 || i == playerCount - 1) {
+                    legacyPlayerInsert.executeBatch();
+                    playerInsert.executeBatch();
+                }
+            }
+            // Pickaxes are inserted in a shuffled owner order, as players join over time
+            for (int n = 0; n < PICKAXES_PER_PLAYER; n++) {
+                for (int i = 0; i < playerCount; i++) {
+                    UUID owner = owners[random.nextInt(playerCount)];
+                    legacyPickaxeInsert.setString(1, owner.toString());
+                    legacyPickaxeInsert.setString(2, "Pickaxe");
+                    legacyPickaxeInsert.addBatch();
+                    pickaxeInsert.setBytes(1, UuidBytes.toBytes(owner));
+                    pickaxeInsert.setString(2, "Pickaxe");
+                    pickaxeInsert.addBatch();
+                    if ((i + 1) % BATCH_SIZE == 0 || i == playerCount - 1) {
+                        legacyPickaxeInsert.executeBatch();
+                        pickaxeInsert.executeBatch();
+                    }
+                }
+            }
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CHECKPOINT");
+        }
+
+        System.out.printf("%nDisk space - players: VARCHAR(36) %d bytes, BINARY(16) %d bytes; "
+                        + "pickaxes: VARCHAR(36) %d bytes, BINARY(16) %d bytes%n",
+                diskSpaceUsed("legacy_players"), diskSpaceUsed("players"),
+                diskSpaceUsed("legacy_pickaxes"), diskSpaceUsed("pickaxes"));
+
+        legacyPlayer = connection.prepareStatement("SELECT * FROM legacy_players WHERE uuid = ?");
+        legacyPickaxes = connection.prepareStatement("SELECT * FROM legacy_pickaxes WHERE owner_uuid = ?");
+        binaryPlayer = connection.prepareStatement("SELECT * FROM players WHERE uuid = ?");
+        binaryPickaxes = connection.prepareStatement("SELECT * FROM pickaxes WHERE owner_uuid = ?");
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException, IOException {
+        connection.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public int legacyPlayerByUuid() throws SQLException {
+        legacyPlayer.setString(1, nextOwner().toString());
+        return countRows(legacyPlayer);
+    }
+
+    @Benchmark
+    public int binaryPlayerByUuid() throws SQLException {
+        binaryPlayer.setBytes(1, UuidBytes.toBytes(nextOwner()));
+        return countRows(binaryPlayer);
+    }
+
+    @Benchmark
+    public int legacyPickaxesByOwner() throws SQLException {
+        legacyPickaxes.setString(1, nextOwner().toString());
+        return countRows(legacyPickaxes);
+    }
+
+    @Benchmark
+    public int binaryPickaxesByOwner() throws SQLException {
+        binaryPickaxes.setBytes(1, UuidBytes.toBytes(nextOwner()));
+        return countRows(binaryPickaxes);
+    }
+
+    private long diskSpaceUsed(String table) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT DISK_SPACE_USED('" + table + "')")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private UUID nextOwner() {
+        UUID owner = owners[nextOwner];
+        nextOwner = (nextOwner + 1) % owners.length;
+        return owner;
+    }
+
+    private static int countRows(PreparedStatement stmt) throws SQLException {
+        int rows = 0;
+        try (ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                rows++;
+            }
+        }
+        return rows;
+    }
+}
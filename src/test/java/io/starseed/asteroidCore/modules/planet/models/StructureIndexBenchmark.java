@@ -0,0 +1,104 @@
+package io.starseed.asteroidCore.modules.planet.models;
+
+import org.bukkit.Location;
+import org.bukkit.util.BoundingBox;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Placement checks through the {@link StructureIndex} grid against a scan over every
+ * structure on the planet. Structures are 8x8x8 boxes spread over a 4096x4096 area.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StructureIndexBenchmark {
+    private static final int AREA_SIZE = 4096;
+    private static final int STRUCTURE_SIZE = 8;
+    private static final double MARGIN = 16;
+    private static final int QUERY_COUNT = 1024;
+
+    @Param({"100", "1000", "10000"})
+    private int structureCount;
+
+    private StructureIndex index;
+    private List<BoundingBox> allBounds;
+    private BoundingBox[] queries;
+    private int nextQuery;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        UUID owner = new UUID(random.nextLong(), random.nextLong());
+        index = new StructureIndex();
+        allBounds = new ArrayList<>();
+
+        for (int id = 0; id < structureCount; id++) {
+            BoundingBox bounds = randomBox(random);
+            Location location = new Location(null, bounds.getMinX(), bounds.getMinY(), bounds.getMinZ());
+            index.add(new PlanetStructure(id, owner, "benchmark", "benchmark", location, bounds));
+            allBounds.add(bounds);
+        }
+
+        queries = new BoundingBox[QUERY_COUNT];
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            queries[i] = randomBox(random);
+        }
+    }
+
+    private static BoundingBox randomBox(Random random) {
+        int x = random.nextInt(AREA_SIZE);
+        int z = random.nextInt(AREA_SIZE);
+        return new BoundingBox(x, 64, z, x + STRUCTURE_SIZE, 64 + STRUCTURE_SIZE, z + STRUCTURE_SIZE);
+    }
+
+    private BoundingBox nextQuery() {
+        BoundingBox query = queries[nextQuery];
+        nextQuery = (nextQuery + 1) % QUERY_COUNT;
+        return query;
+    }
+
+    @Benchmark
+    public boolean indexOverlaps() {
+        return index.overlaps(nextQuery(), MARGIN);
+    }
+
+    @Benchmark
+    public boolean linearScanOverlaps() {
+        BoundingBox area = nextQuery().clone().expand(MARGIN);
+        for (BoundingBox bounds : allBounds) {
+            if (bounds.overlaps(area)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    public boolean indexReserveAndRelease() {
+        StructureIndex.Reservation reservation = index.reserve(nextQuery(), MARGIN);
+        if (reservation == null) {
+            return false;
+        }
+        reservation.release();
+        return true;
+    }
+}
@@ -0,0 +1,105 @@
+package io.starseed.asteroidCore.world;
+
+import org.bukkit.Material;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Alias-table sampling against the previous per-block walk over the resource rates,
+ * which resolved the material name with {@link Material#valueOf} for every block.
+ * Each operation fills a 16x16x16 section.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WeightedDistributionBenchmark {
+    private static final int SECTION_SIZE = 16;
+    private static final String[] MATERIALS = {
+            "STONE", "COBBLESTONE", "COAL_ORE", "IRON_ORE", "GOLD_ORE", "REDSTONE_ORE", "LAPIS_ORE", "DIAMOND_ORE",
+            "EMERALD_ORE", "COPPER_ORE", "DEEPSLATE", "ANDESITE", "GRANITE", "DIORITE", "TUFF", "CALCITE"
+    };
+
+    @Param({"4", "16"})
+    private int materialCount;
+
+    private Map<String, Double> rates;
+    private double totalWeight;
+    private WeightedDistribution distribution;
+    private Random random;
+    private SplittableRandom splittableRandom;
+    private long seed;
+
+    @Setup
+    public void setup() {
+        Random weights = new Random(42);
+        rates = new LinkedHashMap<>();
+        for (int i = 0; i < materialCount; i++) {
+            double weight = 1 + weights.nextInt(50);
+            rates.put(MATERIALS[i], weight);
+            totalWeight += weight;
+        }
+        distribution = WeightedDistribution.compile(rates);
+        random = new Random(42);
+        splittableRandom = new SplittableRandom(42);
+    }
+
+    @Benchmark
+    public int linearWalk() {
+        int filled = 0;
+        for (int i = 0; i < SECTION_SIZE * SECTION_SIZE * SECTION_SIZE; i++) {
+            double roll = random.nextDouble() * totalWeight;
+            double cumulative = 0;
+            for (Map.Entry<String, Double> entry : rates.entrySet()) {
+                cumulative += entry.getValue();
+                if (roll < cumulative) {
+                    filled += Material.valueOf(entry.getKey()).ordinal();
+                    break;
+                }
+            }
+        }
+        return filled;
+    }
+
+    @Benchmark
+    public int aliasSampleRandom() {
+        int filled = 0;
+        for (int i = 0; i < SECTION_SIZE * SECTION_SIZE * SECTION_SIZE; i++) {
+            if (distribution.sample(splittableRandom) != null) {
+                filled++;
+            }
+        }
+        return filled;
+    }
+
+    @Benchmark
+    public int aliasSamplePositional() {
+        long layoutSeed = seed++;
+        int filled = 0;
+        for (int x = 0; x < SECTION_SIZE; x++) {
+            for (int y = 0; y < SECTION_SIZE; y++) {
+                for (int z = 0; z < SECTION_SIZE; z++) {
+                    filled += distribution.sampleIndex(layoutSeed, x, y, z);
+                }
+            }
+        }
+        return filled;
+    }
+}